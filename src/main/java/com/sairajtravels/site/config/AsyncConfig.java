@@ -21,4 +21,27 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    @Bean(name = "catalogTaskExecutor")
+    public Executor catalogTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(5);
+        executor.setMaxPoolSize(5);
+        executor.setQueueCapacity(20);
+        executor.setThreadNamePrefix("CatalogWarmup-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Image decoding is memory-hungry, so few threads and a bounded queue
+    @Bean(name = "imageTaskExecutor")
+    public Executor imageTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("ImageWorker-");
+        executor.initialize();
+        return executor;
+    }
 }
@@ -1,33 +1,58 @@
 package com.sairajtravels.site.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Arrays;
+import java.util.List;
+
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    // Define cache names for different data types
+    private static final List<String> CACHE_NAMES = Arrays.asList(
+        "packages",           // Travel packages cache
+        "vehicles",           // Vehicle data cache
+        "vehicleDetails",     // Per-vehicle full details (pricing, charges, terms, images)
+        "gallery",            // Gallery images cache
+        "testimonials",       // Testimonials cache
+        "contact",            // Contact information cache
+        "adminUsers",         // Admin users cache (short TTL)
+        "bookingStats"        // Booking statistics cache
+    );
+
     @Bean
-    public CacheManager cacheManager() {
-        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
-        
-        // Define cache names for different data types
-        cacheManager.setCacheNames(java.util.Arrays.asList(
-            "packages",           // Travel packages cache
-            "vehicles",           // Vehicle data cache
-            "gallery",            // Gallery images cache
-            "testimonials",       // Testimonials cache
-            "contact",            // Contact information cache
-            "adminUsers",         // Admin users cache (short TTL)
-            "bookingStats"        // Booking statistics cache
-        ));
-        
-        // Allow dynamic cache creation
+    public CacheManager cacheManager(CacheProperties cacheProperties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+
+        // Caches created on the fly get the default limits
+        cacheManager.setCaffeine(builder(cacheProperties.getDefaultSpec()));
         cacheManager.setAllowNullValues(false);
-        
+
+        // Registered up front so actuator binds their hit/miss/eviction metrics at startup
+        for (String name : CACHE_NAMES) {
+            CacheProperties.Spec spec = cacheProperties.getSpecs().getOrDefault(name, cacheProperties.getDefaultSpec());
+            cacheManager.registerCustomCache(name, builder(spec).build());
+        }
+
         return cacheManager;
     }
+
+    private static Caffeine<Object, Object> builder(CacheProperties.Spec spec) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .recordStats();
+        if (spec.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        if (spec.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(spec.getExpireAfterAccess());
+        }
+        return builder;
+    }
 }
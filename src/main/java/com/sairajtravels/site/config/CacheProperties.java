@@ -0,0 +1,71 @@
+package com.sairajtravels.site.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-cache size and expiry limits, bound from app.cache.* in application.properties.
+ * Caches without their own entry use {@code default-spec}.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheProperties {
+
+    private Spec defaultSpec = new Spec();
+
+    private Map<String, Spec> specs = new LinkedHashMap<>();
+
+    public Spec getDefaultSpec() {
+        return defaultSpec;
+    }
+
+    public void setDefaultSpec(Spec defaultSpec) {
+        this.defaultSpec = defaultSpec;
+    }
+
+    public Map<String, Spec> getSpecs() {
+        return specs;
+    }
+
+    public void setSpecs(Map<String, Spec> specs) {
+        this.specs = specs;
+    }
+
+    public static class Spec {
+
+        private long maximumSize = 500;
+
+        private Duration expireAfterWrite = Duration.ofMinutes(30);
+
+        // Optional; entries also expire this long after their last read
+        private Duration expireAfterAccess;
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getExpireAfterWrite() {
+            return expireAfterWrite;
+        }
+
+        public void setExpireAfterWrite(Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+
+        public Duration getExpireAfterAccess() {
+            return expireAfterAccess;
+        }
+
+        public void setExpireAfterAccess(Duration expireAfterAccess) {
+            this.expireAfterAccess = expireAfterAccess;
+        }
+    }
+}
@@ -1,17 +1,29 @@
 package com.sairajtravels.site.config;
 
+import com.sairajtravels.site.service.ImageDerivativeService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 import org.springframework.lang.NonNull;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    @Value("${app.upload.dir:src/main/resources/static/images}")
+    private String uploadDir;
+
     @Override
     public void addResourceHandlers(@NonNull ResourceHandlerRegistry registry) {
+        // Image derivatives are named by content hash, so they never change once written
+        registry.addResourceHandler("/images/" + ImageDerivativeService.DERIVATIVES_DIR + "/**")
+                .addResourceLocations("file:" + Paths.get(uploadDir, ImageDerivativeService.DERIVATIVES_DIR).toAbsolutePath() + "/")
+                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable());
+        
         // Serve static images from the resources/static/images directory
         registry.addResourceHandler("/images/**")
                 .addResourceLocations("classpath:/static/images/");
@@ -0,0 +1,43 @@
+package com.sairajtravels.site.controller;
+
+import com.sairajtravels.site.service.FleetUtilizationService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    private final FleetUtilizationService fleetUtilizationService;
+
+    public AnalyticsController(FleetUtilizationService fleetUtilizationService) {
+        this.fleetUtilizationService = fleetUtilizationService;
+    }
+
+    /**
+     * Per-vehicle utilization, idle gaps and peak days for a date range (inclusive).
+     * Defaults to the last 30 days; vehicleIds narrows it to some vehicles.
+     */
+    @GetMapping("/fleet-utilization")
+    public ResponseEntity<FleetUtilizationService.FleetUtilization> getFleetUtilization(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<Integer> vehicleIds,
+            @RequestParam(defaultValue = "1") int minGapDays,
+            @RequestParam(defaultValue = "5") int peakDays) {
+        try {
+            LocalDate end = to != null ? to : LocalDate.now();
+            LocalDate start = from != null ? from : end.minusDays(29);
+            return ResponseEntity.ok(fleetUtilizationService.getUtilization(start, end, vehicleIds,
+                    Math.max(1, minGapDays), Math.max(0, Math.min(peakDays, 31))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(500).build();
+        }
+    }
+}
@@ -2,10 +2,11 @@ package com.sairajtravels.site.controller;
 
 import com.sairajtravels.site.entity.ContactInfo;
 import com.sairajtravels.site.service.ContactInfoService;
+import com.sairajtravels.site.service.ContentVersionService;
+import com.sairajtravels.site.service.JsonResponseCache;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.Optional;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/contact")
@@ -13,50 +14,24 @@ import java.util.Optional;
 public class ContactInfoController {
 
     private final ContactInfoService service;
+    private final JsonResponseCache jsonResponseCache;
 
-    public ContactInfoController(ContactInfoService service) {
+    public ContactInfoController(ContactInfoService service, JsonResponseCache jsonResponseCache) {
         this.service = service;
+        this.jsonResponseCache = jsonResponseCache;
     }
 
     // ✅ Fetch contact info
     @GetMapping
-    public ResponseEntity<ContactInfo> getContactInfo() {
+    public ResponseEntity<byte[]> getContactInfo(WebRequest request) {
         try {
-            Optional<ContactInfo> contactInfoOpt = service.getContactInfo();
-            
-            if (contactInfoOpt.isPresent()) {
-                return ResponseEntity.ok(contactInfoOpt.get());
-            } else {
-                // Return default contact info if none exists in database
-                ContactInfo defaultContact = new ContactInfo(
-                    1L, // id
-                    "+91 98507 48273", // phoneOffice
-                    "+91 98507 48273", // phoneMobile
-                    "+91 98507 48273", // phoneWhatsapp
-                    "info@sairajtravels.com", // emailPrimary
-                    "bookings@sairajtravels.com", // emailBookings
-                    "support@sairajtravels.com", // emailSupport
-                    "Sairaj Travels Office, Pune", // addressLine1
-                    null, // addressLine2
-                    "Pune", // addressCity
-                    "Maharashtra", // addressState
-                    "411001", // addressPincode
-                    "24/7 Available", // businessHoursWeekdays
-                    "24/7 Available", // businessHoursSunday
-                    "https://facebook.com/sairajtravels", // socialFacebook
-                    "https://instagram.com/sairajtravels", // socialInstagram
-                    "https://linkedin.com/company/sairajtravels", // socialLinkedin
-                    null, // createdAt
-                    null  // updatedAt
-                );
-                return ResponseEntity.ok(defaultContact);
-            }
+            return jsonResponseCache.respond(request, ContentVersionService.Catalog.CONTACT,
+                    () -> service.getContactInfo().orElseGet(service::getDefaultContactInfo));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(null);
         }
     }
 
-
     // ✅ Create contact info
     @PostMapping
     public ContactInfo createContactInfo(@RequestBody ContactInfo info) {
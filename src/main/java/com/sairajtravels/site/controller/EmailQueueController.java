@@ -0,0 +1,82 @@
+package com.sairajtravels.site.controller;
+
+import com.sairajtravels.site.entity.EmailQueueItem;
+import com.sairajtravels.site.service.EmailQueueService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/email-queue")
+public class EmailQueueController {
+
+    private final EmailQueueService emailQueueService;
+
+    public EmailQueueController(EmailQueueService emailQueueService) {
+        this.emailQueueService = emailQueueService;
+    }
+
+    /**
+     * Queue depth by status and age of the oldest pending message
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<EmailQueueService.QueueStats> getStats() {
+        try {
+            return ResponseEntity.ok(emailQueueService.getStats());
+        } catch (Exception e) {
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    /**
+     * Most recently dead-lettered messages
+     */
+    @GetMapping("/dead")
+    public ResponseEntity<List<EmailQueueItem>> getDeadLetters(@RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(emailQueueService.getDeadLetters(Math.max(1, Math.min(limit, 500))));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    /**
+     * Re-drive a single dead-lettered message
+     */
+    @PostMapping("/{id}/redrive")
+    public ResponseEntity<Map<String, Object>> redrive(@PathVariable Long id) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            boolean redriven = emailQueueService.redrive(id);
+            response.put("success", redriven);
+            response.put("message", redriven ? "Email re-queued for delivery" : "No dead-lettered email with ID " + id);
+            return redriven ? ResponseEntity.ok(response) : ResponseEntity.status(404).body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Failed to re-drive email: " + e.getMessage());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+
+    /**
+     * Re-drive every dead-lettered message
+     */
+    @PostMapping("/redrive-dead")
+    public ResponseEntity<Map<String, Object>> redriveAll() {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            int count = emailQueueService.redriveAllDead();
+            response.put("success", true);
+            response.put("message", count + " email(s) re-queued for delivery");
+            response.put("count", count);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Failed to re-drive emails: " + e.getMessage());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+}
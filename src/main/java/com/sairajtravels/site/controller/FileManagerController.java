@@ -1,5 +1,7 @@
 package com.sairajtravels.site.controller;
 
+import com.sairajtravels.site.service.ImageDerivativeService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
@@ -28,6 +30,9 @@ public class FileManagerController {
     @Value("${app.upload.dir:src/main/resources/static/images}")
     private String uploadDir;
 
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
+
     /**
      * Browse files and folders in a directory
      */
@@ -156,6 +161,11 @@ public class FileManagerController {
                     Path filePath = targetPath.resolve(finalFilename);
                     Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
 
+                    // Resized copies are generated in the background
+                    if ("image".equals(getFileType(finalFilename))) {
+                        imageDerivativeService.process(filePath);
+                    }
+
                     Map<String, Object> uploadedFile = new HashMap<>();
                     uploadedFile.put("name", finalFilename);
                     uploadedFile.put("originalName", originalFilename);
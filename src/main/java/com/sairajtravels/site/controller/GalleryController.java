@@ -1,10 +1,13 @@
 package com.sairajtravels.site.controller;
 
 import com.sairajtravels.site.dto.GalleryDTO;
+import com.sairajtravels.site.service.ContentVersionService;
 import com.sairajtravels.site.service.GalleryService;
+import com.sairajtravels.site.service.JsonResponseCache;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,17 +18,38 @@ import java.util.Optional;
 public class GalleryController {
     
     private final GalleryService service;
+    private final JsonResponseCache jsonResponseCache;
     
-    public GalleryController(GalleryService service) {
+    public GalleryController(GalleryService service, JsonResponseCache jsonResponseCache) {
         this.service = service;
+        this.jsonResponseCache = jsonResponseCache;
     }
     
     // Get all active gallery items for public display
     @GetMapping("/active")
-    public ResponseEntity<List<GalleryDTO>> getActiveGallery() {
+    public ResponseEntity<byte[]> getActiveGallery(WebRequest request) {
         try {
-            List<GalleryDTO> gallery = service.getAllActiveGallery();
-            return ResponseEntity.ok(gallery);
+            return jsonResponseCache.respond(request, ContentVersionService.Catalog.GALLERY,
+                    service::getAllActiveGallery);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    // Get the public gallery one page at a time (infinite scroll); pass nextCursor back to continue
+    @GetMapping("/feed")
+    public ResponseEntity<GalleryService.GalleryFeedDTO> getGalleryFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "24") int limit,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "all") String type) {
+        try {
+            String categoryFilter = category == null || category.isBlank() ? null : category;
+            String cursorValue = cursor == null || cursor.isBlank() ? null : cursor;
+            int pageSize = GalleryService.feedPageSize(limit);
+            return ResponseEntity.ok(service.getGalleryFeed(cursorValue, pageSize, categoryFilter, type.toLowerCase()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -1,9 +1,14 @@
 package com.sairajtravels.site.controller;
 
+import com.sairajtravels.site.service.HomeSnapshotService;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -11,6 +16,14 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class HomeController {
 
+    private final ApplicationAvailability applicationAvailability;
+    private final HomeSnapshotService homeSnapshotService;
+
+    public HomeController(ApplicationAvailability applicationAvailability, HomeSnapshotService homeSnapshotService) {
+        this.applicationAvailability = applicationAvailability;
+        this.homeSnapshotService = homeSnapshotService;
+    }
+
     @GetMapping("/")
     public ResponseEntity<Map<String, Object>> home() {
         Map<String, Object> response = new HashMap<>();
@@ -34,11 +47,26 @@ public class HomeController {
         return ResponseEntity.ok(response);
     }
 
+    // Landing page data (featured packages, testimonials, featured gallery, contact, vehicles) in one call
+    @GetMapping("/api/home")
+    public ResponseEntity<byte[]> homePage(WebRequest request) {
+        try {
+            return homeSnapshotService.respond(request);
+        } catch (Exception e) {
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    // Render's health check: reports 503 until the catalog caches are warm so traffic stays on the old instance
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> health() {
         Map<String, Object> response = new HashMap<>();
-        response.put("status", "UP");
         response.put("timestamp", System.currentTimeMillis());
+        if (applicationAvailability.getReadinessState() != ReadinessState.ACCEPTING_TRAFFIC) {
+            response.put("status", "WARMING_UP");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+        }
+        response.put("status", "UP");
         return ResponseEntity.ok(response);
     }
 
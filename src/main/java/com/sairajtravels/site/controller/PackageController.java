@@ -1,13 +1,18 @@
 package com.sairajtravels.site.controller;
 
 import com.sairajtravels.site.dto.PackageDTO;
+import com.sairajtravels.site.service.ContentVersionService;
+import com.sairajtravels.site.service.JsonResponseCache;
+import com.sairajtravels.site.service.PackageBrowseService;
 import com.sairajtravels.site.service.PackageService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/packages")
@@ -17,11 +22,17 @@ public class PackageController {
     @Autowired
     private PackageService packageService;
 
+    @Autowired
+    private JsonResponseCache jsonResponseCache;
+
+    @Autowired
+    private PackageBrowseService packageBrowseService;
+
     @GetMapping
-    public ResponseEntity<List<PackageDTO>> getAllPackages() {
+    public ResponseEntity<byte[]> getAllPackages(WebRequest request) {
         try {
-            List<PackageDTO> packages = packageService.getAllPackages();
-            return ResponseEntity.ok(packages);
+            return jsonResponseCache.respond(request, ContentVersionService.Catalog.PACKAGES,
+                    packageService::getAllPackages);
         } catch (Exception e) {
             return ResponseEntity.status(500).build();
         }
@@ -62,9 +73,10 @@ public class PackageController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<PackageDTO>> searchPackages(@RequestParam String q) {
+    public ResponseEntity<List<PackageDTO>> searchPackages(@RequestParam String q,
+                                                           @RequestParam(defaultValue = "20") int limit) {
         try {
-            List<PackageDTO> packages = packageService.searchPackages(q);
+            List<PackageDTO> packages = packageService.searchPackages(q, Math.min(Math.max(limit, 1), 100));
             return ResponseEntity.ok(packages);
         } catch (Exception e) {
             return ResponseEntity.status(500).build();
@@ -105,6 +117,26 @@ public class PackageController {
         }
     }
 
+    @GetMapping("/browse")
+    public ResponseEntity<PackageBrowseService.BrowseResult> browsePackages(
+            @RequestParam(required = false) Set<String> category,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Set<String> duration,
+            @RequestParam(required = false) Integer passengers,
+            @RequestParam(required = false) BigDecimal minRating,
+            @RequestParam(required = false) Boolean featured,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            PackageBrowseService.BrowseQuery query = new PackageBrowseService.BrowseQuery(
+                    category, minPrice, maxPrice, duration, passengers, minRating, featured, page, size);
+            return ResponseEntity.ok(packageBrowseService.browse(query));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).build();
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<PackageDTO> getPackageById(@PathVariable Integer id) {
         try {
@@ -129,6 +161,15 @@ public class PackageController {
         }
     }
 
+    @PutMapping("/reorder")
+    public ResponseEntity<List<PackageDTO>> reorderPackages(@RequestBody List<Integer> packageIds) {
+        try {
+            return ResponseEntity.ok(packageService.reorderPackages(packageIds));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).build();
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<PackageDTO> updatePackage(@PathVariable Integer id, @RequestBody PackageDTO packageDTO) {
         try {
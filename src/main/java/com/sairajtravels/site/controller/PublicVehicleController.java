@@ -1,10 +1,14 @@
 package com.sairajtravels.site.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.sairajtravels.site.dto.VehicleDTO;
 import com.sairajtravels.site.dto.VehicleTypeDTO;
+import com.sairajtravels.site.service.ContentVersionService;
+import com.sairajtravels.site.service.JsonResponseCache;
 import com.sairajtravels.site.service.VehicleService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -14,14 +18,16 @@ import java.util.List;
 public class PublicVehicleController {
 
     private final VehicleService vehicleService;
+    private final JsonResponseCache jsonResponseCache;
 
-    public PublicVehicleController(VehicleService vehicleService) {
+    public PublicVehicleController(VehicleService vehicleService, JsonResponseCache jsonResponseCache) {
         this.vehicleService = vehicleService;
+        this.jsonResponseCache = jsonResponseCache;
     }
 
     @GetMapping
-    public List<VehicleDTO> getAllVehicles() {
-        return vehicleService.getAllVehicles();
+    public ResponseEntity<byte[]> getAllVehicles(WebRequest request) throws JsonProcessingException {
+        return jsonResponseCache.respond(request, ContentVersionService.Catalog.VEHICLES, vehicleService::getAllVehicles);
     }
 
     @GetMapping("/types")
@@ -1,10 +1,13 @@
 package com.sairajtravels.site.controller;
 
 import com.sairajtravels.site.dto.TestimonialDTO;
+import com.sairajtravels.site.service.ContentVersionService;
+import com.sairajtravels.site.service.JsonResponseCache;
 import com.sairajtravels.site.service.TestimonialService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,17 +18,19 @@ import java.util.Optional;
 public class TestimonialController {
     
     private final TestimonialService service;
+    private final JsonResponseCache jsonResponseCache;
     
-    public TestimonialController(TestimonialService service) {
+    public TestimonialController(TestimonialService service, JsonResponseCache jsonResponseCache) {
         this.service = service;
+        this.jsonResponseCache = jsonResponseCache;
     }
     
     // Get all active testimonials for public display
     @GetMapping("/active")
-    public ResponseEntity<List<TestimonialDTO>> getActiveTestimonials() {
+    public ResponseEntity<byte[]> getActiveTestimonials(WebRequest request) {
         try {
-            List<TestimonialDTO> testimonials = service.getAllActiveTestimonials();
-            return ResponseEntity.ok(testimonials);
+            return jsonResponseCache.respond(request, ContentVersionService.Catalog.TESTIMONIALS,
+                    service::getAllActiveTestimonials);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -1,6 +1,7 @@
 package com.sairajtravels.site.dto;
 
 import java.time.LocalDate;
+import java.util.Map;
 
 public class DriverDTO {
     private Integer driverId;
@@ -10,6 +11,7 @@ public class DriverDTO {
     private String languages;
     private String description;
     private String photoPath;
+    private Map<Integer, String> photoVariants = Map.of();
 
     // New fields (same as entity)
     private String licenseNumber;
@@ -129,4 +131,12 @@ public class DriverDTO {
     public void setRating(Double rating) {
         this.rating = rating;
     }
+
+    // Resized copies of photoPath keyed by width; empty until generated
+    public Map<Integer, String> getPhotoVariants() {
+        return photoVariants;
+    }
+    public void setPhotoVariants(Map<Integer, String> photoVariants) {
+        this.photoVariants = photoVariants;
+    }
 }
@@ -1,6 +1,7 @@
 package com.sairajtravels.site.dto;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 public class GalleryDTO {
     
@@ -15,6 +16,11 @@ public class GalleryDTO {
     private Integer sortOrder;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Map<Integer, String> imageVariants = Map.of();
+    private Integer imageWidth;
+    private Integer imageHeight;
+    private String dominantColor;
+    private String blurHash;
     
     // Constructors
     public GalleryDTO() {}
@@ -120,4 +126,46 @@ public class GalleryDTO {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+    
+    // Resized copies of imagePath keyed by width; empty until generated
+    public Map<Integer, String> getImageVariants() {
+        return imageVariants;
+    }
+    
+    public void setImageVariants(Map<Integer, String> imageVariants) {
+        this.imageVariants = imageVariants;
+    }
+    
+    // Lets the page reserve space and paint a placeholder before the image loads
+    public Integer getImageWidth() {
+        return imageWidth;
+    }
+    
+    public void setImageWidth(Integer imageWidth) {
+        this.imageWidth = imageWidth;
+    }
+    
+    public Integer getImageHeight() {
+        return imageHeight;
+    }
+    
+    public void setImageHeight(Integer imageHeight) {
+        this.imageHeight = imageHeight;
+    }
+    
+    public String getDominantColor() {
+        return dominantColor;
+    }
+    
+    public void setDominantColor(String dominantColor) {
+        this.dominantColor = dominantColor;
+    }
+    
+    public String getBlurHash() {
+        return blurHash;
+    }
+    
+    public void setBlurHash(String blurHash) {
+        this.blurHash = blurHash;
+    }
 }
@@ -0,0 +1,67 @@
+package com.sairajtravels.site.dto;
+
+import com.sairajtravels.site.entity.ContactInfo;
+
+import java.util.List;
+
+// Everything the landing page needs in one response (GET /api/home)
+public class HomeDTO {
+    private List<PackageDTO> featuredPackages;
+    private List<TestimonialDTO> testimonials;
+    private List<GalleryDTO> featuredGallery;
+    private ContactInfo contact;
+    private List<VehicleDTO> vehicles;
+
+    // Constructors
+    public HomeDTO() {}
+
+    public HomeDTO(List<PackageDTO> featuredPackages, List<TestimonialDTO> testimonials,
+                   List<GalleryDTO> featuredGallery, ContactInfo contact, List<VehicleDTO> vehicles) {
+        this.featuredPackages = featuredPackages;
+        this.testimonials = testimonials;
+        this.featuredGallery = featuredGallery;
+        this.contact = contact;
+        this.vehicles = vehicles;
+    }
+
+    // Getters and Setters
+    public List<PackageDTO> getFeaturedPackages() {
+        return featuredPackages;
+    }
+
+    public void setFeaturedPackages(List<PackageDTO> featuredPackages) {
+        this.featuredPackages = featuredPackages;
+    }
+
+    public List<TestimonialDTO> getTestimonials() {
+        return testimonials;
+    }
+
+    public void setTestimonials(List<TestimonialDTO> testimonials) {
+        this.testimonials = testimonials;
+    }
+
+    public List<GalleryDTO> getFeaturedGallery() {
+        return featuredGallery;
+    }
+
+    public void setFeaturedGallery(List<GalleryDTO> featuredGallery) {
+        this.featuredGallery = featuredGallery;
+    }
+
+    public ContactInfo getContact() {
+        return contact;
+    }
+
+    public void setContact(ContactInfo contact) {
+        this.contact = contact;
+    }
+
+    public List<VehicleDTO> getVehicles() {
+        return vehicles;
+    }
+
+    public void setVehicles(List<VehicleDTO> vehicles) {
+        this.vehicles = vehicles;
+    }
+}
@@ -3,6 +3,7 @@ package com.sairajtravels.site.dto;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 public class PackageDTO {
     private Integer packageId;
@@ -15,6 +16,7 @@ public class PackageDTO {
     private BigDecimal originalPrice;
     private BigDecimal discountPercentage;
     private String packageImageUrl;
+    private Map<Integer, String> packageImageVariants = Map.of();
     private List<String> packageFeatures;
     private List<String> packageHighlights;
     private BigDecimal rating;
@@ -122,6 +124,15 @@ public class PackageDTO {
         this.packageImageUrl = packageImageUrl;
     }
 
+    // Resized copies of packageImageUrl keyed by width; empty until generated
+    public Map<Integer, String> getPackageImageVariants() {
+        return packageImageVariants;
+    }
+
+    public void setPackageImageVariants(Map<Integer, String> packageImageVariants) {
+        this.packageImageVariants = packageImageVariants;
+    }
+
     public List<String> getPackageFeatures() {
         return packageFeatures;
     }
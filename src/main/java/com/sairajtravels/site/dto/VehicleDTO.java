@@ -1,6 +1,7 @@
 package com.sairajtravels.site.dto;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 public class VehicleDTO {
     private Integer vehicleId;
@@ -11,6 +12,7 @@ public class VehicleDTO {
     private String description;
     private LocalDateTime createdAt;
     private String mainImageUrl;
+    private Map<Integer, String> mainImageVariants = Map.of();
 
     // ✅ Default constructor (Spring/DTO needs this)
     public VehicleDTO() {}
@@ -71,4 +73,12 @@ public class VehicleDTO {
     public void setMainImageUrl(String mainImageUrl) {
         this.mainImageUrl = mainImageUrl;
     }
+
+    // Resized copies of mainImageUrl keyed by width; empty until generated
+    public Map<Integer, String> getMainImageVariants() {
+        return mainImageVariants;
+    }
+    public void setMainImageVariants(Map<Integer, String> mainImageVariants) {
+        this.mainImageVariants = mainImageVariants;
+    }
 }
@@ -2,6 +2,7 @@ package com.sairajtravels.site.dto;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 public class VehicleDetailsDTO {
 
@@ -36,6 +37,7 @@ public class VehicleDetailsDTO {
         private Boolean isAC;
         private String description;
         private String mainImageUrl; // ✅ NEW FIELD
+        private Map<Integer, String> mainImageVariants = Map.of();
 
         public Integer getVehicleId() { return vehicleId; }
         public void setVehicleId(Integer vehicleId) { this.vehicleId = vehicleId; }
@@ -51,6 +53,9 @@ public class VehicleDetailsDTO {
         public void setDescription(String description) { this.description = description; }
         public String getMainImageUrl() { return mainImageUrl; }
         public void setMainImageUrl(String mainImageUrl) { this.mainImageUrl = mainImageUrl; }
+        // Resized copies of mainImageUrl keyed by width; empty until generated
+        public Map<Integer, String> getMainImageVariants() { return mainImageVariants; }
+        public void setMainImageVariants(Map<Integer, String> mainImageVariants) { this.mainImageVariants = mainImageVariants; }
     }
 
     public static class VehiclePricingDTO {
@@ -119,10 +124,25 @@ public class VehicleDetailsDTO {
     public static class VehicleImageDTO {
         private Integer imageId;
         private String imageUrl;
+        private Map<Integer, String> imageVariants = Map.of();
+        private Integer imageWidth;
+        private Integer imageHeight;
+        private String dominantColor;
+        private String blurHash;
 
         public Integer getImageId() { return imageId; }
         public void setImageId(Integer imageId) { this.imageId = imageId; }
         public String getImageUrl() { return imageUrl; }
         public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+        public Map<Integer, String> getImageVariants() { return imageVariants; }
+        public void setImageVariants(Map<Integer, String> imageVariants) { this.imageVariants = imageVariants; }
+        public Integer getImageWidth() { return imageWidth; }
+        public void setImageWidth(Integer imageWidth) { this.imageWidth = imageWidth; }
+        public Integer getImageHeight() { return imageHeight; }
+        public void setImageHeight(Integer imageHeight) { this.imageHeight = imageHeight; }
+        public String getDominantColor() { return dominantColor; }
+        public void setDominantColor(String dominantColor) { this.dominantColor = dominantColor; }
+        public String getBlurHash() { return blurHash; }
+        public void setBlurHash(String blurHash) { this.blurHash = blurHash; }
     }
 }
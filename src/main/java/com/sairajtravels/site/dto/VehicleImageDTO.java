@@ -1,9 +1,16 @@
 package com.sairajtravels.site.dto;
 
+import java.util.Map;
+
 public class VehicleImageDTO {
     private Integer imageId;
     private Integer vehicleId;
     private String imageUrl;
+    private Map<Integer, String> imageVariants = Map.of();
+    private Integer imageWidth;
+    private Integer imageHeight;
+    private String dominantColor;
+    private String blurHash;
 
     public VehicleImageDTO() {}
 
@@ -21,4 +28,19 @@ public class VehicleImageDTO {
 
     public String getImageUrl() { return imageUrl; }
     public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+
+    public Map<Integer, String> getImageVariants() { return imageVariants; }
+    public void setImageVariants(Map<Integer, String> imageVariants) { this.imageVariants = imageVariants; }
+
+    public Integer getImageWidth() { return imageWidth; }
+    public void setImageWidth(Integer imageWidth) { this.imageWidth = imageWidth; }
+
+    public Integer getImageHeight() { return imageHeight; }
+    public void setImageHeight(Integer imageHeight) { this.imageHeight = imageHeight; }
+
+    public String getDominantColor() { return dominantColor; }
+    public void setDominantColor(String dominantColor) { this.dominantColor = dominantColor; }
+
+    public String getBlurHash() { return blurHash; }
+    public void setBlurHash(String blurHash) { this.blurHash = blurHash; }
 }
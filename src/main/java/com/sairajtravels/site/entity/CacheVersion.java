@@ -0,0 +1,58 @@
+package com.sairajtravels.site.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One row per public catalog; the version is bumped by whichever node writes
+ * to the catalog and polled by every node to evict its local caches.
+ */
+@Entity
+@Table(name = "cache_versions")
+public class CacheVersion {
+
+    @Id
+    @Column(name = "catalog_name", length = 50)
+    private String catalog;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public CacheVersion() {
+    }
+
+    public CacheVersion(String catalog, Long version, LocalDateTime updatedAt) {
+        this.catalog = catalog;
+        this.version = version;
+        this.updatedAt = updatedAt;
+    }
+
+    // Getters and Setters
+    public String getCatalog() {
+        return catalog;
+    }
+
+    public void setCatalog(String catalog) {
+        this.catalog = catalog;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
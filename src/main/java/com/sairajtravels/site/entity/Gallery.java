@@ -41,6 +41,19 @@ public class Gallery {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
     
+    // Layout metadata for imagePath, filled in by ImageDerivativeService
+    @Column(name = "image_width")
+    private Integer imageWidth;
+    
+    @Column(name = "image_height")
+    private Integer imageHeight;
+    
+    @Column(name = "dominant_color", length = 7)
+    private String dominantColor;
+    
+    @Column(name = "blur_hash", length = 64)
+    private String blurHash;
+    
     // Constructors
     public Gallery() {
         this.createdAt = LocalDateTime.now();
@@ -149,6 +162,38 @@ public class Gallery {
         this.updatedAt = updatedAt;
     }
     
+    public Integer getImageWidth() {
+        return imageWidth;
+    }
+    
+    public void setImageWidth(Integer imageWidth) {
+        this.imageWidth = imageWidth;
+    }
+    
+    public Integer getImageHeight() {
+        return imageHeight;
+    }
+    
+    public void setImageHeight(Integer imageHeight) {
+        this.imageHeight = imageHeight;
+    }
+    
+    public String getDominantColor() {
+        return dominantColor;
+    }
+    
+    public void setDominantColor(String dominantColor) {
+        this.dominantColor = dominantColor;
+    }
+    
+    public String getBlurHash() {
+        return blurHash;
+    }
+    
+    public void setBlurHash(String blurHash) {
+        this.blurHash = blurHash;
+    }
+    
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
@@ -0,0 +1,132 @@
+package com.sairajtravels.site.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Derivatives and layout metadata for one uploaded image, keyed by the path the site
+ * serves the original under (e.g. /images/gallery/bus.jpg). Derivative URLs
+ * are built from the content hash and the widths listed here, so a replaced
+ * file gets new URLs and the old ones can be cached forever.
+ */
+@Entity
+@Table(name = "image_assets")
+public class ImageAsset {
+
+    @Id
+    @Column(name = "source_path", length = 500)
+    private String sourcePath;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(name = "width", nullable = false)
+    private Integer width;
+
+    @Column(name = "height", nullable = false)
+    private Integer height;
+
+    // Comma-separated derivative widths, smallest first, e.g. "320,640,1280"
+    @Column(name = "variant_widths", nullable = false, length = 100)
+    private String variantWidths;
+
+    @Column(name = "format", nullable = false, length = 10)
+    private String format;
+
+    // #rrggbb
+    @Column(name = "dominant_color", length = 7)
+    private String dominantColor;
+
+    @Column(name = "blur_hash", length = 64)
+    private String blurHash;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    // Constructors
+    public ImageAsset() {
+    }
+
+    public ImageAsset(String sourcePath, String contentHash, Integer width, Integer height,
+                      String variantWidths, String format) {
+        this.sourcePath = sourcePath;
+        this.contentHash = contentHash;
+        this.width = width;
+        this.height = height;
+        this.variantWidths = variantWidths;
+        this.format = format;
+    }
+
+    // Getters and Setters
+    public String getSourcePath() {
+        return sourcePath;
+    }
+
+    public void setSourcePath(String sourcePath) {
+        this.sourcePath = sourcePath;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public Integer getWidth() {
+        return width;
+    }
+
+    public void setWidth(Integer width) {
+        this.width = width;
+    }
+
+    public Integer getHeight() {
+        return height;
+    }
+
+    public void setHeight(Integer height) {
+        this.height = height;
+    }
+
+    public String getVariantWidths() {
+        return variantWidths;
+    }
+
+    public void setVariantWidths(String variantWidths) {
+        this.variantWidths = variantWidths;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public String getDominantColor() {
+        return dominantColor;
+    }
+
+    public void setDominantColor(String dominantColor) {
+        this.dominantColor = dominantColor;
+    }
+
+    public String getBlurHash() {
+        return blurHash;
+    }
+
+    public void setBlurHash(String blurHash) {
+        this.blurHash = blurHash;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,77 @@
+package com.sairajtravels.site.entity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores a List<String> as a JSON array in a text column. The list is parsed
+ * once when the entity is loaded rather than on every DTO conversion.
+ *
+ * Rows written before this converter existed were built by string
+ * concatenation and may not be valid JSON (e.g. an item containing a quote);
+ * those are read with the old bracket-stripping split so nothing is lost, and
+ * are rewritten as proper JSON the next time the entity is saved.
+ */
+@Converter
+public class StringListJsonConverter implements AttributeConverter<List<String>, String> {
+
+    private static final TypeReference<List<String>> STRING_LIST = new TypeReference<>() {};
+
+    // Readers and writers are immutable and thread-safe, so one pair serves every conversion
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+
+    // Hibernate creates converters through Spring's bean container, so this is the application's shared ObjectMapper
+    public StringListJsonConverter(ObjectMapper objectMapper) {
+        this.reader = objectMapper.readerFor(STRING_LIST);
+        this.writer = objectMapper.writerFor(STRING_LIST);
+    }
+
+    @Override
+    public String convertToDatabaseColumn(List<String> list) {
+        if (list == null || list.isEmpty()) {
+            return "[]";
+        }
+        try {
+            return writer.writeValueAsString(list);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not serialize list to JSON", e);
+        }
+    }
+
+    @Override
+    public List<String> convertToEntityAttribute(String json) {
+        if (json == null || json.isBlank()) {
+            return new ArrayList<>();
+        }
+        String trimmed = json.trim();
+        if (trimmed.startsWith("[")) {
+            try {
+                List<String> list = reader.readValue(trimmed);
+                return list != null ? new ArrayList<>(list) : new ArrayList<>();
+            } catch (JsonProcessingException e) {
+                // Fall through to the legacy format
+            }
+        }
+        return parseLegacy(trimmed);
+    }
+
+    private static List<String> parseLegacy(String value) {
+        List<String> list = new ArrayList<>();
+        for (String item : value.replace("[", "").replace("]", "").replace("\"", "").split(",")) {
+            String stripped = item.strip();
+            if (!stripped.isEmpty()) {
+                list.add(stripped);
+            }
+        }
+        return list;
+    }
+}
@@ -3,6 +3,8 @@ package com.sairajtravels.site.entity;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
 @Table(name = "packages")
@@ -41,10 +43,12 @@ public class TravelPackage {
     private String packageImageUrl;
 
     @Column(name = "package_features", columnDefinition = "TEXT")
-    private String packageFeatures; // JSON string of features array
+    @Convert(converter = StringListJsonConverter.class)
+    private List<String> packageFeatures = new ArrayList<>(); // stored as a JSON array
 
     @Column(name = "package_highlights", columnDefinition = "TEXT")
-    private String packageHighlights; // JSON string of highlights array
+    @Convert(converter = StringListJsonConverter.class)
+    private List<String> packageHighlights = new ArrayList<>(); // stored as a JSON array
 
     @Column(name = "rating", precision = 3, scale = 2)
     private BigDecimal rating;
@@ -61,6 +65,10 @@ public class TravelPackage {
     @Column(name = "sort_order")
     private Integer sortOrder;
 
+    // Featured band + sort order in one column, maintained by PackageService (see add_package_display_rank.sql)
+    @Column(name = "display_rank", nullable = false)
+    private Long displayRank = 0L;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
 
@@ -182,19 +190,19 @@ public class TravelPackage {
         this.packageImageUrl = packageImageUrl;
     }
 
-    public String getPackageFeatures() {
+    public List<String> getPackageFeatures() {
         return packageFeatures;
     }
 
-    public void setPackageFeatures(String packageFeatures) {
+    public void setPackageFeatures(List<String> packageFeatures) {
         this.packageFeatures = packageFeatures;
     }
 
-    public String getPackageHighlights() {
+    public List<String> getPackageHighlights() {
         return packageHighlights;
     }
 
-    public void setPackageHighlights(String packageHighlights) {
+    public void setPackageHighlights(List<String> packageHighlights) {
         this.packageHighlights = packageHighlights;
     }
 
@@ -254,6 +262,14 @@ public class TravelPackage {
         this.updatedAt = updatedAt;
     }
 
+    public Long getDisplayRank() {
+        return displayRank;
+    }
+
+    public void setDisplayRank(Long displayRank) {
+        this.displayRank = displayRank;
+    }
+
     public Long getVehicleId() {
         return vehicleId;
     }
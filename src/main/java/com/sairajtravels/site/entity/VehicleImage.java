@@ -25,6 +25,19 @@ public class VehicleImage {
     @Column(name = "CreatedAt")
     private java.time.LocalDateTime createdAt;
 
+    // Layout metadata for imageUrl, filled in by ImageDerivativeService
+    @Column(name = "ImageWidth")
+    private Integer imageWidth;
+
+    @Column(name = "ImageHeight")
+    private Integer imageHeight;
+
+    @Column(name = "DominantColor", length = 7)
+    private String dominantColor;
+
+    @Column(name = "BlurHash", length = 64)
+    private String blurHash;
+
     // ✅ Constructors
     public VehicleImage() {}
 
@@ -73,4 +86,36 @@ public class VehicleImage {
     public void setCreatedAt(java.time.LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public Integer getImageWidth() {
+        return imageWidth;
+    }
+
+    public void setImageWidth(Integer imageWidth) {
+        this.imageWidth = imageWidth;
+    }
+
+    public Integer getImageHeight() {
+        return imageHeight;
+    }
+
+    public void setImageHeight(Integer imageHeight) {
+        this.imageHeight = imageHeight;
+    }
+
+    public String getDominantColor() {
+        return dominantColor;
+    }
+
+    public void setDominantColor(String dominantColor) {
+        this.dominantColor = dominantColor;
+    }
+
+    public String getBlurHash() {
+        return blurHash;
+    }
+
+    public void setBlurHash(String blurHash) {
+        this.blurHash = blurHash;
+    }
 }
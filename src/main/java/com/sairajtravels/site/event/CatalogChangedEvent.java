@@ -0,0 +1,14 @@
+package com.sairajtravels.site.event;
+
+import com.sairajtravels.site.service.ContentVersionService;
+
+/**
+ * Published after a write to one of the public catalogs has been committed
+ * and its content version bumped. {@code remote} is true when the change was
+ * picked up from another node through the cache_versions poll, so listeners
+ * that already applied a local write incrementally know to reload.
+ */
+public record CatalogChangedEvent(ContentVersionService.Catalog catalog,
+                                  ContentVersionService.ContentVersion version,
+                                  boolean remote) {
+}
@@ -0,0 +1,13 @@
+package com.sairajtravels.site.event;
+
+import com.sairajtravels.site.service.EmailSettingsSnapshot;
+
+/**
+ * Published after a committed write that actually changed the email settings.
+ */
+public record EmailSettingsChangedEvent(EmailSettingsSnapshot previous, EmailSettingsSnapshot current) {
+
+    public boolean smtpChanged() {
+        return current.smtpChangedFrom(previous);
+    }
+}
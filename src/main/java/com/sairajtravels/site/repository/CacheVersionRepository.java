@@ -0,0 +1,36 @@
+package com.sairajtravels.site.repository;
+
+import com.sairajtravels.site.entity.CacheVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface CacheVersionRepository extends JpaRepository<CacheVersion, String> {
+
+    // Atomic on the database so concurrent writers on different nodes never lose a bump.
+    // Always its own transaction: it runs after the caller's commit and must not join or poison it.
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("UPDATE CacheVersion c SET c.version = c.version + 1, c.updatedAt = :now WHERE c.catalog = :catalog")
+    int increment(@Param("catalog") String catalog, @Param("now") LocalDateTime now);
+
+    // Plain INSERT (save() would merge and could reset a row another node just created)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query(value = "INSERT INTO cache_versions (catalog_name, version, updated_at) VALUES (:catalog, 1, :now)",
+           nativeQuery = true)
+    int insertInitial(@Param("catalog") String catalog, @Param("now") LocalDateTime now);
+
+    // Read straight from the table as an unmanaged copy, never from the request's persistence context
+    @Query("SELECT new com.sairajtravels.site.entity.CacheVersion(c.catalog, c.version, c.updatedAt) " +
+           "FROM CacheVersion c WHERE c.catalog = :catalog")
+    Optional<CacheVersion> findCurrent(@Param("catalog") String catalog);
+}
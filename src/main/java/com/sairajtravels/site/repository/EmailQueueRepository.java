@@ -0,0 +1,54 @@
+package com.sairajtravels.site.repository;
+
+import com.sairajtravels.site.entity.EmailQueueItem;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailQueueRepository extends JpaRepository<EmailQueueItem, Long> {
+
+    // Messages whose next attempt is due, oldest first
+    @Query("SELECT e.id FROM EmailQueueItem e WHERE e.status = 'PENDING' AND e.nextAttemptAt <= :now " +
+           "ORDER BY e.nextAttemptAt ASC, e.id ASC")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Claim a single message; returns 0 if another worker or node already took it
+    @Modifying
+    @Query("UPDATE EmailQueueItem e SET e.status = 'SENDING', e.updatedAt = :now " +
+           "WHERE e.id = :id AND e.status = 'PENDING'")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Return messages stuck in SENDING (e.g. node died mid-send) to the queue
+    @Modifying
+    @Query("UPDATE EmailQueueItem e SET e.status = 'PENDING', e.updatedAt = :now " +
+           "WHERE e.status = 'SENDING' AND e.updatedAt < :cutoff")
+    int releaseStuck(@Param("cutoff") LocalDateTime cutoff, @Param("now") LocalDateTime now);
+
+    long countByStatus(String status);
+
+    @Query("SELECT MIN(e.createdAt) FROM EmailQueueItem e WHERE e.status = 'PENDING'")
+    LocalDateTime findOldestPendingCreatedAt();
+
+    @Query("SELECT MIN(e.createdAt) FROM EmailQueueItem e WHERE e.status = 'BATCHED'")
+    LocalDateTime findOldestBatchedCreatedAt();
+
+    @Query("SELECT e.id FROM EmailQueueItem e WHERE e.status = 'BATCHED' ORDER BY e.createdAt ASC, e.id ASC")
+    List<Long> findBatchedIds(Pageable pageable);
+
+    // Fold a batched notification into a digest; returns 0 if another node already took it
+    @Modifying
+    @Query("UPDATE EmailQueueItem e SET e.status = 'DIGESTED', e.updatedAt = :now " +
+           "WHERE e.id = :id AND e.status = 'BATCHED'")
+    int markDigested(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    List<EmailQueueItem> findByStatusOrderByUpdatedAtDesc(String status, Pageable pageable);
+
+    List<EmailQueueItem> findByStatus(String status);
+}
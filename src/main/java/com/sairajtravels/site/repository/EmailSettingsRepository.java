@@ -17,6 +17,12 @@ public interface EmailSettingsRepository extends JpaRepository<EmailSettings, Lo
     @Query("SELECT e FROM EmailSettings e ORDER BY e.updatedAt DESC, e.createdAt DESC")
     Optional<EmailSettings> findActiveEmailSettings();
     
+    /**
+     * Most recently updated settings row
+     * @return Optional EmailSettings
+     */
+    Optional<EmailSettings> findFirstByOrderByUpdatedAtDescCreatedAtDesc();
+    
     /**
      * Check if email is enabled
      * @return true if email is enabled, false otherwise
@@ -1,15 +1,28 @@
 package com.sairajtravels.site.repository;
 
 import com.sairajtravels.site.entity.Gallery;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface GalleryRepository extends JpaRepository<Gallery, Long> {
     
+    // Feed fragments: media is 'all', 'image' or 'video'; the cursor is the last row of the previous page
+    String FEED_MEDIA = "(:media = 'all' " +
+            "OR (:media = 'image' AND g.imagePath IS NOT NULL AND g.imagePath <> '') " +
+            "OR (:media = 'video' AND g.videoUrl IS NOT NULL AND g.videoUrl <> ''))";
+    String FEED_AFTER = "(g.sortOrder > :sortOrder OR (g.sortOrder = :sortOrder AND " +
+            "(g.createdAt > :createdAt OR (g.createdAt = :createdAt AND g.id > :id))))";
+    String FEED_ORDER = " ORDER BY g.sortOrder ASC, g.createdAt ASC, g.id ASC";
+    
     // Find all active gallery items ordered by sort order
     @Query("SELECT g FROM Gallery g WHERE g.isActive = true ORDER BY g.sortOrder ASC, g.createdAt ASC")
     List<Gallery> findAllActiveOrdered();
@@ -31,9 +44,48 @@ public interface GalleryRepository extends JpaRepository<Gallery, Long> {
     @Query("SELECT g FROM Gallery g WHERE g.isActive = true AND g.videoUrl IS NOT NULL AND g.videoUrl != '' ORDER BY g.sortOrder ASC")
     List<Gallery> findActiveVideosOrdered();
     
-    // Count gallery items by category
-    long countByCategoryAndIsActiveTrue(String category);
+    // Keyset-paginated feed, first page and following pages
+    @Query("SELECT g FROM Gallery g WHERE g.isActive = true AND " + FEED_MEDIA + FEED_ORDER)
+    List<Gallery> findFeed(@Param("media") String media, Pageable pageable);
+    
+    @Query("SELECT g FROM Gallery g WHERE g.isActive = true AND " + FEED_MEDIA + " AND " + FEED_AFTER + FEED_ORDER)
+    List<Gallery> findFeedAfter(@Param("media") String media,
+                                @Param("sortOrder") Integer sortOrder,
+                                @Param("createdAt") LocalDateTime createdAt,
+                                @Param("id") Long id,
+                                Pageable pageable);
+    
+    // Same, for one category - a seek on the (is_active, category, sort_order, ...) index
+    @Query("SELECT g FROM Gallery g WHERE g.isActive = true AND g.category = :category AND " + FEED_MEDIA + FEED_ORDER)
+    List<Gallery> findFeedByCategory(@Param("category") String category, @Param("media") String media, Pageable pageable);
+    
+    @Query("SELECT g FROM Gallery g WHERE g.isActive = true AND g.category = :category AND " + FEED_MEDIA +
+           " AND " + FEED_AFTER + FEED_ORDER)
+    List<Gallery> findFeedByCategoryAfter(@Param("category") String category,
+                                          @Param("media") String media,
+                                          @Param("sortOrder") Integer sortOrder,
+                                          @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id,
+                                          Pageable pageable);
+    
+    // Copy extracted image metadata onto every gallery item showing this image; rows already up to date are skipped
+    @Transactional
+    @Modifying
+    @Query("UPDATE Gallery x SET x.imageWidth = :width, x.imageHeight = :height, " +
+           "x.dominantColor = :dominantColor, x.blurHash = :blurHash " +
+           "WHERE x.imagePath = :path AND (x.blurHash IS NULL OR x.blurHash <> :blurHash)")
+    int updateImageMetadata(@Param("path") String path,
+                            @Param("width") Integer width,
+                            @Param("height") Integer height,
+                            @Param("dominantColor") String dominantColor,
+                            @Param("blurHash") String blurHash);
+    
+    // Count active gallery items per category in one query
+    @Query("SELECT g.category AS category, COUNT(g) AS total FROM Gallery g WHERE g.isActive = true GROUP BY g.category")
+    List<CategoryCount> countActiveByCategory();
     
-    // Count all active gallery items
-    long countByIsActiveTrue();
+    interface CategoryCount {
+        String getCategory();
+        long getTotal();
+    }
 }
@@ -0,0 +1,9 @@
+package com.sairajtravels.site.repository;
+
+import com.sairajtravels.site.entity.ImageAsset;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ImageAssetRepository extends JpaRepository<ImageAsset, String> {
+}
@@ -11,10 +11,8 @@ import java.util.List;
 @Repository
 public interface PackageRepository extends JpaRepository<TravelPackage, Integer> {
     
-    // Find all active packages - prioritize featured packages, then by sort order
-    @Query("SELECT p FROM TravelPackage p WHERE p.isActive = true ORDER BY " +
-           "CASE WHEN p.isFeatured = true THEN 0 ELSE 1 END, " +
-           "p.sortOrder ASC, p.packageId ASC")
+    // Find all active packages - featured first, then by sort order, read in IX_packages_active_rank order
+    @Query("SELECT p FROM TravelPackage p WHERE p.isActive = true ORDER BY p.displayRank ASC, p.packageId ASC")
     List<TravelPackage> findByIsActiveTrueOrderByFeaturedAndSortOrder();
     
     // Find packages by category
@@ -23,13 +21,6 @@ public interface PackageRepository extends JpaRepository<TravelPackage, Integer>
     // Find featured packages
     List<TravelPackage> findByIsFeaturedTrueAndIsActiveTrueOrderBySortOrderAsc();
     
-    // Search packages by name or description
-    @Query("SELECT p FROM TravelPackage p WHERE p.isActive = true AND " +
-           "(LOWER(p.packageName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(p.packageDescription) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) " +
-           "ORDER BY p.sortOrder ASC")
-    List<TravelPackage> searchPackages(@Param("searchTerm") String searchTerm);
-    
     // Find packages by price range
     @Query("SELECT p FROM TravelPackage p WHERE p.isActive = true AND " +
            "p.packagePrice BETWEEN :minPrice AND :maxPrice " +
@@ -2,11 +2,26 @@ package com.sairajtravels.site.repository;
 
 import com.sairajtravels.site.entity.VehicleBooking;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Repository
 public interface VehicleBookingRepository extends JpaRepository<VehicleBooking, Integer> {
     List<VehicleBooking> findByVehicle_VehicleId(Integer vehicleId);
+
+    // Dates and status of every booking with a vehicle, for fleet utilization
+    @Query("SELECT b.bookingId AS bookingId, b.vehicle.vehicleId AS vehicleId, b.tripDate AS tripDate, " +
+           "b.returnDate AS returnDate, b.status AS status FROM VehicleBooking b WHERE b.vehicle IS NOT NULL")
+    List<BookingSpan> findBookingSpans();
+
+    interface BookingSpan {
+        Integer getBookingId();
+        Integer getVehicleId();
+        LocalDate getTripDate();
+        LocalDate getReturnDate();
+        String getStatus();
+    }
 }
@@ -4,9 +4,12 @@ import com.sairajtravels.site.entity.VehicleCharges;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface VehicleChargesRepository extends JpaRepository<VehicleCharges, Integer> {
     List<VehicleCharges> findByVehicle_VehicleId(Integer vehicleId);
+
+    List<VehicleCharges> findByVehicle_VehicleIdIn(Collection<Integer> vehicleIds);
 }
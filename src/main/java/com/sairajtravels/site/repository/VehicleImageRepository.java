@@ -2,11 +2,34 @@ package com.sairajtravels.site.repository;
 
 import com.sairajtravels.site.entity.VehicleImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface VehicleImageRepository extends JpaRepository<VehicleImage, Integer> {
     List<VehicleImage> findByVehicle_VehicleId(Integer vehicleId);
+
+    List<VehicleImage> findByVehicle_VehicleIdIn(Collection<Integer> vehicleIds);
+
+    // Vehicles with a gallery image showing this image
+    @Query("SELECT DISTINCT x.vehicle.vehicleId FROM VehicleImage x WHERE x.imageUrl = :path")
+    List<Integer> findVehicleIdsByImageUrl(@Param("path") String path);
+
+    // Copy extracted image metadata onto every vehicle image showing this image; rows already up to date are skipped
+    @Transactional
+    @Modifying
+    @Query("UPDATE VehicleImage x SET x.imageWidth = :width, x.imageHeight = :height, " +
+           "x.dominantColor = :dominantColor, x.blurHash = :blurHash " +
+           "WHERE x.imageUrl = :path AND (x.blurHash IS NULL OR x.blurHash <> :blurHash)")
+    int updateImageMetadata(@Param("path") String path,
+                            @Param("width") Integer width,
+                            @Param("height") Integer height,
+                            @Param("dominantColor") String dominantColor,
+                            @Param("blurHash") String blurHash);
 }
@@ -4,9 +4,12 @@ import com.sairajtravels.site.entity.VehiclePricing;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface VehiclePricingRepository extends JpaRepository<VehiclePricing, Integer> {
     List<VehiclePricing> findByVehicle_VehicleId(Integer vehicleId);
+
+    List<VehiclePricing> findByVehicle_VehicleIdIn(Collection<Integer> vehicleIds);
 }
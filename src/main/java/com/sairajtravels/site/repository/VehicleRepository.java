@@ -2,8 +2,43 @@ package com.sairajtravels.site.repository;
 
 import com.sairajtravels.site.entity.Vehicle;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface VehicleRepository extends JpaRepository<Vehicle, Integer> {
+
+    // Vehicle and its pricing plans in one query (only one collection can be fetch-joined at a time)
+    @Query("SELECT v FROM Vehicle v LEFT JOIN FETCH v.pricingList WHERE v.vehicleId = :id")
+    Optional<Vehicle> findWithPricingById(@Param("id") Integer id);
+
+    // Vehicle list columns only - no collections, and no managed entities to snapshot
+    @Query("SELECT v.vehicleId AS vehicleId, v.name AS name, v.type AS type, v.capacity AS capacity, " +
+           "v.isAC AS isAC, v.description AS description, v.mainImageUrl AS mainImageUrl, v.createdAt AS createdAt " +
+           "FROM Vehicle v ORDER BY v.vehicleId")
+    List<VehicleListRow> findListRows();
+
+    // Booking-form dropdown: skips the NVARCHAR(MAX) description as well
+    @Query("SELECT v.vehicleId AS vehicleId, v.name AS name, v.type AS type, v.capacity AS capacity, v.isAC AS isAC " +
+           "FROM Vehicle v ORDER BY v.vehicleId")
+    List<VehicleTypeRow> findTypeRows();
+
+    interface VehicleTypeRow {
+        Integer getVehicleId();
+        String getName();
+        String getType();
+        Integer getCapacity();
+        Boolean getIsAC();
+    }
+
+    interface VehicleListRow extends VehicleTypeRow {
+        String getDescription();
+        String getMainImageUrl();
+        LocalDateTime getCreatedAt();
+    }
 }
@@ -0,0 +1,136 @@
+package com.sairajtravels.site.service;
+
+import com.sairajtravels.site.entity.EmailQueueItem;
+import com.sairajtravels.site.repository.EmailQueueRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gathers admin notifications whose event type is configured as batched
+ * ({@code app.email.digest.mode.<TYPE>=batched}) and sends them as a single
+ * summary email once the oldest has waited {@code window-ms} or
+ * {@code max-items} have accumulated.
+ */
+@Service
+public class AdminDigestService {
+
+    public static final String DIGEST_EMAIL_TYPE = "ADMIN_DIGEST";
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("dd MMM yyyy HH:mm");
+
+    private final EmailQueueRepository repository;
+    private final EmailQueueService emailQueueService;
+    private final EmailTemplateService emailTemplateService;
+    private final Environment environment;
+
+    @Value("${app.email.digest.window-ms:300000}")
+    private long windowMs;
+
+    @Value("${app.email.digest.max-items:25}")
+    private int maxItems;
+
+    @Value("${app.email.digest.default-mode:immediate}")
+    private String defaultMode;
+
+    public AdminDigestService(EmailQueueRepository repository,
+                              EmailQueueService emailQueueService,
+                              EmailTemplateService emailTemplateService,
+                              Environment environment) {
+        this.repository = repository;
+        this.emailQueueService = emailQueueService;
+        this.emailTemplateService = emailTemplateService;
+        this.environment = environment;
+    }
+
+    public boolean isBatched(String emailType) {
+        String mode = environment.getProperty("app.email.digest.mode." + emailType, defaultMode);
+        return "batched".equalsIgnoreCase(mode.trim());
+    }
+
+    public void add(String recipient, String subject, String htmlContent, String fallbackText, String emailType) {
+        emailQueueService.enqueueBatched(recipient, subject, htmlContent, fallbackText, emailType);
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.digest.check-interval-ms:30000}")
+    @Transactional
+    public void flushIfDue() {
+        LocalDateTime oldest = repository.findOldestBatchedCreatedAt();
+        if (oldest == null) {
+            return;
+        }
+        boolean windowElapsed = oldest.isBefore(LocalDateTime.now().minus(Duration.ofMillis(windowMs)));
+        if (windowElapsed || repository.countByStatus(EmailQueueItem.STATUS_BATCHED) >= maxItems) {
+            int folded;
+            do {
+                folded = flushBatch();
+            } while (folded >= maxItems);
+        }
+    }
+
+    /**
+     * Fold up to {@code max-items} batched notifications into digest emails, one per recipient.
+     *
+     * @return number of batched notifications looked at, so callers know whether more remain
+     */
+    private int flushBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = repository.findBatchedIds(PageRequest.of(0, maxItems));
+        List<Long> claimed = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            if (repository.markDigested(id, now) == 1) {
+                claimed.add(id);
+            }
+        }
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<EmailQueueItem>> byRecipient = new LinkedHashMap<>();
+        for (EmailQueueItem item : repository.findAllById(claimed)) {
+            byRecipient.computeIfAbsent(item.getRecipient(), r -> new ArrayList<>()).add(item);
+        }
+        byRecipient.forEach(this::enqueueDigest);
+
+        System.out.println("📨 Admin digest queued with " + claimed.size() + " notification(s)");
+        return ids.size();
+    }
+
+    private void enqueueDigest(String recipient, List<EmailQueueItem> items) {
+        items.sort(Comparator.comparing(EmailQueueItem::getCreatedAt));
+
+        List<Map<String, Object>> entries = new ArrayList<>(items.size());
+        for (EmailQueueItem item : items) {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("subject", item.getSubject());
+            entry.put("receivedAt", item.getCreatedAt().format(TIME_FORMAT));
+            entry.put("details", item.getTextBody() != null ? item.getTextBody().strip() : "");
+            entries.add(entry);
+        }
+
+        Map<String, Object> model = new HashMap<>();
+        model.put("count", items.size());
+        model.put("from", items.get(0).getCreatedAt().format(TIME_FORMAT));
+        model.put("to", items.get(items.size() - 1).getCreatedAt().format(TIME_FORMAT));
+        model.put("items", entries);
+
+        String subject = "Admin Notification: Digest - " + items.size() + " new notification" + (items.size() == 1 ? "" : "s");
+        emailQueueService.enqueue(recipient, subject,
+                emailTemplateService.render("admin-digest.html", model),
+                emailTemplateService.render("admin-digest.txt", model),
+                DIGEST_EMAIL_TYPE);
+    }
+}
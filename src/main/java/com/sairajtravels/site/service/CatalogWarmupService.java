@@ -0,0 +1,154 @@
+package com.sairajtravels.site.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Loads the public catalogs into the caches once the application is up, so the
+ * first visitors after a deploy or free-plan wake-up do not pay for cold reads
+ * from Azure SQL. Readiness stays REFUSING_TRAFFIC (and /health answers 503)
+ * until the warm-up finishes or times out.
+ *
+ * Afterwards the Spring cache entries are reloaded in place on a schedule
+ * shorter than their expire-after-write, so they never expire under a reader.
+ */
+@Service
+public class CatalogWarmupService {
+
+    private final PackageService packageService;
+    private final GalleryService galleryService;
+    private final TestimonialService testimonialService;
+    private final VehicleService vehicleService;
+    private final ContactInfoService contactInfoService;
+    private final JsonResponseCache jsonResponseCache;
+    private final HomeSnapshotService homeSnapshotService;
+    private final ContentVersionService contentVersionService;
+    private final CacheManager cacheManager;
+    private final Executor catalogTaskExecutor;
+
+    @Value("${app.cache.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.cache.warmup.timeout-ms:30000}")
+    private long timeoutMs;
+
+    public CatalogWarmupService(PackageService packageService,
+                                GalleryService galleryService,
+                                TestimonialService testimonialService,
+                                VehicleService vehicleService,
+                                ContactInfoService contactInfoService,
+                                JsonResponseCache jsonResponseCache,
+                                HomeSnapshotService homeSnapshotService,
+                                ContentVersionService contentVersionService,
+                                CacheManager cacheManager,
+                                @Qualifier("catalogTaskExecutor") Executor catalogTaskExecutor) {
+        this.packageService = packageService;
+        this.galleryService = galleryService;
+        this.testimonialService = testimonialService;
+        this.vehicleService = vehicleService;
+        this.contactInfoService = contactInfoService;
+        this.jsonResponseCache = jsonResponseCache;
+        this.homeSnapshotService = homeSnapshotService;
+        this.contentVersionService = contentVersionService;
+        this.cacheManager = cacheManager;
+        this.catalogTaskExecutor = catalogTaskExecutor;
+    }
+
+    // Runs before Spring Boot marks the application ready, so returning from here is what opens readiness
+    @EventListener
+    public void warmUp(ApplicationReadyEvent event) {
+        if (!enabled) {
+            return;
+        }
+        AvailabilityChangeEvent.publish(event.getApplicationContext(), ReadinessState.REFUSING_TRAFFIC);
+        long start = System.currentTimeMillis();
+
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (ContentVersionService.Catalog catalog : ContentVersionService.Catalog.values()) {
+            tasks.add(CompletableFuture.runAsync(() -> {
+                try {
+                    jsonResponseCache.prime(catalog, publicLoader(catalog));
+                } catch (Exception e) {
+                    System.err.println("⚠️ Cache warm-up failed for " + catalog + ": " + e.getMessage());
+                }
+            }, catalogTaskExecutor));
+        }
+
+        try {
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).get(timeoutMs, TimeUnit.MILLISECONDS);
+            // Built from the caches just loaded
+            homeSnapshotService.rebuild();
+            System.out.println("🔥 Catalog caches warmed in " + (System.currentTimeMillis() - start) + " ms");
+        } catch (TimeoutException e) {
+            System.err.println("⚠️ Cache warm-up still running after " + timeoutMs + " ms, accepting traffic anyway");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("⚠️ Cache warm-up failed: " + e.getMessage());
+        } finally {
+            AvailabilityChangeEvent.publish(event.getApplicationContext(), ReadinessState.ACCEPTING_TRAFFIC);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.cache.refresh-ahead-interval-ms:3600000}",
+               fixedDelayString = "${app.cache.refresh-ahead-interval-ms:3600000}")
+    public void refreshAhead() {
+        if (!enabled) {
+            return;
+        }
+        for (ContentVersionService.Catalog catalog : ContentVersionService.Catalog.values()) {
+            long before = contentVersionService.current(catalog).version();
+            try {
+                refresh(catalog);
+            } catch (Exception e) {
+                System.err.println("⚠️ Cache refresh failed for " + catalog + ": " + e.getMessage());
+                continue;
+            }
+            // A write landed while we were reading; what we just put may predate it
+            if (contentVersionService.current(catalog).version() != before) {
+                Cache cache = cacheManager.getCache(catalog.getCacheName());
+                if (cache != null) {
+                    cache.clear();
+                }
+            }
+        }
+    }
+
+    // Same bodies the public controllers serve
+    private Supplier<?> publicLoader(ContentVersionService.Catalog catalog) {
+        return switch (catalog) {
+            case PACKAGES -> packageService::getAllPackages;
+            case GALLERY -> galleryService::getAllActiveGallery;
+            case TESTIMONIALS -> testimonialService::getAllActiveTestimonials;
+            case VEHICLES -> vehicleService::getAllVehicles;
+            case CONTACT -> () -> contactInfoService.getContactInfo().orElseGet(contactInfoService::getDefaultContactInfo);
+        };
+    }
+
+    private void refresh(ContentVersionService.Catalog catalog) {
+        switch (catalog) {
+            case PACKAGES -> packageService.refreshAllPackages();
+            case GALLERY -> galleryService.refreshActiveGallery();
+            case TESTIMONIALS -> testimonialService.refreshActiveTestimonials();
+            case VEHICLES -> vehicleService.refreshAllVehicles();
+            case CONTACT -> contactInfoService.refreshContactInfo();
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.sairajtravels.site.service;
 
 import com.sairajtravels.site.entity.ContactInfo;
 import com.sairajtravels.site.repository.ContactInfoRepository;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -10,16 +12,50 @@ import java.util.Optional;
 public class ContactInfoService {
 
     private final ContactInfoRepository repository;
+    private final ContentVersionService contentVersionService;
 
-    public ContactInfoService(ContactInfoRepository repository) {
+    public ContactInfoService(ContactInfoRepository repository, ContentVersionService contentVersionService) {
         this.repository = repository;
+        this.contentVersionService = contentVersionService;
     }
 
     // Fetch single record (we assume only 1 record exists in the table)
+    @Cacheable(value = "contact", key = "'info'")
     public Optional<ContactInfo> getContactInfo() {
         return repository.findById(1L);
     }
 
+    // Reload the record into the cache without evicting first (refresh-ahead)
+    @CachePut(value = "contact", key = "'info'")
+    public Optional<ContactInfo> refreshContactInfo() {
+        return repository.findById(1L);
+    }
+
+    // Shown on the site until a record has been saved
+    public ContactInfo getDefaultContactInfo() {
+        return new ContactInfo(
+            1L, // id
+            "+91 98507 48273", // phoneOffice
+            "+91 98507 48273", // phoneMobile
+            "+91 98507 48273", // phoneWhatsapp
+            "info@sairajtravels.com", // emailPrimary
+            "bookings@sairajtravels.com", // emailBookings
+            "support@sairajtravels.com", // emailSupport
+            "Sairaj Travels Office, Pune", // addressLine1
+            null, // addressLine2
+            "Pune", // addressCity
+            "Maharashtra", // addressState
+            "411001", // addressPincode
+            "24/7 Available", // businessHoursWeekdays
+            "24/7 Available", // businessHoursSunday
+            "https://facebook.com/sairajtravels", // socialFacebook
+            "https://instagram.com/sairajtravels", // socialInstagram
+            "https://linkedin.com/company/sairajtravels", // socialLinkedin
+            null, // createdAt
+            null  // updatedAt
+        );
+    }
+
     // Debug method to check record count
     public long getContactInfoCount() {
         return repository.count();
@@ -27,11 +63,15 @@ public class ContactInfoService {
 
     // Create contact info
     public ContactInfo createContactInfo(ContactInfo info) {
-        return repository.save(info);
+        ContactInfo saved = repository.save(info);
+        contentVersionService.bump(ContentVersionService.Catalog.CONTACT);
+        return saved;
     }
 
     // Update contact info (optional, for future admin panel)
     public ContactInfo updateContactInfo(ContactInfo info) {
-        return repository.save(info);
+        ContactInfo saved = repository.save(info);
+        contentVersionService.bump(ContentVersionService.Catalog.CONTACT);
+        return saved;
     }
 }
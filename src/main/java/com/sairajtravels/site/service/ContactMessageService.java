@@ -2,9 +2,12 @@ package com.sairajtravels.site.service;
 
 import com.sairajtravels.site.entity.ContactMessage;
 import com.sairajtravels.site.repository.ContactMessageRepository;
+import com.sairajtravels.site.util.EmailTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -12,10 +15,13 @@ public class ContactMessageService {
 
     private final ContactMessageRepository repository;
     private final EmailService emailService;
+    private final EmailTemplateService emailTemplateService;
 
-    public ContactMessageService(ContactMessageRepository repository, EmailService emailService) {
+    public ContactMessageService(ContactMessageRepository repository, EmailService emailService,
+                                 EmailTemplateService emailTemplateService) {
         this.repository = repository;
         this.emailService = emailService;
+        this.emailTemplateService = emailTemplateService;
     }
 
     public ContactMessage saveMessage(ContactMessage message) {
@@ -39,10 +45,11 @@ public class ContactMessageService {
             if (message.getEmail() != null && !message.getEmail().isBlank()) {
                 try {
                     String subject = "Sairaj Travels — We received your message";
-                    String plain = buildClientText(message);
-                    String html = buildClientHtml(message);
-                    emailService.sendHtmlEmail(message.getEmail(), subject, html, plain);
-                    System.out.println("✅ Customer confirmation email sent successfully");
+                    Map<String, Object> model = buildContactEmailModel(message, "Customer");
+                    String plain = emailTemplateService.render("contact-confirmation.txt", model);
+                    String html = emailTemplateService.render("contact-confirmation.html", model);
+                    emailService.sendHtmlEmail(message.getEmail(), subject, html, plain, "CONTACT_CUSTOMER");
+                    System.out.println("✅ Customer confirmation email queued successfully");
                 } catch (Exception emailError) {
                     System.err.println("⚠️ Failed to send customer confirmation email (message still saved): " + emailError.getMessage());
                     emailError.printStackTrace();
@@ -54,10 +61,11 @@ public class ContactMessageService {
             // 2) Admin notification - don't fail if this fails
             try {
                 String adminSubject = "New Contact Message from " + (message.getName() == null ? "Unknown" : message.getName());
-                String adminPlain = buildAdminText(message);
-                String adminHtml = buildAdminHtml(message);
-                emailService.notifyAdmin(adminSubject, adminHtml, adminPlain);
-                System.out.println("✅ Admin notification email sent successfully");
+                Map<String, Object> model = buildContactEmailModel(message, "N/A");
+                String adminPlain = emailTemplateService.render("contact-admin.txt", model);
+                String adminHtml = emailTemplateService.render("contact-admin.html", model);
+                emailService.notifyAdmin(adminSubject, adminHtml, adminPlain, "CONTACT_ADMIN");
+                System.out.println("✅ Admin notification email queued successfully");
             } catch (Exception adminEmailError) {
                 System.err.println("⚠️ Failed to send admin notification email (message still saved): " + adminEmailError.getMessage());
                 adminEmailError.printStackTrace();
@@ -78,57 +86,15 @@ public class ContactMessageService {
     public void deleteMessage(Integer id) { repository.deleteById(id); }
 
     // ---- helpers for email content ----
-    private String buildClientText(ContactMessage m) {
-        String name = (m.getName() == null ? "Customer" : m.getName());
-        return "Dear " + name + ",\n\n"
-                + "Thank you for contacting Sairaj Travels. We have received your message and will get back to you shortly.\n\n"
-                + "Message summary:\n"
-                + "Phone: " + (m.getPhone() == null ? "N/A" : m.getPhone()) + "\n"
-                + "Message: " + (m.getMessage() == null ? "" : m.getMessage()) + "\n\n"
-                + "Warm regards,\nSairaj Travels";
-    }
-
-    private String buildClientHtml(ContactMessage m) {
-        String name = (m.getName() == null ? "Customer" : escapeHtml(m.getName()));
-        return "<html><body>"
-                + "<p>Dear <strong>" + name + "</strong>,</p>"
-                + "<p>Thank you for contacting <strong>Sairaj Travels</strong>. We have received your message and will get back to you shortly.</p>"
-                + "<h4>Message summary</h4>"
-                + "<p><strong>Phone:</strong> " + escapeHtml(m.getPhone()) + "</p>"
-                + "<p><strong>Message:</strong><br/>" + nl2br(escapeHtml(m.getMessage())) + "</p>"
-                + "<p>Warm regards,<br/>Sairaj Travels</p>"
-                + "</body></html>";
-    }
-
-    private String buildAdminText(ContactMessage m) {
-        return "New contact message\n\n"
-                + "ID: " + m.getId() + "\n"
-                + "Name: " + (m.getName() == null ? "N/A" : m.getName()) + "\n"
-                + "Email: " + (m.getEmail() == null ? "N/A" : m.getEmail()) + "\n"
-                + "Phone: " + (m.getPhone() == null ? "N/A" : m.getPhone()) + "\n"
-                + "Message:\n" + (m.getMessage() == null ? "" : m.getMessage()) + "\n";
-    }
-
-    private String buildAdminHtml(ContactMessage m) {
-        return "<html><body>"
-                + "<h3>New contact message</h3>"
-                + "<p><strong>ID:</strong> " + m.getId() + "</p>"
-                + "<p><strong>Name:</strong> " + escapeHtml(m.getName()) + "</p>"
-                + "<p><strong>Email:</strong> " + escapeHtml(m.getEmail()) + "</p>"
-                + "<p><strong>Phone:</strong> " + escapeHtml(m.getPhone()) + "</p>"
-                + "<h4>Message</h4>"
-                + "<p>" + nl2br(escapeHtml(m.getMessage())) + "</p>"
-                + "</body></html>";
-    }
-
-    // small helpers
-    private String escapeHtml(String s) {
-        if (s == null) return "";
-        return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;")
-                .replace("\"", "&quot;").replace("'", "&#39;");
-    }
-    private String nl2br(String s) {
-        if (s == null) return "";
-        return s.replace("\n", "<br/>");
+    private Map<String, Object> buildContactEmailModel(ContactMessage m, String fallbackName) {
+        Map<String, Object> model = new HashMap<>();
+        model.put("id", m.getId());
+        model.put("name", m.getName() == null ? fallbackName : m.getName());
+        model.put("email", m.getEmail() == null ? "N/A" : m.getEmail());
+        model.put("phone", m.getPhone() == null ? "N/A" : m.getPhone());
+        model.put("message", m.getMessage() == null ? "" : m.getMessage());
+        // Pre-escaped so line breaks can be kept as <br/>
+        model.put("messageHtml", EmailTemplate.escapeHtml(m.getMessage()).replace("\n", "<br/>"));
+        return model;
     }
 }
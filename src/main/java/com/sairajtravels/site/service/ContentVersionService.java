@@ -0,0 +1,236 @@
+package com.sairajtravels.site.service;
+
+import com.sairajtravels.site.entity.CacheVersion;
+import com.sairajtravels.site.event.CatalogChangedEvent;
+import com.sairajtravels.site.repository.CacheVersionRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.info.BuildProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Tracks a version number per public catalog so the read endpoints can answer
+ * conditional GETs (If-None-Match / If-Modified-Since) with 304 before touching
+ * the database or serializing anything (see {@link JsonResponseCache}).
+ *
+ * The versions live in the cache_versions table. Write paths call
+ * {@link #bump(Catalog)}, which increments the row; every node polls the table
+ * and evicts its local caches for any catalog whose version has moved, so
+ * nodes stay coherent without a message broker and all hand out the same ETags.
+ */
+@Service
+public class ContentVersionService {
+
+    public enum Catalog {
+        PACKAGES("packages"),
+        GALLERY("gallery"),
+        TESTIMONIALS("testimonials"),
+        VEHICLES("vehicles"),
+        CONTACT("contact");
+
+        private final String cacheName;
+
+        Catalog(String cacheName) {
+            this.cacheName = cacheName;
+        }
+
+        public String getCacheName() {
+            return cacheName;
+        }
+    }
+
+    public record ContentVersion(Catalog catalog, long version, Instant lastModified, String release) {
+
+        // Unquoted validator: the deploy it was served by plus the shared version
+        public String tag() {
+            return release + "-" + version;
+        }
+
+        public String etag() {
+            return "\"" + catalog.getCacheName() + "-" + tag() + "\"";
+        }
+    }
+
+    private final CacheVersionRepository cacheVersionRepository;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<Catalog, ContentVersion> versions = new EnumMap<>(Catalog.class);
+    // Same on every node of a deploy, different for the next one, so a new build
+    // (whose JSON may have a different shape) never answers an old ETag with 304
+    private final String release;
+    private final Instant releaseTime;
+
+    public ContentVersionService(CacheVersionRepository cacheVersionRepository,
+                                 CacheManager cacheManager,
+                                 ApplicationEventPublisher eventPublisher,
+                                 ObjectProvider<BuildProperties> buildProperties) {
+        this.cacheVersionRepository = cacheVersionRepository;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+
+        Instant bootTime = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        String bootTag = Long.toString(bootTime.getEpochSecond(), 36);
+        BuildProperties build = buildProperties.getIfAvailable();
+        if (build != null && build.getTime() != null) {
+            releaseTime = build.getTime().truncatedTo(ChronoUnit.SECONDS);
+            release = Long.toString(releaseTime.getEpochSecond(), 36);
+        } else {
+            // No build-info (run from an IDE): fall back to one release per boot
+            releaseTime = bootTime;
+            release = "dev" + bootTag;
+            System.out.println("⚠️ No build-info found, ETags are tagged per boot instead of per deploy");
+        }
+
+        // Placeholder until the table is read; any stored version (starting at 1) replaces it.
+        // Also tagged with the boot time so a node that cannot read the table never repeats an ETag.
+        for (Catalog catalog : Catalog.values()) {
+            versions.put(catalog, new ContentVersion(catalog, 0, bootTime, release + "." + bootTag));
+        }
+    }
+
+    @PostConstruct
+    public void loadVersions() {
+        try {
+            for (Catalog catalog : Catalog.values()) {
+                if (!cacheVersionRepository.existsById(catalog.name())) {
+                    createRow(catalog);
+                }
+            }
+            for (CacheVersion row : cacheVersionRepository.findAll()) {
+                Catalog catalog = toCatalog(row.getCatalog());
+                if (catalog != null) {
+                    synchronized (this) {
+                        versions.put(catalog, toContentVersion(catalog, row));
+                    }
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("⚠️ Could not load cache versions, will retry on the next poll: " + e.getMessage());
+        }
+    }
+
+    public synchronized ContentVersion current(Catalog catalog) {
+        return versions.get(catalog);
+    }
+
+    /**
+     * Record a change to a catalog. Inside a transaction nothing happens until it
+     * commits; the row is then incremented in a transaction of its own, so a
+     * failure here can never roll back the caller's write, and no node can see
+     * the new version while the old data is still the committed data.
+     */
+    public void bump(Catalog catalog) {
+        afterCommit(() -> increment(catalog));
+    }
+
+    private void increment(Catalog catalog) {
+        try {
+            if (cacheVersionRepository.increment(catalog.name(), LocalDateTime.now()) == 0) {
+                createRow(catalog);
+                cacheVersionRepository.increment(catalog.name(), LocalDateTime.now());
+            }
+            cacheVersionRepository.findCurrent(catalog.name()).ifPresent(row -> apply(catalog, row, false));
+        } catch (Exception e) {
+            // The caller's write is committed; at least stop this node serving stale data.
+            // Other nodes and the ETag catch up with the next successful bump.
+            System.err.println("⚠️ Could not bump cache version for " + catalog + ": " + e.getMessage());
+            evictLocally(catalog, current(catalog));
+        }
+    }
+
+    // Picks up bumps made by other nodes
+    @Scheduled(fixedDelayString = "${app.cache.version-poll-interval-ms:5000}",
+               initialDelayString = "${app.cache.version-poll-interval-ms:5000}")
+    public void pollVersions() {
+        try {
+            for (CacheVersion row : cacheVersionRepository.findAll()) {
+                Catalog catalog = toCatalog(row.getCatalog());
+                if (catalog != null) {
+                    apply(catalog, row, true);
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("⚠️ Cache version poll failed: " + e.getMessage());
+        }
+    }
+
+    private void apply(Catalog catalog, CacheVersion row, boolean remote) {
+        ContentVersion next;
+        synchronized (this) {
+            // Versions only move forward; a slower read of an older row is ignored
+            if (row.getVersion() <= versions.get(catalog).version()) {
+                return;
+            }
+            next = toContentVersion(catalog, row);
+            // Drop cached reads first; anything cached after this already sees the new rows
+            clearCache(catalog);
+            versions.put(catalog, next);
+        }
+        eventPublisher.publishEvent(new CatalogChangedEvent(catalog, next, remote));
+    }
+
+    private void evictLocally(Catalog catalog, ContentVersion version) {
+        clearCache(catalog);
+        eventPublisher.publishEvent(new CatalogChangedEvent(catalog, version, false));
+    }
+
+    private void clearCache(Catalog catalog) {
+        Cache cache = cacheManager.getCache(catalog.getCacheName());
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private void createRow(Catalog catalog) {
+        try {
+            cacheVersionRepository.insertInitial(catalog.name(), LocalDateTime.now());
+        } catch (DataIntegrityViolationException e) {
+            // Another node created it first
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private ContentVersion toContentVersion(Catalog catalog, CacheVersion row) {
+        // Last-Modified only has second precision on the wire; never before the release,
+        // so If-Modified-Since alone cannot revalidate a body from an older build either
+        Instant lastModified = row.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().truncatedTo(ChronoUnit.SECONDS);
+        if (lastModified.isBefore(releaseTime)) {
+            lastModified = releaseTime;
+        }
+        return new ContentVersion(catalog, row.getVersion(), lastModified, release);
+    }
+
+    private static Catalog toCatalog(String name) {
+        try {
+            return Catalog.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -12,9 +12,11 @@ import java.util.stream.Collectors;
 public class DriverService {
 
     private final DriverRepository driverRepository;
+    private final ImageDerivativeService imageDerivativeService;
 
-    public DriverService(DriverRepository driverRepository) {
+    public DriverService(DriverRepository driverRepository, ImageDerivativeService imageDerivativeService) {
         this.driverRepository = driverRepository;
+        this.imageDerivativeService = imageDerivativeService;
     }
 
     // ======================
@@ -36,6 +38,7 @@ public class DriverService {
     public DriverDTO addDriver(DriverDTO driverDTO) {
         Driver driver = mapToEntity(driverDTO);
         Driver saved = driverRepository.save(driver);
+        imageDerivativeService.process(saved.getPhotoPath());
         return mapToDTO(saved);
     }
 
@@ -58,7 +61,9 @@ public class DriverService {
             driver.setEmergencyContact(driverDTO.getEmergencyContact());
             driver.setRating(driverDTO.getRating());
 
-            return mapToDTO(driverRepository.save(driver));
+            Driver saved = driverRepository.save(driver);
+            imageDerivativeService.process(saved.getPhotoPath());
+            return mapToDTO(saved);
         }).orElse(null);
     }
 
@@ -79,6 +84,7 @@ public class DriverService {
         dto.setLanguages(driver.getLanguages());
         dto.setDescription(driver.getDescription());
         dto.setPhotoPath(driver.getPhotoPath());
+        dto.setPhotoVariants(imageDerivativeService.variantsFor(driver.getPhotoPath()));
 
         // New fields
         dto.setLicenseNumber(driver.getLicenseNumber());
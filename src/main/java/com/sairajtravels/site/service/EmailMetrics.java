@@ -0,0 +1,121 @@
+package com.sairajtravels.site.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.SendFailedException;
+import org.springframework.stereotype.Component;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Micrometer meters for outgoing email, published under /actuator/metrics:
+ * <ul>
+ *   <li>{@code email.send} - SMTP send latency by template and outcome</li>
+ *   <li>{@code email.send.failures} - failed sends by template and SMTP error class</li>
+ *   <li>{@code email.queue.wait} - time from enqueue to delivery attempt, first attempt vs retry</li>
+ *   <li>{@code email.retries} / {@code email.dead.letters} - retry scheduling and give-ups by template</li>
+ * </ul>
+ */
+@Component
+public class EmailMetrics {
+
+    private static final Pattern SMTP_REPLY_CODE = Pattern.compile("^\\s*([245])\\d\\d\\b");
+
+    private final MeterRegistry registry;
+
+    public EmailMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public Timer.Sample startSend() {
+        return Timer.start(registry);
+    }
+
+    public void recordSendSuccess(Timer.Sample sample, String template) {
+        sample.stop(sendTimer(template, "success"));
+    }
+
+    public void recordSendFailure(Timer.Sample sample, String template, Throwable error) {
+        sample.stop(sendTimer(template, "failure"));
+        Counter.builder("email.send.failures")
+                .description("Failed email sends by SMTP error class")
+                .tag("template", tagValue(template))
+                .tag("error", classify(error))
+                .register(registry)
+                .increment();
+    }
+
+    public void recordQueueWait(String template, LocalDateTime enqueuedAt, int previousAttempts) {
+        if (enqueuedAt == null) {
+            return;
+        }
+        Duration wait = Duration.between(enqueuedAt, LocalDateTime.now());
+        Timer.builder("email.queue.wait")
+                .description("Time from enqueue to delivery attempt")
+                .tag("template", tagValue(template))
+                .tag("attempt", previousAttempts == 0 ? "first" : "retry")
+                .register(registry)
+                .record(wait.isNegative() ? Duration.ZERO : wait);
+    }
+
+    public void recordRetryScheduled(String template) {
+        Counter.builder("email.retries")
+                .description("Email deliveries rescheduled after a failure")
+                .tag("template", tagValue(template))
+                .register(registry)
+                .increment();
+    }
+
+    public void recordDeadLetter(String template) {
+        Counter.builder("email.dead.letters")
+                .description("Emails given up on after the maximum number of attempts")
+                .tag("template", tagValue(template))
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Map a send failure onto a small, fixed set of tag values.
+     */
+    static String classify(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof AuthenticationFailedException) return "auth";
+            if (t instanceof SocketTimeoutException) return "timeout";
+            if (t instanceof ConnectException || t instanceof UnknownHostException
+                    || t.getClass().getSimpleName().equals("MailConnectException")) return "connect";
+            if (t instanceof SendFailedException sfe
+                    && sfe.getInvalidAddresses() != null && sfe.getInvalidAddresses().length > 0) return "address";
+            if (t.getMessage() != null) {
+                Matcher m = SMTP_REPLY_CODE.matcher(t.getMessage());
+                if (m.find()) {
+                    return switch (m.group(1)) {
+                        case "4" -> "smtp_4xx";
+                        case "5" -> "smtp_5xx";
+                        default -> "other";
+                    };
+                }
+            }
+        }
+        return "other";
+    }
+
+    private Timer sendTimer(String template, String outcome) {
+        return Timer.builder("email.send")
+                .description("SMTP send latency")
+                .tag("template", tagValue(template))
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static String tagValue(String template) {
+        return template != null ? template : "UNKNOWN";
+    }
+}
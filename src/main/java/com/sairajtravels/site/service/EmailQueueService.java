@@ -0,0 +1,166 @@
+package com.sairajtravels.site.service;
+
+import com.sairajtravels.site.entity.EmailQueueItem;
+import com.sairajtravels.site.repository.EmailQueueRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Persistence side of the outgoing email queue: enqueueing, claiming due
+ * messages, recording outcomes with exponential backoff, and re-driving
+ * dead-lettered messages. Delivery itself happens in {@link EmailQueueWorker}.
+ */
+@Service
+public class EmailQueueService {
+
+    private final EmailQueueRepository repository;
+
+    @Value("${app.email.queue.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${app.email.queue.initial-backoff-ms:30000}")
+    private long initialBackoffMs;
+
+    @Value("${app.email.queue.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+
+    public EmailQueueService(EmailQueueRepository repository) {
+        this.repository = repository;
+    }
+
+    public EmailQueueItem enqueue(String recipient, String subject, String htmlBody, String textBody, String emailType) {
+        return repository.save(new EmailQueueItem(recipient, subject, htmlBody, textBody, emailType));
+    }
+
+    /**
+     * Store an admin notification for the next digest instead of sending it on its own.
+     */
+    public EmailQueueItem enqueueBatched(String recipient, String subject, String htmlBody, String textBody, String emailType) {
+        EmailQueueItem item = new EmailQueueItem(recipient, subject, htmlBody, textBody, emailType);
+        item.setStatus(EmailQueueItem.STATUS_BATCHED);
+        return repository.save(item);
+    }
+
+    /**
+     * Claim up to {@code limit} due messages, moving them to SENDING.
+     */
+    @Transactional
+    public List<EmailQueueItem> claimDue(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> dueIds = repository.findDueIds(now, PageRequest.of(0, limit));
+        List<Long> claimed = new ArrayList<>(dueIds.size());
+        for (Long id : dueIds) {
+            if (repository.claim(id, now) == 1) {
+                claimed.add(id);
+            }
+        }
+        return claimed.isEmpty() ? List.of() : repository.findAllById(claimed);
+    }
+
+    @Transactional
+    public int releaseStuck(Duration stuckTimeout) {
+        LocalDateTime now = LocalDateTime.now();
+        return repository.releaseStuck(now.minus(stuckTimeout), now);
+    }
+
+    @Transactional
+    public void markSent(Long id) {
+        repository.findById(id).ifPresent(item -> {
+            item.setStatus(EmailQueueItem.STATUS_SENT);
+            item.setSentAt(LocalDateTime.now());
+            item.setLastError(null);
+        });
+    }
+
+    /**
+     * Record a failed attempt: schedule a retry with exponential backoff, or
+     * dead-letter the message once the attempt budget is spent.
+     *
+     * @return the updated item, or empty if it no longer exists
+     */
+    @Transactional
+    public Optional<EmailQueueItem> markFailed(Long id, String error) {
+        return repository.findById(id).map(item -> {
+            int attempts = item.getAttempts() + 1;
+            item.setAttempts(attempts);
+            item.setLastError(truncate(error));
+            if (attempts >= maxAttempts) {
+                item.setStatus(EmailQueueItem.STATUS_DEAD);
+            } else {
+                item.setStatus(EmailQueueItem.STATUS_PENDING);
+                item.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+            }
+            return item;
+        });
+    }
+
+    /**
+     * Put a claimed message back without counting an attempt (e.g. worker pool full).
+     */
+    @Transactional
+    public void release(Long id) {
+        repository.findById(id).ifPresent(item -> item.setStatus(EmailQueueItem.STATUS_PENDING));
+    }
+
+    @Transactional
+    public boolean redrive(Long id) {
+        return repository.findById(id)
+                .filter(item -> EmailQueueItem.STATUS_DEAD.equals(item.getStatus()))
+                .map(item -> {
+                    resetForRetry(item);
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    @Transactional
+    public int redriveAllDead() {
+        List<EmailQueueItem> dead = repository.findByStatus(EmailQueueItem.STATUS_DEAD);
+        dead.forEach(this::resetForRetry);
+        return dead.size();
+    }
+
+    public List<EmailQueueItem> getDeadLetters(int limit) {
+        return repository.findByStatusOrderByUpdatedAtDesc(EmailQueueItem.STATUS_DEAD, PageRequest.of(0, limit));
+    }
+
+    public QueueStats getStats() {
+        LocalDateTime oldest = repository.findOldestPendingCreatedAt();
+        long oldestAgeSeconds = oldest != null ? Math.max(0, Duration.between(oldest, LocalDateTime.now()).getSeconds()) : 0;
+        return new QueueStats(
+                repository.countByStatus(EmailQueueItem.STATUS_PENDING),
+                repository.countByStatus(EmailQueueItem.STATUS_SENDING),
+                repository.countByStatus(EmailQueueItem.STATUS_DEAD),
+                repository.countByStatus(EmailQueueItem.STATUS_BATCHED),
+                oldestAgeSeconds
+        );
+    }
+
+    Duration backoff(int attempts) {
+        // initial, 2x, 4x, ... capped at max
+        long delay = initialBackoffMs << Math.min(attempts - 1, 20);
+        return Duration.ofMillis(Math.min(delay, maxBackoffMs));
+    }
+
+    private void resetForRetry(EmailQueueItem item) {
+        item.setStatus(EmailQueueItem.STATUS_PENDING);
+        item.setAttempts(0);
+        item.setNextAttemptAt(LocalDateTime.now());
+    }
+
+    private String truncate(String error) {
+        if (error == null) return null;
+        return error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+
+    public record QueueStats(long pending, long sending, long dead, long batched, long oldestPendingAgeSeconds) {
+    }
+}
@@ -0,0 +1,131 @@
+package com.sairajtravels.site.service;
+
+import com.sairajtravels.site.entity.EmailQueueItem;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Drains the email queue table on the bounded {@code emailTaskExecutor} pool.
+ * Each poll claims a batch of due messages, so several nodes can share one
+ * queue without double-sending, and exposes queue depth and age as gauges.
+ */
+@Component
+public class EmailQueueWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailQueueWorker.class);
+
+    private final EmailQueueService queueService;
+    private final EmailService emailService;
+    private final Executor emailTaskExecutor;
+    private final EmailMetrics emailMetrics;
+
+    @Value("${app.email.queue.batch-size:20}")
+    private int batchSize;
+
+    @Value("${app.email.queue.stuck-timeout-ms:300000}")
+    private long stuckTimeoutMs;
+
+    private volatile EmailQueueService.QueueStats lastStats = new EmailQueueService.QueueStats(0, 0, 0, 0, 0);
+
+    public EmailQueueWorker(EmailQueueService queueService,
+                            EmailService emailService,
+                            @Qualifier("emailTaskExecutor") Executor emailTaskExecutor,
+                            EmailMetrics emailMetrics,
+                            MeterRegistry meterRegistry) {
+        this.queueService = queueService;
+        this.emailService = emailService;
+        this.emailTaskExecutor = emailTaskExecutor;
+        this.emailMetrics = emailMetrics;
+
+        Gauge.builder("email.queue.depth", this, worker -> worker.lastStats.pending())
+                .description("Emails waiting to be sent")
+                .tag("status", "pending")
+                .register(meterRegistry);
+        Gauge.builder("email.queue.depth", this, worker -> worker.lastStats.sending())
+                .description("Emails waiting to be sent")
+                .tag("status", "sending")
+                .register(meterRegistry);
+        Gauge.builder("email.queue.depth", this, worker -> worker.lastStats.dead())
+                .description("Emails waiting to be sent")
+                .tag("status", "dead")
+                .register(meterRegistry);
+        Gauge.builder("email.queue.depth", this, worker -> worker.lastStats.batched())
+                .description("Emails waiting to be sent")
+                .tag("status", "batched")
+                .register(meterRegistry);
+        Gauge.builder("email.queue.oldest.age", this, worker -> worker.lastStats.oldestPendingAgeSeconds())
+                .description("Age of the oldest pending email")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.queue.poll-interval-ms:2000}")
+    public void poll() {
+        List<EmailQueueItem> batch;
+        try {
+            batch = queueService.claimDue(batchSize);
+        } catch (Exception e) {
+            logger.warn("Could not read email queue: {}", e.getMessage());
+            return;
+        }
+
+        for (EmailQueueItem item : batch) {
+            try {
+                emailTaskExecutor.execute(() -> deliver(item));
+            } catch (RejectedExecutionException e) {
+                // Worker pool is saturated - leave the message for the next poll
+                queueService.release(item.getId());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.queue.maintenance-interval-ms:15000}")
+    public void maintain() {
+        try {
+            int released = queueService.releaseStuck(Duration.ofMillis(stuckTimeoutMs));
+            if (released > 0) {
+                logger.warn("Returned {} stuck email(s) to the queue", released);
+            }
+            lastStats = queueService.getStats();
+        } catch (Exception e) {
+            logger.warn("Email queue maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    public EmailQueueService.QueueStats getLastStats() {
+        return lastStats;
+    }
+
+    private void deliver(EmailQueueItem item) {
+        emailMetrics.recordQueueWait(item.getEmailType(), item.getCreatedAt(), item.getAttempts());
+        try {
+            emailService.deliver(item);
+            queueService.markSent(item.getId());
+        } catch (Exception e) {
+            queueService.markFailed(item.getId(), e.getClass().getSimpleName() + ": " + e.getMessage())
+                    .ifPresent(updated -> {
+                        if (EmailQueueItem.STATUS_DEAD.equals(updated.getStatus())) {
+                            emailMetrics.recordDeadLetter(updated.getEmailType());
+                            logger.error("Email {} to {} dead-lettered after {} attempts: {}",
+                                    updated.getId(), updated.getRecipient(), updated.getAttempts(), e.getMessage());
+                        } else {
+                            emailMetrics.recordRetryScheduled(updated.getEmailType());
+                            logger.warn("Email {} to {} failed (attempt {}), retrying at {}: {}",
+                                    updated.getId(), updated.getRecipient(), updated.getAttempts(),
+                                    updated.getNextAttemptAt(), e.getMessage());
+                        }
+                    });
+        }
+    }
+}
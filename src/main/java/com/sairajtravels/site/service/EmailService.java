@@ -1,9 +1,11 @@
 package com.sairajtravels.site.service;
 
-import com.sairajtravels.site.entity.EmailSettings;
+import com.sairajtravels.site.entity.EmailQueueItem;
+import com.sairajtravels.site.event.EmailSettingsChangedEvent;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
+import org.springframework.context.event.EventListener;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 import org.springframework.mail.javamail.MimeMessageHelper;
@@ -12,6 +14,9 @@ import org.springframework.stereotype.Service;
 
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.CompletableFuture;
 
@@ -24,6 +29,21 @@ public class EmailService {
     @Autowired
     private EmailSettingsService emailSettingsService;
     
+    @Autowired
+    private SmtpTransportPool smtpTransportPool;
+    
+    @Autowired
+    private EmailQueueService emailQueueService;
+    
+    @Autowired
+    private EmailTemplateService emailTemplateService;
+    
+    @Autowired
+    private AdminDigestService adminDigestService;
+    
+    @Autowired
+    private EmailMetrics emailMetrics;
+    
     private volatile boolean isInitialized = false;
     
     @Value("${spring.mail.username:admin@sairajtravels.com}")
@@ -32,6 +52,12 @@ public class EmailService {
     @Value("${app.email.enabled:true}")
     private boolean defaultEmailEnabled;
     
+    // Sender built from the settings snapshot it was created for; rebuilt only when SMTP details change
+    private volatile ConfiguredSender configuredSender;
+    
+    private record ConfiguredSender(EmailSettingsSnapshot settings, JavaMailSenderImpl sender) {
+    }
+    
     public boolean isEmailEnabled() {
         try {
             return emailSettingsService.isEmailEnabled();
@@ -46,8 +72,8 @@ public class EmailService {
      */
     private String getFromEmail() {
         try {
-            EmailSettings settings = emailSettingsService.getEmailConfiguration();
-            return settings.getFromEmail() != null ? settings.getFromEmail() : defaultFromEmail;
+            EmailSettingsSnapshot settings = emailSettingsService.getSnapshot();
+            return settings.fromEmail() != null ? settings.fromEmail() : defaultFromEmail;
         } catch (Exception e) {
             System.err.println("Error getting from email from database, using default: " + e.getMessage());
             return defaultFromEmail;
@@ -55,7 +81,7 @@ public class EmailService {
     }
 
     /**
-     * Create a JavaMailSender configured with database settings
+     * Get the JavaMailSender configured with database settings
      */
     private JavaMailSender createConfiguredMailSender() {
         // Use default mail sender during startup to avoid initialization issues
@@ -65,41 +91,42 @@ public class EmailService {
         }
         
         try {
-            EmailSettings settings = emailSettingsService.getEmailConfiguration();
+            EmailSettingsSnapshot settings = emailSettingsService.getSnapshot();
             
-            if (settings == null) {
-                System.err.println("⚠️ EmailSettings is null, using default mail sender");
+            if (settings.smtpHost() == null || settings.smtpHost().trim().isEmpty()) {
+                System.err.println("⚠️ SMTP Host is null or empty, using default mail sender");
                 return mailSender;
             }
             
-            if (settings.getSmtpHost() == null || settings.getSmtpHost().trim().isEmpty()) {
-                System.err.println("⚠️ SMTP Host is null or empty, using default mail sender");
-                return mailSender;
+            ConfiguredSender cached = configuredSender;
+            if (cached != null && !settings.smtpChangedFrom(cached.settings())) {
+                return cached.sender();
             }
             
             JavaMailSenderImpl configuredMailSender = new JavaMailSenderImpl();
-            configuredMailSender.setHost(settings.getSmtpHost());
-            configuredMailSender.setPort(settings.getSmtpPort() != null ? settings.getSmtpPort() : 587);
-            configuredMailSender.setUsername(settings.getSmtpUsername());
-            configuredMailSender.setPassword(settings.getSmtpPassword());
+            configuredMailSender.setHost(settings.smtpHost());
+            configuredMailSender.setPort(settings.smtpPort() != null ? settings.smtpPort() : 587);
+            configuredMailSender.setUsername(settings.smtpUsername());
+            configuredMailSender.setPassword(settings.smtpPassword());
             
             Properties props = configuredMailSender.getJavaMailProperties();
             props.put("mail.transport.protocol", "smtp");
             props.put("mail.smtp.auth", "true");
             props.put("mail.smtp.starttls.enable", "true");
             props.put("mail.smtp.starttls.required", "true");
-            props.put("mail.smtp.ssl.trust", settings.getSmtpHost());
+            props.put("mail.smtp.ssl.trust", settings.smtpHost());
             props.put("mail.smtp.connectiontimeout", "30000");
             props.put("mail.smtp.timeout", "30000");
             props.put("mail.smtp.writetimeout", "30000");
             props.put("mail.debug", "false"); // Set to true for debugging
             
             System.out.println("📧 Using database email configuration:");
-            System.out.println("  Host: " + settings.getSmtpHost());
-            System.out.println("  Port: " + settings.getSmtpPort());
-            System.out.println("  Username: " + settings.getSmtpUsername());
-            System.out.println("  From: " + settings.getFromEmail());
+            System.out.println("  Host: " + settings.smtpHost());
+            System.out.println("  Port: " + settings.smtpPort());
+            System.out.println("  Username: " + settings.smtpUsername());
+            System.out.println("  From: " + settings.fromEmail());
             
+            configuredSender = new ConfiguredSender(settings, configuredMailSender);
             return configuredMailSender;
         } catch (Exception e) {
             System.err.println("❌ Error creating configured mail sender, using default: " + e.getMessage());
@@ -108,14 +135,49 @@ public class EmailService {
         }
     }
     
+    /**
+     * Drop the cached sender and its pooled connections when the SMTP details change
+     */
+    @EventListener
+    public void onEmailSettingsChanged(EmailSettingsChangedEvent event) {
+        if (!event.smtpChanged()) {
+            return;
+        }
+        ConfiguredSender stale = configuredSender;
+        configuredSender = null;
+        if (stale != null) {
+            smtpTransportPool.evict(stale.sender());
+        }
+        System.out.println("📧 SMTP settings changed - mail sender will be rebuilt on next send");
+    }
+    
+    /**
+     * Send messages over a pooled SMTP connection when the sender exposes its
+     * connection settings; otherwise fall back to the sender's own transport.
+     */
+    private void dispatch(String emailType, JavaMailSender sender, MimeMessage... messages) throws MessagingException {
+        Timer.Sample sample = emailMetrics.startSend();
+        try {
+            if (sender instanceof JavaMailSenderImpl senderImpl) {
+                smtpTransportPool.send(senderImpl, List.of(messages));
+            } else {
+                sender.send(messages);
+            }
+            emailMetrics.recordSendSuccess(sample, emailType);
+        } catch (MessagingException | RuntimeException e) {
+            emailMetrics.recordSendFailure(sample, emailType, e);
+            throw e;
+        }
+    }
+    
     /**
      * Initialize the EmailService after application startup
      */
     @jakarta.annotation.PostConstruct
     public void initialize() {
         try {
-            // Test database connection and email settings
-            emailSettingsService.getEmailConfiguration();
+            // Load the settings snapshot up front to test the database connection
+            emailSettingsService.getSnapshot();
             isInitialized = true;
             System.out.println("✅ EmailService initialized successfully");
         } catch (Exception e) {
@@ -127,7 +189,8 @@ public class EmailService {
     @Value("${app.frontend.url:http://localhost:5173}")
     private String frontendUrl;
     
-    @Async
+    // Credential emails bypass the queue table so temporary passwords and reset tokens are never persisted
+    @Async("emailTaskExecutor")
     public CompletableFuture<Void> sendTemporaryPassword(String toEmail, String fullName, String username, String tempPassword) {
         if (!isEmailEnabled()) {
             System.out.println("📧 Email service disabled - temporary password for " + username + ": " + tempPassword);
@@ -146,7 +209,7 @@ public class EmailService {
             String htmlContent = buildTemporaryPasswordEmail(fullName, username, tempPassword);
             helper.setText(htmlContent, true);
             
-            configuredMailSender.send(message);
+            dispatch("TEMPORARY_PASSWORD", configuredMailSender, message);
             System.out.println("✅ Temporary password email sent successfully to: " + toEmail);
         } catch (Exception e) {
             System.err.println("⚠️ Email service unavailable - temporary password for " + username + ": " + tempPassword);
@@ -157,7 +220,7 @@ public class EmailService {
         return CompletableFuture.completedFuture(null);
     }
     
-    @Async
+    @Async("emailTaskExecutor")
     public CompletableFuture<Void> sendPasswordResetEmail(String toEmail, String fullName, String resetToken) {
         if (!isEmailEnabled()) {
             System.out.println("📧 Email service disabled - password reset token for " + fullName + ": " + resetToken);
@@ -177,7 +240,7 @@ public class EmailService {
             String htmlContent = buildPasswordResetEmail(fullName, resetLink);
             helper.setText(htmlContent, true);
             
-            configuredMailSender.send(message);
+            dispatch("PASSWORD_RESET", configuredMailSender, message);
             System.out.println("✅ Password reset email sent successfully to: " + toEmail);
         } catch (Exception e) {
             System.err.println("⚠️ Email service unavailable - password reset token for " + fullName + ": " + resetToken);
@@ -192,13 +255,14 @@ public class EmailService {
     public void sendPasswordChangeNotification(String toEmail, String fullName) {
         try {
             JavaMailSender configuredMailSender = createConfiguredMailSender();
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(getFromEmail());
-            message.setTo(toEmail);
-            message.setSubject("Sairaj Travels Admin - Password Changed Successfully");
-            message.setText(buildPasswordChangeNotification(fullName));
+            MimeMessage message = configuredMailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, false);
+            helper.setFrom(getFromEmail());
+            helper.setTo(toEmail);
+            helper.setSubject("Sairaj Travels Admin - Password Changed Successfully");
+            helper.setText(buildPasswordChangeNotification(fullName));
             
-            configuredMailSender.send(message);
+            dispatch("PASSWORD_CHANGED", configuredMailSender, message);
             System.out.println("✅ Password change notification sent to: " + toEmail);
         } catch (Exception e) {
             // Don't throw exception for notification emails
@@ -208,189 +272,97 @@ public class EmailService {
     }
     
     private String buildTemporaryPasswordEmail(String fullName, String username, String tempPassword) {
-        return String.format("""
-            <!DOCTYPE html>
-            <html>
-            <head>
-                <meta charset="UTF-8">
-                <style>
-                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
-                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
-                    .header { background: #2563eb; color: white; padding: 20px; text-align: center; border-radius: 8px 8px 0 0; }
-                    .content { background: #f8fafc; padding: 30px; border-radius: 0 0 8px 8px; }
-                    .credentials { background: white; padding: 20px; border-radius: 8px; margin: 20px 0; border-left: 4px solid #2563eb; }
-                    .button { display: inline-block; background: #2563eb; color: white; padding: 12px 24px; text-decoration: none; border-radius: 6px; margin: 20px 0; }
-                    .warning { background: #fef3cd; border: 1px solid #fde68a; padding: 15px; border-radius: 6px; margin: 20px 0; }
-                </style>
-            </head>
-            <body>
-                <div class="container">
-                    <div class="header">
-                        <h1>🚐 Sairaj Travels</h1>
-                        <h2>Welcome to Admin Panel</h2>
-                    </div>
-                    <div class="content">
-                        <h3>Hello %s,</h3>
-                        <p>Welcome to the Sairaj Travels Admin Panel! Your account has been created successfully.</p>
-                        
-                        <div class="credentials">
-                            <h4>Your Login Credentials:</h4>
-                            <p><strong>Username:</strong> %s</p>
-                            <p><strong>Temporary Password:</strong> <code>%s</code></p>
-                            <p><strong>Login URL:</strong> <a href="%s/admin/login">%s/admin/login</a></p>
-                        </div>
-                        
-                        <div class="warning">
-                            <p><strong>⚠️ Important Security Notice:</strong></p>
-                            <p>This is a temporary password. You will be required to change it upon your first login for security reasons.</p>
-                        </div>
-                        
-                        <a href="%s/admin/login" class="button">Login to Admin Panel</a>
-                        
-                        <p>If you have any questions or need assistance, please contact the system administrator.</p>
-                        
-                        <hr style="margin: 30px 0; border: none; border-top: 1px solid #e5e7eb;">
-                        <p style="font-size: 12px; color: #6b7280;">
-                            This is an automated message from Sairaj Travels Admin System. Please do not reply to this email.
-                        </p>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """, fullName, username, tempPassword, frontendUrl, frontendUrl, frontendUrl);
+        Map<String, Object> model = new HashMap<>();
+        model.put("fullName", fullName);
+        model.put("username", username);
+        model.put("tempPassword", tempPassword);
+        model.put("frontendUrl", frontendUrl);
+        return emailTemplateService.render("temporary-password.html", model);
     }
     
     private String buildPasswordResetEmail(String fullName, String resetLink) {
-        return String.format("""
-            <!DOCTYPE html>
-            <html>
-            <head>
-                <meta charset="UTF-8">
-                <style>
-                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
-                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
-                    .header { background: #dc2626; color: white; padding: 20px; text-align: center; border-radius: 8px 8px 0 0; }
-                    .content { background: #f8fafc; padding: 30px; border-radius: 0 0 8px 8px; }
-                    .button { display: inline-block; background: #dc2626; color: white; padding: 12px 24px; text-decoration: none; border-radius: 6px; margin: 20px 0; }
-                    .warning { background: #fef3cd; border: 1px solid #fde68a; padding: 15px; border-radius: 6px; margin: 20px 0; }
-                    .code { background: white; padding: 15px; border-radius: 6px; font-family: monospace; word-break: break-all; border: 1px solid #e5e7eb; }
-                </style>
-            </head>
-            <body>
-                <div class="container">
-                    <div class="header">
-                        <h1>🚐 Sairaj Travels</h1>
-                        <h2>Password Reset Request</h2>
-                    </div>
-                    <div class="content">
-                        <h3>Hello %s,</h3>
-                        <p>We received a request to reset your password for the Sairaj Travels Admin Panel.</p>
-                        
-                        <p>Click the button below to reset your password:</p>
-                        <a href="%s" class="button">Reset Password</a>
-                        
-                        <p>Or copy and paste this link in your browser:</p>
-                        <div class="code">%s</div>
-                        
-                        <div class="warning">
-                            <p><strong>⚠️ Security Notice:</strong></p>
-                            <ul>
-                                <li>This link will expire in 1 hour for security reasons</li>
-                                <li>If you didn't request this reset, please ignore this email</li>
-                                <li>Your password will remain unchanged until you create a new one</li>
-                            </ul>
-                        </div>
-                        
-                        <p>If you're having trouble with the button above, copy and paste the URL into your web browser.</p>
-                        
-                        <hr style="margin: 30px 0; border: none; border-top: 1px solid #e5e7eb;">
-                        <p style="font-size: 12px; color: #6b7280;">
-                            This is an automated message from Sairaj Travels Admin System. Please do not reply to this email.<br>
-                            If you didn't request this password reset, please contact the system administrator immediately.
-                        </p>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """, fullName, resetLink, resetLink);
+        Map<String, Object> model = new HashMap<>();
+        model.put("fullName", fullName);
+        model.put("resetLink", resetLink);
+        return emailTemplateService.render("password-reset.html", model);
     }
     
     private String buildPasswordChangeNotification(String fullName) {
-        return String.format("""
-            Hello %s,
-            
-            This is a confirmation that your password for the Sairaj Travels Admin Panel has been successfully changed.
-            
-            Change Details:
-            - Date: %s
-            - Account: %s
-            
-            If you did not make this change, please contact the system administrator immediately.
-            
-            For security reasons:
-            - Always use strong, unique passwords
-            - Never share your login credentials
-            - Log out when finished using the system
-            
-            Thank you,
-            Sairaj Travels Admin System
-            
-            ---
-            This is an automated message. Please do not reply to this email.
-            """, fullName, java.time.LocalDateTime.now().toString(), fullName);
+        Map<String, Object> model = new HashMap<>();
+        model.put("fullName", fullName);
+        model.put("changedAt", java.time.LocalDateTime.now());
+        return emailTemplateService.render("password-changed.txt", model);
     }
     
     // Backward compatibility methods for existing services
     
     public void sendHtmlEmail(String toEmail, String subject, String htmlContent, String fallbackText) {
+        sendHtmlEmail(toEmail, subject, htmlContent, fallbackText, "GENERIC");
+    }
+    
+    /**
+     * Queue an HTML email for delivery. The message is persisted first, so it
+     * survives restarts and SMTP outages; EmailQueueWorker sends it with retries.
+     */
+    public void sendHtmlEmail(String toEmail, String subject, String htmlContent, String fallbackText, String emailType) {
         if (!isEmailEnabled()) {
             System.out.println("📧 Email service disabled - would send to: " + toEmail + " | Subject: " + subject);
             return;
         }
         
         try {
-            JavaMailSender configuredMailSender = createConfiguredMailSender();
-            MimeMessage message = configuredMailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true);
-            
-            helper.setFrom(getFromEmail());
-            helper.setTo(toEmail);
-            helper.setSubject(subject);
-            helper.setText(fallbackText, htmlContent);
-            
-            configuredMailSender.send(message);
-            System.out.println("✅ HTML email sent successfully to: " + toEmail);
+            emailQueueService.enqueue(toEmail, subject, htmlContent, fallbackText, emailType);
+            System.out.println("📨 HTML email queued for: " + toEmail);
         } catch (Exception e) {
-            System.err.println("⚠️ Email service unavailable - failed to send HTML email to: " + toEmail);
+            System.err.println("⚠️ Failed to queue HTML email to: " + toEmail);
             System.err.println("Subject: " + subject);
             System.err.println("Email error: " + e.getMessage());
-            e.printStackTrace(); // Add stack trace for debugging
             // Don't throw exception - just log the failure
         }
     }
     
     public void notifyAdmin(String subject, String htmlContent, String fallbackText) {
+        notifyAdmin(subject, htmlContent, fallbackText, "ADMIN");
+    }
+    
+    public void notifyAdmin(String subject, String htmlContent, String fallbackText, String emailType) {
         if (!isEmailEnabled()) {
             System.out.println("📧 Email service disabled - admin notification: " + subject);
             return;
         }
         
         try {
-            JavaMailSender configuredMailSender = createConfiguredMailSender();
-            MimeMessage message = configuredMailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true);
-            
-            helper.setFrom(getFromEmail());
-            helper.setTo(getFromEmail()); // Send to admin email
-            helper.setSubject("Admin Notification: " + subject);
-            helper.setText(fallbackText, htmlContent);
-            
-            configuredMailSender.send(message);
-            System.out.println("✅ Admin notification sent successfully");
+            // Send to admin email, either on its own or folded into the next digest
+            if (adminDigestService.isBatched(emailType)) {
+                adminDigestService.add(getFromEmail(), subject, htmlContent, fallbackText, emailType);
+                System.out.println("📨 Admin notification held for digest");
+            } else {
+                emailQueueService.enqueue(getFromEmail(), "Admin Notification: " + subject, htmlContent, fallbackText, emailType);
+                System.out.println("📨 Admin notification queued");
+            }
         } catch (Exception e) {
             // Don't throw exception for admin notifications to avoid breaking business logic
-            System.err.println("Failed to send admin notification: " + e.getMessage());
-            e.printStackTrace(); // Add stack trace for debugging
+            System.err.println("Failed to queue admin notification: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Deliver a queued message now. Failures are thrown so the queue can retry.
+     */
+    public void deliver(EmailQueueItem item) throws MessagingException {
+        JavaMailSender configuredMailSender = createConfiguredMailSender();
+        MimeMessage message = configuredMailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true);
+        
+        helper.setFrom(getFromEmail());
+        helper.setTo(item.getRecipient());
+        helper.setSubject(item.getSubject());
+        if (item.getHtmlBody() != null) {
+            helper.setText(item.getTextBody() != null ? item.getTextBody() : "", item.getHtmlBody());
+        } else {
+            helper.setText(item.getTextBody() != null ? item.getTextBody() : "");
         }
+        
+        dispatch(item.getEmailType(), configuredMailSender, message);
     }
-}
\ No newline at end of file
+}
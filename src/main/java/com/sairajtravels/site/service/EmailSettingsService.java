@@ -1,22 +1,34 @@
 package com.sairajtravels.site.service;
 
 import com.sairajtravels.site.entity.EmailSettings;
+import com.sairajtravels.site.event.EmailSettingsChangedEvent;
 import com.sairajtravels.site.repository.EmailSettingsRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Email settings are read on every send, so they are served from an immutable
+ * in-memory snapshot. The snapshot is loaded once, swapped after each committed
+ * write, and re-read periodically to pick up changes made by other instances.
+ * An EmailSettingsChangedEvent is published only when a value actually changes.
+ */
 @Service
-@Transactional
 public class EmailSettingsService {
     
     @Autowired
     private EmailSettingsRepository emailSettingsRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     @Value("${spring.mail.host:smtp.sendgrid.net}")
     private String defaultSmtpHost;
     
@@ -32,14 +44,54 @@ public class EmailSettingsService {
     @Value("${app.notification.admin-email:admin@sairajtravels.com}")
     private String defaultAdminEmail;
     
+    private final AtomicReference<EmailSettingsSnapshot> snapshot = new AtomicReference<>();
+    
+    /**
+     * Current settings as an immutable snapshot - no database access after the first call
+     */
+    public EmailSettingsSnapshot getSnapshot() {
+        EmailSettingsSnapshot current = snapshot.get();
+        if (current == null) {
+            current = loadSnapshot();
+        }
+        return current;
+    }
+    
+    private synchronized EmailSettingsSnapshot loadSnapshot() {
+        EmailSettingsSnapshot current = snapshot.get();
+        if (current == null) {
+            current = EmailSettingsSnapshot.of(readSettings(), 1);
+            snapshot.set(current);
+        }
+        return current;
+    }
+    
+    /**
+     * Re-read the settings so changes made through another instance are picked up
+     */
+    @Scheduled(fixedDelayString = "${app.email.settings.refresh-interval-ms:60000}",
+               initialDelayString = "${app.email.settings.refresh-interval-ms:60000}")
+    public void refresh() {
+        try {
+            apply(readSettings());
+        } catch (Exception e) {
+            System.err.println("⚠️ Could not refresh email settings, keeping current snapshot: " + e.getMessage());
+        }
+    }
+    
     /**
-     * Get current email settings, create default if none exist
+     * Get current email settings, or unsaved defaults if none exist
      */
+    @Transactional(readOnly = true)
     public EmailSettings getEmailSettings() {
-        EmailSettings settings = emailSettingsRepository.getLatestSettings();
+        return readSettings();
+    }
+    
+    private EmailSettings readSettings() {
+        EmailSettings settings = emailSettingsRepository.findFirstByOrderByUpdatedAtDescCreatedAtDesc().orElse(null);
         
         if (settings == null) {
-            // Create default settings if none exist
+            // Defaults are only persisted once somebody saves them
             settings = createDefaultSettings();
         }
         
@@ -59,62 +111,59 @@ public class EmailSettingsService {
         defaultSettings.setAdminEmail(defaultAdminEmail);
         defaultSettings.setUpdatedBy("System");
         
-        return emailSettingsRepository.save(defaultSettings);
+        return defaultSettings;
     }
     
     /**
      * Update email settings
      */
+    @Transactional
     public EmailSettings updateEmailSettings(EmailSettings emailSettings, String updatedBy) {
-        EmailSettings existingSettings = getEmailSettings();
+        EmailSettings existingSettings = readSettings();
         
-        if (existingSettings != null) {
-            // Update existing settings
-            existingSettings.setEmailEnabled(emailSettings.getEmailEnabled());
-            existingSettings.setSmtpHost(emailSettings.getSmtpHost());
-            existingSettings.setSmtpPort(emailSettings.getSmtpPort());
-            existingSettings.setSmtpUsername(emailSettings.getSmtpUsername());
-            existingSettings.setFromEmail(emailSettings.getFromEmail());
-            existingSettings.setAdminEmail(emailSettings.getAdminEmail());
-            existingSettings.setUpdatedBy(updatedBy);
-            
-            return emailSettingsRepository.save(existingSettings);
-        } else {
-            // Create new settings
-            emailSettings.setUpdatedBy(updatedBy);
-            return emailSettingsRepository.save(emailSettings);
-        }
+        // Update existing settings (or the unsaved defaults, which are inserted here)
+        existingSettings.setEmailEnabled(emailSettings.getEmailEnabled());
+        existingSettings.setSmtpHost(emailSettings.getSmtpHost());
+        existingSettings.setSmtpPort(emailSettings.getSmtpPort());
+        existingSettings.setSmtpUsername(emailSettings.getSmtpUsername());
+        existingSettings.setFromEmail(emailSettings.getFromEmail());
+        existingSettings.setAdminEmail(emailSettings.getAdminEmail());
+        existingSettings.setUpdatedBy(updatedBy);
+        
+        return saveAndPublish(existingSettings);
     }
     
     /**
      * Toggle email enabled/disabled
      */
+    @Transactional
     public EmailSettings toggleEmailEnabled(boolean enabled, String updatedBy) {
-        EmailSettings settings = getEmailSettings();
+        EmailSettings settings = readSettings();
         settings.setEmailEnabled(enabled);
         settings.setUpdatedBy(updatedBy);
         
-        return emailSettingsRepository.save(settings);
+        return saveAndPublish(settings);
     }
     
     /**
      * Check if email is enabled
      */
     public boolean isEmailEnabled() {
-        Optional<Boolean> enabled = emailSettingsRepository.isEmailEnabled();
-        return enabled.orElse(true); // Default to enabled if no settings found
+        return getSnapshot().emailEnabled();
     }
     
     /**
      * Get email configuration for sending emails
      */
+    @Transactional(readOnly = true)
     public EmailSettings getEmailConfiguration() {
-        return getEmailSettings();
+        return readSettings();
     }
     
     /**
      * Reset to default settings
      */
+    @Transactional
     public EmailSettings resetToDefaults(String updatedBy) {
         EmailSettings defaultSettings = new EmailSettings();
         defaultSettings.setEmailEnabled(true);
@@ -127,4 +176,36 @@ public class EmailSettingsService {
         
         return updateEmailSettings(defaultSettings, updatedBy);
     }
+    
+    private EmailSettings saveAndPublish(EmailSettings settings) {
+        EmailSettings saved = emailSettingsRepository.save(settings);
+        
+        // Only swap the snapshot once the write is committed
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(saved);
+                }
+            });
+        } else {
+            apply(saved);
+        }
+        return saved;
+    }
+    
+    private void apply(EmailSettings settings) {
+        EmailSettingsSnapshot previous = getSnapshot();
+        EmailSettingsSnapshot candidate = EmailSettingsSnapshot.of(settings, previous.version() + 1);
+        if (!candidate.valuesChangedFrom(previous)) {
+            return;
+        }
+        if (snapshot.compareAndSet(previous, candidate)) {
+            System.out.println("📧 Email settings changed (version " + candidate.version() + ")");
+            eventPublisher.publishEvent(new EmailSettingsChangedEvent(previous, candidate));
+        } else {
+            // Lost a race with a concurrent update - retry against the newer snapshot
+            apply(settings);
+        }
+    }
 }
@@ -0,0 +1,65 @@
+package com.sairajtravels.site.service;
+
+import com.sairajtravels.site.entity.EmailSettings;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Immutable copy of the active email settings. {@code version} increases by one
+ * every time the values change, so holders can tell whether they are stale.
+ */
+public record EmailSettingsSnapshot(
+        long version,
+        boolean emailEnabled,
+        String smtpHost,
+        Integer smtpPort,
+        String smtpUsername,
+        String smtpPassword,
+        String fromEmail,
+        String adminEmail,
+        String updatedBy,
+        LocalDateTime updatedAt) {
+
+    static EmailSettingsSnapshot of(EmailSettings settings, long version) {
+        return new EmailSettingsSnapshot(
+                version,
+                settings.getEmailEnabled() == null || settings.getEmailEnabled(),
+                settings.getSmtpHost(),
+                settings.getSmtpPort(),
+                settings.getSmtpUsername(),
+                settings.getSmtpPassword(),
+                settings.getFromEmail(),
+                settings.getAdminEmail(),
+                settings.getUpdatedBy(),
+                settings.getUpdatedAt() != null ? settings.getUpdatedAt() : settings.getCreatedAt());
+    }
+
+    /**
+     * True when the SMTP connection details differ, i.e. mail senders must be rebuilt.
+     */
+    public boolean smtpChangedFrom(EmailSettingsSnapshot other) {
+        return other == null
+                || !Objects.equals(smtpHost, other.smtpHost)
+                || !Objects.equals(smtpPort, other.smtpPort)
+                || !Objects.equals(smtpUsername, other.smtpUsername)
+                || !Objects.equals(smtpPassword, other.smtpPassword);
+    }
+
+    /**
+     * True when any value that affects sending differs (audit fields are ignored).
+     */
+    public boolean valuesChangedFrom(EmailSettingsSnapshot other) {
+        return smtpChangedFrom(other)
+                || emailEnabled != other.emailEnabled
+                || !Objects.equals(fromEmail, other.fromEmail)
+                || !Objects.equals(adminEmail, other.adminEmail);
+    }
+
+    @Override
+    public String toString() {
+        // Keep the SMTP password out of logs
+        return "EmailSettingsSnapshot{version=" + version + ", emailEnabled=" + emailEnabled
+                + ", smtpHost='" + smtpHost + "', smtpPort=" + smtpPort + ", fromEmail='" + fromEmail + "'}";
+    }
+}
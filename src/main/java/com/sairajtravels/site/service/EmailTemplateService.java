@@ -0,0 +1,50 @@
+package com.sairajtravels.site.service;
+
+import com.sairajtravels.site.util.EmailTemplate;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles the templates under {@code classpath:email-templates/} once at startup
+ * and renders them by file name, e.g. {@code render("booking-confirmation.html", model)}.
+ * Templates ending in {@code .html} escape their values.
+ */
+@Service
+public class EmailTemplateService {
+
+    private static final String TEMPLATE_LOCATION = "classpath:email-templates/*.*";
+
+    private final Map<String, EmailTemplate> templates = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void loadTemplates() throws IOException {
+        Resource[] resources = new PathMatchingResourcePatternResolver().getResources(TEMPLATE_LOCATION);
+        for (Resource resource : resources) {
+            String name = resource.getFilename();
+            if (name == null) {
+                continue;
+            }
+            try (InputStream in = resource.getInputStream()) {
+                String source = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                templates.put(name, EmailTemplate.compile(name, source, name.endsWith(".html")));
+            }
+        }
+        System.out.println("✅ Compiled " + templates.size() + " email templates");
+    }
+
+    public String render(String name, Map<String, ?> model) {
+        EmailTemplate template = templates.get(name);
+        if (template == null) {
+            throw new IllegalArgumentException("Unknown email template: " + name);
+        }
+        return template.render(model);
+    }
+}
@@ -6,7 +6,9 @@ import com.sairajtravels.site.repository.EnquiryRepository;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -15,10 +17,13 @@ public class EnquiryService {
 
     private final EnquiryRepository enquiryRepository;
     private final EmailService emailService;
+    private final EmailTemplateService emailTemplateService;
 
-    public EnquiryService(EnquiryRepository enquiryRepository, EmailService emailService) {
+    public EnquiryService(EnquiryRepository enquiryRepository, EmailService emailService,
+                          EmailTemplateService emailTemplateService) {
         this.enquiryRepository = enquiryRepository;
         this.emailService = emailService;
+        this.emailTemplateService = emailTemplateService;
     }
 
     private EnquiryDTO convertToDTO(Enquiry enquiry) {
@@ -152,10 +157,11 @@ public class EnquiryService {
             if (enquiry.getEmail() != null && !enquiry.getEmail().isEmpty()) {
                 try {
                     String customerSubject = "Enquiry Received - Sairaj Travels";
-                    String customerHtml = buildCustomerEmailHtml(enquiry);
-                    String customerText = buildCustomerEmailText(enquiry);
-                    emailService.sendHtmlEmail(enquiry.getEmail(), customerSubject, customerHtml, customerText);
-                    System.out.println("✅ Customer enquiry confirmation email sent successfully");
+                    Map<String, Object> model = buildEnquiryEmailModel(enquiry);
+                    String customerHtml = emailTemplateService.render("enquiry-confirmation.html", model);
+                    String customerText = emailTemplateService.render("enquiry-confirmation.txt", model);
+                    emailService.sendHtmlEmail(enquiry.getEmail(), customerSubject, customerHtml, customerText, "ENQUIRY_CUSTOMER");
+                    System.out.println("✅ Customer enquiry confirmation email queued successfully");
                 } catch (Exception emailError) {
                     System.err.println("⚠️ Failed to send customer enquiry confirmation email (enquiry still saved): " + emailError.getMessage());
                     emailError.printStackTrace();
@@ -167,10 +173,11 @@ public class EnquiryService {
             // Send email to admin - don't fail if this fails
             try {
                 String adminSubject = "New Enquiry - " + enquiry.getFullName() + " (" + enquiry.getService() + ")";
-                String adminHtml = buildAdminEmailHtml(enquiry);
-                String adminText = buildAdminEmailText(enquiry);
-                emailService.notifyAdmin(adminSubject, adminHtml, adminText);
-                System.out.println("✅ Admin enquiry notification email sent successfully");
+                Map<String, Object> model = buildEnquiryEmailModel(enquiry);
+                String adminHtml = emailTemplateService.render("enquiry-admin.html", model);
+                String adminText = emailTemplateService.render("enquiry-admin.txt", model);
+                emailService.notifyAdmin(adminSubject, adminHtml, adminText, "ENQUIRY_ADMIN");
+                System.out.println("✅ Admin enquiry notification email queued successfully");
             } catch (Exception adminEmailError) {
                 System.err.println("⚠️ Failed to send admin enquiry notification email (enquiry still saved): " + adminEmailError.getMessage());
                 adminEmailError.printStackTrace();
@@ -185,154 +192,17 @@ public class EnquiryService {
         }
     }
 
-    private String buildCustomerEmailHtml(EnquiryDTO enquiry) {
-        return String.format("""
-            <html>
-            <body style="font-family: Arial, sans-serif; line-height: 1.6; color: #333;">
-                <div style="max-width: 600px; margin: 0 auto; padding: 20px;">
-                    <h2 style="color: #2563eb;">Thank you for your enquiry!</h2>
-                    
-                    <p>Dear %s,</p>
-                    
-                    <p>We have received your enquiry and our team will get back to you within 2 hours with a personalized quote.</p>
-                    
-                    <div style="background: #f8fafc; padding: 20px; border-radius: 8px; margin: 20px 0;">
-                        <h3 style="color: #1e40af; margin-top: 0;">Enquiry Details</h3>
-                        <p><strong>Enquiry ID:</strong> #%d</p>
-                        <p><strong>Service:</strong> %s</p>
-                        <p><strong>Phone:</strong> %s</p>
-                        <p><strong>Message:</strong> %s</p>
-                        <p><strong>Status:</strong> %s</p>
-                    </div>
-                    
-                    <p>Our team will contact you shortly to discuss your requirements and provide you with the best possible quote.</p>
-                    
-                    <p>For immediate assistance, please contact us at:</p>
-                    <ul>
-                        <li>Phone: +91 9850748273</li>
-                        <li>Email: admin@sairajtravels.com</li>
-                    </ul>
-                    
-                    <p>Thank you for choosing Sairaj Travels!</p>
-                    
-                    <hr style="margin: 30px 0; border: none; border-top: 1px solid #e5e7eb;">
-                    <p style="font-size: 12px; color: #6b7280;">
-                        Sairaj Travels - Your Trusted Travel Partner<br>
-                        This is an automated email. Please do not reply.
-                    </p>
-                </div>
-            </body>
-            </html>
-            """, 
-            enquiry.getFullName(),
-            enquiry.getEnquiryId(),
-            enquiry.getService(),
-            enquiry.getPhone(),
-            enquiry.getMessage(),
-            enquiry.getStatus()
-        );
-    }
-
-    private String buildCustomerEmailText(EnquiryDTO enquiry) {
-        return String.format("""
-            Thank you for your enquiry!
-            
-            Dear %s,
-            
-            We have received your enquiry and our team will get back to you within 2 hours with a personalized quote.
-            
-            Enquiry Details:
-            - Enquiry ID: #%d
-            - Service: %s
-            - Phone: %s
-            - Message: %s
-            - Status: %s
-            
-            Our team will contact you shortly to discuss your requirements and provide you with the best possible quote.
-            
-            For immediate assistance, please contact us at:
-            - Phone: +91 9850748273
-            - Email: admin@sairajtravels.com
-            
-            Thank you for choosing Sairaj Travels!
-            
-            ---
-            Sairaj Travels - Your Trusted Travel Partner
-            This is an automated email. Please do not reply.
-            """, 
-            enquiry.getFullName(),
-            enquiry.getEnquiryId(),
-            enquiry.getService(),
-            enquiry.getPhone(),
-            enquiry.getMessage(),
-            enquiry.getStatus()
-        );
-    }
-
-    private String buildAdminEmailHtml(EnquiryDTO enquiry) {
-        return String.format("""
-            <html>
-            <body style="font-family: Arial, sans-serif; line-height: 1.6; color: #333;">
-                <div style="max-width: 600px; margin: 0 auto; padding: 20px;">
-                    <h2 style="color: #dc2626;">New Enquiry Received</h2>
-                    
-                    <p>A new enquiry has been submitted through the website:</p>
-                    
-                    <div style="background: #fef2f2; padding: 20px; border-radius: 8px; margin: 20px 0; border-left: 4px solid #dc2626;">
-                        <h3 style="color: #dc2626; margin-top: 0;">Enquiry Details</h3>
-                        <p><strong>Enquiry ID:</strong> #%d</p>
-                        <p><strong>Name:</strong> %s</p>
-                        <p><strong>Phone:</strong> %s</p>
-                        <p><strong>Email:</strong> %s</p>
-                        <p><strong>Service:</strong> %s</p>
-                        <p><strong>Message:</strong> %s</p>
-                        <p><strong>Status:</strong> %s</p>
-                        <p><strong>Submitted At:</strong> %s</p>
-                    </div>
-                    
-                    <p style="color: #dc2626; font-weight: bold;">Action Required: Please contact the customer within 2 hours to provide a quote.</p>
-                </div>
-            </body>
-            </html>
-            """, 
-            enquiry.getEnquiryId(),
-            enquiry.getFullName(),
-            enquiry.getPhone(),
-            enquiry.getEmail() != null ? enquiry.getEmail() : "Not provided",
-            enquiry.getService(),
-            enquiry.getMessage(),
-            enquiry.getStatus(),
-            enquiry.getCreatedAt()
-        );
-    }
-
-    private String buildAdminEmailText(EnquiryDTO enquiry) {
-        return String.format("""
-            New Enquiry Received
-            
-            A new enquiry has been submitted through the website:
-            
-            Enquiry Details:
-            - Enquiry ID: #%d
-            - Name: %s
-            - Phone: %s
-            - Email: %s
-            - Service: %s
-            - Message: %s
-            - Status: %s
-            - Submitted At: %s
-            
-            Action Required: Please contact the customer within 2 hours to provide a quote.
-            """, 
-            enquiry.getEnquiryId(),
-            enquiry.getFullName(),
-            enquiry.getPhone(),
-            enquiry.getEmail() != null ? enquiry.getEmail() : "Not provided",
-            enquiry.getService(),
-            enquiry.getMessage(),
-            enquiry.getStatus(),
-            enquiry.getCreatedAt()
-        );
+    private Map<String, Object> buildEnquiryEmailModel(EnquiryDTO enquiry) {
+        Map<String, Object> model = new HashMap<>();
+        model.put("enquiryId", enquiry.getEnquiryId());
+        model.put("fullName", enquiry.getFullName());
+        model.put("phone", enquiry.getPhone());
+        model.put("email", enquiry.getEmail() != null ? enquiry.getEmail() : "Not provided");
+        model.put("service", enquiry.getService());
+        model.put("message", enquiry.getMessage());
+        model.put("status", enquiry.getStatus());
+        model.put("createdAt", enquiry.getCreatedAt());
+        return model;
     }
 
     private void sendEnquiryUpdateNotification(EnquiryDTO enquiry) {
@@ -340,9 +210,16 @@ public class EnquiryService {
             // Send email to customer about enquiry status change
             if (enquiry.getEmail() != null && !enquiry.getEmail().isEmpty()) {
                 String customerSubject = "Enquiry Status Update - Sairaj Travels";
-                String customerHtml = buildEnquiryUpdateEmailHtml(enquiry);
-                String customerText = buildEnquiryUpdateEmailText(enquiry);
-                emailService.sendHtmlEmail(enquiry.getEmail(), customerSubject, customerHtml, customerText);
+                Map<String, Object> model = buildEnquiryEmailModel(enquiry);
+                model.put("service", enquiry.getService() != null ? enquiry.getService() : "Not specified");
+                model.put("message", enquiry.getMessage() != null ? enquiry.getMessage() : "Not provided");
+                model.put("statusColor", getEnquiryStatusColor(enquiry.getStatus()));
+                model.put("statusBackgroundColor", getEnquiryStatusBackgroundColor(enquiry.getStatus()));
+                model.put("statusTextColor", getEnquiryStatusTextColor(enquiry.getStatus()));
+                model.put("statusMessage", getEnquiryStatusMessage(enquiry.getStatus()));
+                String customerHtml = emailTemplateService.render("enquiry-status.html", model);
+                String customerText = emailTemplateService.render("enquiry-status.txt", model);
+                emailService.sendHtmlEmail(enquiry.getEmail(), customerSubject, customerHtml, customerText, "ENQUIRY_STATUS");
             }
 
         } catch (Exception e) {
@@ -350,102 +227,6 @@ public class EnquiryService {
         }
     }
 
-    private String buildEnquiryUpdateEmailHtml(EnquiryDTO enquiry) {
-        String statusColor = getEnquiryStatusColor(enquiry.getStatus());
-        String statusMessage = getEnquiryStatusMessage(enquiry.getStatus());
-        
-        return String.format("""
-            <html>
-            <body style="font-family: Arial, sans-serif; line-height: 1.6; color: #333;">
-                <div style="max-width: 600px; margin: 0 auto; padding: 20px;">
-                    <h2 style="color: #2563eb;">Enquiry Status Update</h2>
-                    
-                    <p>Dear %s,</p>
-                    
-                    <p>Your enquiry status has been updated. Here are the current details:</p>
-                    
-                    <div style="background: #f8fafc; padding: 20px; border-radius: 8px; margin: 20px 0;">
-                        <h3 style="color: #1e40af; margin-top: 0;">Enquiry Details</h3>
-                        <p><strong>Enquiry ID:</strong> #%d</p>
-                        <p><strong>Service:</strong> %s</p>
-                        <p><strong>Message:</strong> %s</p>
-                        <p><strong>Status:</strong> <span style="color: %s; font-weight: bold;">%s</span></p>
-                        <p><strong>Submitted:</strong> %s</p>
-                    </div>
-                    
-                    <div style="background: %s; padding: 15px; border-radius: 8px; margin: 20px 0;">
-                        <p style="margin: 0; color: %s; font-weight: bold;">%s</p>
-                    </div>
-                    
-                    <p>If you have any questions or need assistance, please contact us:</p>
-                    <ul>
-                        <li>Phone: +91 9850748273</li>
-                        <li>Email: admin@sairajtravels.com</li>
-                    </ul>
-                    
-                    <p>Thank you for choosing Sairaj Travels!</p>
-                    
-                    <hr style="margin: 30px 0; border: none; border-top: 1px solid #e5e7eb;">
-                    <p style="font-size: 12px; color: #6b7280;">
-                        Sairaj Travels - Your Trusted Travel Partner<br>
-                        This is an automated email. Please do not reply.
-                    </p>
-                </div>
-            </body>
-            </html>
-            """, 
-            enquiry.getFullName(),
-            enquiry.getEnquiryId(),
-            enquiry.getService() != null ? enquiry.getService() : "Not specified",
-            enquiry.getMessage() != null ? enquiry.getMessage() : "Not provided",
-            statusColor,
-            enquiry.getStatus(),
-            enquiry.getCreatedAt(),
-            getEnquiryStatusBackgroundColor(enquiry.getStatus()),
-            getEnquiryStatusTextColor(enquiry.getStatus()),
-            statusMessage
-        );
-    }
-
-    private String buildEnquiryUpdateEmailText(EnquiryDTO enquiry) {
-        String statusMessage = getEnquiryStatusMessage(enquiry.getStatus());
-        
-        return String.format("""
-            Enquiry Status Update
-            
-            Dear %s,
-            
-            Your enquiry status has been updated. Here are the current details:
-            
-            Enquiry Details:
-            - Enquiry ID: #%d
-            - Service: %s
-            - Message: %s
-            - Status: %s
-            - Submitted: %s
-            
-            %s
-            
-            If you have any questions or need assistance, please contact us:
-            - Phone: +91 9850748273
-            - Email: admin@sairajtravels.com
-            
-            Thank you for choosing Sairaj Travels!
-            
-            ---
-            Sairaj Travels - Your Trusted Travel Partner
-            This is an automated email. Please do not reply.
-            """, 
-            enquiry.getFullName(),
-            enquiry.getEnquiryId(),
-            enquiry.getService() != null ? enquiry.getService() : "Not specified",
-            enquiry.getMessage() != null ? enquiry.getMessage() : "Not provided",
-            enquiry.getStatus(),
-            enquiry.getCreatedAt(),
-            statusMessage
-        );
-    }
-
     private String getEnquiryStatusColor(String status) {
         return switch (status.toUpperCase()) {
             case "RESOLVED" -> "#059669";
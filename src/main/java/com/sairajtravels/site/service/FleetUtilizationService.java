@@ -0,0 +1,272 @@
+package com.sairajtravels.site.service;
+
+import com.sairajtravels.site.dto.VehicleTypeDTO;
+import com.sairajtravels.site.entity.VehicleBooking;
+import com.sairajtravels.site.repository.VehicleBookingRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Fleet utilization answered from memory.
+ *
+ * Every vehicle has an int array holding the number of live bookings on each
+ * day (index = epoch day - base day), so a report over any date range is a
+ * scan of a few hundred ints per vehicle with no database access.
+ * VehicleBookingService reports its writes here as they happen; the whole
+ * index is also rebuilt from one projection query at startup and on a timer,
+ * which picks up bookings written by other nodes.
+ *
+ * Only days within a window around today (five years back, two ahead) are
+ * indexed, so a mistyped date such as year 20250 cannot grow an array to
+ * millions of days; bookings are clipped to the window and reports must fall
+ * inside it. The window moves forward with each rebuild.
+ */
+@Service
+public class FleetUtilizationService {
+
+    // Longest booking counted; anything longer is taken to be a typo in the return date
+    static final int MAX_BOOKING_DAYS = 366;
+    static final int MAX_RANGE_DAYS = 731;
+    // Indexed days either side of today
+    static final int WINDOW_PAST_DAYS = 5 * 366;
+    static final int WINDOW_FUTURE_DAYS = 2 * 366;
+    // Spare days added when an array grows, so appending future bookings rarely copies
+    private static final int GROWTH_SLACK_DAYS = 31;
+
+    public record IdleGap(LocalDate from, LocalDate to, int days) {}
+
+    public record PeakDay(LocalDate date, int vehiclesBooked, double utilization) {}
+
+    public record VehicleUtilization(Integer vehicleId, String name, int bookedDays, double utilization,
+                                     List<IdleGap> idleGaps) {}
+
+    public record FleetUtilization(LocalDate from, LocalDate to, int days, int vehicles, double utilization,
+                                   List<VehicleUtilization> vehicleUtilization, List<PeakDay> peakDays) {}
+
+    private record Span(int vehicleId, int firstDay, int lastDay) {}
+
+    // Bookings per day for one vehicle
+    private static final class Occupancy {
+        private int baseDay;
+        private int[] counts = new int[0];
+
+        void add(Span span, int delta) {
+            ensureCovers(span.firstDay(), span.lastDay());
+            for (int day = span.firstDay(); day <= span.lastDay(); day++) {
+                counts[day - baseDay] += delta;
+            }
+        }
+
+        boolean isBooked(int day) {
+            int index = day - baseDay;
+            return index >= 0 && index < counts.length && counts[index] > 0;
+        }
+
+        private void ensureCovers(int firstDay, int lastDay) {
+            if (counts.length == 0) {
+                baseDay = firstDay;
+                counts = new int[lastDay - firstDay + 1 + GROWTH_SLACK_DAYS];
+                return;
+            }
+            int endDay = baseDay + counts.length - 1;
+            if (firstDay >= baseDay && lastDay <= endDay) {
+                return;
+            }
+            int newBase = firstDay < baseDay ? firstDay - GROWTH_SLACK_DAYS : baseDay;
+            int newEnd = lastDay > endDay ? lastDay + GROWTH_SLACK_DAYS : endDay;
+            int[] grown = new int[newEnd - newBase + 1];
+            System.arraycopy(counts, 0, grown, baseDay - newBase, counts.length);
+            counts = grown;
+            baseDay = newBase;
+        }
+    }
+
+    private final VehicleBookingRepository vehicleBookingRepository;
+    private final VehicleService vehicleService;
+
+    // Guarded by this
+    private final Map<Integer, Span> spansByBooking = new HashMap<>();
+    private final Map<Integer, Occupancy> occupancyByVehicle = new HashMap<>();
+    private int windowFirstDay;
+    private int windowLastDay;
+    private boolean loaded;
+
+    public FleetUtilizationService(VehicleBookingRepository vehicleBookingRepository, VehicleService vehicleService) {
+        this.vehicleBookingRepository = vehicleBookingRepository;
+        this.vehicleService = vehicleService;
+    }
+
+    @PostConstruct
+    public void init() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            System.err.println("⚠️ Could not load fleet utilization, will retry on first use: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.analytics.fleet-utilization.rebuild-interval-ms:900000}",
+               initialDelayString = "${app.analytics.fleet-utilization.rebuild-interval-ms:900000}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            System.err.println("⚠️ Fleet utilization rebuild failed: " + e.getMessage());
+        }
+    }
+
+    // Reload every booking; held under the lock so no incremental update is lost in between
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        spansByBooking.clear();
+        occupancyByVehicle.clear();
+        int today = (int) LocalDate.now().toEpochDay();
+        windowFirstDay = today - WINDOW_PAST_DAYS;
+        windowLastDay = today + WINDOW_FUTURE_DAYS;
+        for (VehicleBookingRepository.BookingSpan row : vehicleBookingRepository.findBookingSpans()) {
+            Span span = toSpan(row.getVehicleId(), row.getTripDate(), row.getReturnDate(), row.getStatus());
+            if (span != null) {
+                spansByBooking.put(row.getBookingId(), span);
+                occupancyByVehicle.computeIfAbsent(span.vehicleId(), id -> new Occupancy()).add(span, 1);
+            }
+        }
+        loaded = true;
+        System.out.println("📊 Fleet utilization loaded: " + spansByBooking.size() + " bookings, "
+                + occupancyByVehicle.size() + " vehicles in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    // A booking was created or changed (dates, vehicle or status)
+    public synchronized void bookingSaved(VehicleBooking booking) {
+        if (!loaded || booking.getBookingId() == null) {
+            return;
+        }
+        removeSpan(booking.getBookingId());
+        Integer vehicleId = booking.getVehicle() != null ? booking.getVehicle().getVehicleId() : null;
+        Span span = toSpan(vehicleId, booking.getTripDate(), booking.getReturnDate(), booking.getStatus());
+        if (span != null) {
+            spansByBooking.put(booking.getBookingId(), span);
+            occupancyByVehicle.computeIfAbsent(span.vehicleId(), id -> new Occupancy()).add(span, 1);
+        }
+    }
+
+    public synchronized void bookingDeleted(Integer bookingId) {
+        if (loaded && bookingId != null) {
+            removeSpan(bookingId);
+        }
+    }
+
+    /**
+     * Utilization of each vehicle (all of them when vehicleIds is empty) over
+     * from..to inclusive, the idle stretches of at least minGapDays, and the
+     * peakDayCount days with the most vehicles out.
+     */
+    public FleetUtilization getUtilization(LocalDate from, LocalDate to, Collection<Integer> vehicleIds,
+                                           int minGapDays, int peakDayCount) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        long rangeDays = to.toEpochDay() - from.toEpochDay() + 1;
+        if (rangeDays > MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range is limited to " + MAX_RANGE_DAYS + " days");
+        }
+        int firstDay = (int) from.toEpochDay();
+        int days = (int) rangeDays;
+
+        // Names come from the cached dropdown list, fetched before taking the lock
+        List<VehicleTypeDTO> vehicles = vehicleService.getVehicleTypes().stream()
+                .filter(v -> vehicleIds == null || vehicleIds.isEmpty() || vehicleIds.contains(Integer.valueOf(v.getId())))
+                .toList();
+
+        int[] bookedPerDay = new int[days];
+        List<VehicleUtilization> perVehicle = new ArrayList<>(vehicles.size());
+        long bookedVehicleDays = 0;
+
+        synchronized (this) {
+            if (!loaded) {
+                rebuild();
+            }
+            if (from.toEpochDay() < windowFirstDay || to.toEpochDay() > windowLastDay) {
+                throw new IllegalArgumentException("Dates must be between " + LocalDate.ofEpochDay(windowFirstDay)
+                        + " and " + LocalDate.ofEpochDay(windowLastDay));
+            }
+            for (VehicleTypeDTO vehicle : vehicles) {
+                Integer vehicleId = Integer.valueOf(vehicle.getId());
+                Occupancy occupancy = occupancyByVehicle.get(vehicleId);
+                List<IdleGap> gaps = new ArrayList<>();
+                int booked = 0;
+                int gapStart = -1;
+                for (int i = 0; i <= days; i++) {
+                    boolean isBooked = i < days && occupancy != null && occupancy.isBooked(firstDay + i);
+                    if (isBooked) {
+                        booked++;
+                        bookedPerDay[i]++;
+                    }
+                    if (i < days && !isBooked) {
+                        if (gapStart < 0) {
+                            gapStart = i;
+                        }
+                    } else if (gapStart >= 0) {
+                        if (i - gapStart >= minGapDays) {
+                            gaps.add(new IdleGap(from.plusDays(gapStart), from.plusDays(i - 1), i - gapStart));
+                        }
+                        gapStart = -1;
+                    }
+                }
+                bookedVehicleDays += booked;
+                perVehicle.add(new VehicleUtilization(vehicleId, vehicle.getName(), booked, percent(booked, days), gaps));
+            }
+        }
+
+        int fleetSize = vehicles.size();
+        List<PeakDay> peakDays = IntStream.range(0, days)
+                .filter(i -> bookedPerDay[i] > 0)
+                .boxed()
+                .sorted(Comparator.comparingInt((Integer i) -> bookedPerDay[i]).reversed().thenComparingInt(i -> i))
+                .limit(Math.max(0, peakDayCount))
+                .map(i -> new PeakDay(from.plusDays(i), bookedPerDay[i], percent(bookedPerDay[i], fleetSize)))
+                .toList();
+
+        return new FleetUtilization(from, to, days, fleetSize, percent(bookedVehicleDays, (long) days * fleetSize),
+                perVehicle, peakDays);
+    }
+
+    private void removeSpan(Integer bookingId) {
+        Span previous = spansByBooking.remove(bookingId);
+        if (previous != null) {
+            occupancyByVehicle.get(previous.vehicleId()).add(previous, -1);
+        }
+    }
+
+    // Days a booking keeps its vehicle out, clipped to the window, or null if it does not count
+    // (no vehicle/date, cancelled, or entirely outside the window)
+    private Span toSpan(Integer vehicleId, LocalDate tripDate, LocalDate returnDate, String status) {
+        if (vehicleId == null || tripDate == null || "CANCELLED".equalsIgnoreCase(status)) {
+            return null;
+        }
+        long firstDay = tripDate.toEpochDay();
+        long lastDay = firstDay;
+        if (returnDate != null && returnDate.isAfter(tripDate)) {
+            lastDay = Math.min(returnDate.toEpochDay(), firstDay + MAX_BOOKING_DAYS - 1L);
+        }
+        firstDay = Math.max(firstDay, windowFirstDay);
+        lastDay = Math.min(lastDay, windowLastDay);
+        if (firstDay > lastDay) {
+            return null;
+        }
+        return new Span(vehicleId, (int) firstDay, (int) lastDay);
+    }
+
+    private static double percent(long part, long whole) {
+        return whole == 0 ? 0 : Math.round(part * 1000.0 / whole) / 10.0;
+    }
+}
@@ -3,23 +3,52 @@ package com.sairajtravels.site.service;
 import com.sairajtravels.site.dto.GalleryDTO;
 import com.sairajtravels.site.entity.Gallery;
 import com.sairajtravels.site.repository.GalleryRepository;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Service
 public class GalleryService {
     
+    public static final int FEED_MAX_LIMIT = 60;
+    private static final Set<String> FEED_MEDIA_TYPES = Set.of("all", "image", "video");
+    
     private final GalleryRepository repository;
+    private final ContentVersionService contentVersionService;
+    private final ImageDerivativeService imageDerivativeService;
     
-    public GalleryService(GalleryRepository repository) {
+    public GalleryService(GalleryRepository repository, ContentVersionService contentVersionService,
+                          ImageDerivativeService imageDerivativeService) {
         this.repository = repository;
+        this.contentVersionService = contentVersionService;
+        this.imageDerivativeService = imageDerivativeService;
     }
     
-    // Get all active gallery items for public display
+    // Get all active gallery items for public display - with caching
+    @Cacheable(value = "gallery", key = "'active'")
     public List<GalleryDTO> getAllActiveGallery() {
+        return loadActiveGallery();
+    }
+    
+    // Reload the active gallery into the cache without evicting first (refresh-ahead)
+    @CachePut(value = "gallery", key = "'active'")
+    public List<GalleryDTO> refreshActiveGallery() {
+        return loadActiveGallery();
+    }
+    
+    private List<GalleryDTO> loadActiveGallery() {
         List<Gallery> gallery = repository.findAllActiveOrdered();
         return gallery.stream()
                 .map(this::convertToDTO)
@@ -42,7 +71,8 @@ public class GalleryService {
                 .collect(Collectors.toList());
     }
     
-    // Get featured gallery items
+    // Get featured gallery items - with caching
+    @Cacheable(value = "gallery", key = "'featured'")
     public List<GalleryDTO> getFeaturedGallery() {
         List<Gallery> gallery = repository.findByIsFeaturedTrueAndIsActiveTrueOrderBySortOrderAsc();
         return gallery.stream()
@@ -66,6 +96,63 @@ public class GalleryService {
                 .collect(Collectors.toList());
     }
     
+    // Get one page of the public gallery feed; first pages are cached until the next gallery write
+    // Keyed on the clamped page size, so limit=60 and limit=500 share one entry
+    @Cacheable(value = "gallery", key = "'feed:' + #category + ':' + #mediaType + ':' + T(com.sairajtravels.site.service.GalleryService).feedPageSize(#limit)",
+               condition = "#cursor == null")
+    public GalleryFeedDTO getGalleryFeed(String cursor, int limit, String category, String mediaType) {
+        if (!FEED_MEDIA_TYPES.contains(mediaType)) {
+            throw new IllegalArgumentException("Unknown media type: " + mediaType);
+        }
+        int size = feedPageSize(limit);
+        // One extra row tells us whether there is a next page without a count query
+        PageRequest page = PageRequest.of(0, size + 1);
+        
+        List<Gallery> rows;
+        if (cursor == null) {
+            rows = category == null
+                    ? repository.findFeed(mediaType, page)
+                    : repository.findFeedByCategory(category, mediaType, page);
+        } else {
+            FeedCursor after = FeedCursor.decode(cursor);
+            rows = category == null
+                    ? repository.findFeedAfter(mediaType, after.sortOrder(), after.createdAt(), after.id(), page)
+                    : repository.findFeedByCategoryAfter(category, mediaType, after.sortOrder(), after.createdAt(), after.id(), page);
+        }
+        
+        boolean hasMore = rows.size() > size;
+        List<Gallery> items = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = hasMore ? FeedCursor.of(items.get(items.size() - 1)).encode() : null;
+        return new GalleryFeedDTO(items.stream().map(this::convertToDTO).collect(Collectors.toList()), nextCursor, hasMore);
+    }
+    
+    // Page size actually served for a requested limit: at least 1, at most FEED_MAX_LIMIT
+    public static int feedPageSize(int limit) {
+        return Math.min(Math.max(limit, 1), FEED_MAX_LIMIT);
+    }
+    
+    // Opaque feed position: the (sortOrder, createdAt, id) of the last item served
+    private record FeedCursor(Integer sortOrder, LocalDateTime createdAt, Long id) {
+        
+        static FeedCursor of(Gallery gallery) {
+            return new FeedCursor(gallery.getSortOrder(), gallery.getCreatedAt(), gallery.getId());
+        }
+        
+        String encode() {
+            String raw = sortOrder + "|" + createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+        
+        static FeedCursor decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                return new FeedCursor(Integer.valueOf(parts[0]), LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid gallery cursor", e);
+            }
+        }
+    }
+    
     // Get gallery item by ID
     public Optional<GalleryDTO> getGalleryById(Long id) {
         return repository.findById(id)
@@ -75,7 +162,10 @@ public class GalleryService {
     // Create new gallery item
     public GalleryDTO createGallery(GalleryDTO dto) {
         Gallery gallery = convertToEntity(dto);
+        applyImageMetadata(gallery);
         gallery = repository.save(gallery);
+        contentVersionService.bump(ContentVersionService.Catalog.GALLERY);
+        processImage(gallery.getImagePath());
         return convertToDTO(gallery);
     }
     
@@ -90,8 +180,12 @@ public class GalleryService {
                     existing.setCategory(dto.getCategory());
                     existing.setIsFeatured(dto.getIsFeatured());
                     existing.setIsActive(dto.getIsActive());
-                    existing.setSortOrder(dto.getSortOrder());
+                    // The feed pages on sort_order, so it is never stored as NULL
+                    existing.setSortOrder(dto.getSortOrder() != null ? dto.getSortOrder() : 0);
+                    applyImageMetadata(existing);
                     existing = repository.save(existing);
+                    contentVersionService.bump(ContentVersionService.Catalog.GALLERY);
+                    processImage(existing.getImagePath());
                     return convertToDTO(existing);
                 });
     }
@@ -100,6 +194,7 @@ public class GalleryService {
     public boolean deleteGallery(Long id) {
         if (repository.existsById(id)) {
             repository.deleteById(id);
+            contentVersionService.bump(ContentVersionService.Catalog.GALLERY);
             return true;
         }
         return false;
@@ -111,6 +206,7 @@ public class GalleryService {
                 .map(gallery -> {
                     gallery.setIsActive(!gallery.getIsActive());
                     gallery = repository.save(gallery);
+                    contentVersionService.bump(ContentVersionService.Catalog.GALLERY);
                     return convertToDTO(gallery);
                 });
     }
@@ -121,22 +217,44 @@ public class GalleryService {
                 .map(gallery -> {
                     gallery.setIsFeatured(!gallery.getIsFeatured());
                     gallery = repository.save(gallery);
+                    contentVersionService.bump(ContentVersionService.Catalog.GALLERY);
                     return convertToDTO(gallery);
                 });
     }
     
-    // Get gallery statistics
+    // Get gallery statistics - one GROUP BY, cached until the next gallery write
+    @Cacheable(value = "gallery", key = "'stats'")
     public GalleryStatsDTO getGalleryStats() {
-        long totalItems = repository.countByIsActiveTrue();
-        long fleetCount = repository.countByCategoryAndIsActiveTrue("Fleet");
-        long luxuryCount = repository.countByCategoryAndIsActiveTrue("Luxury");
-        long destinationsCount = repository.countByCategoryAndIsActiveTrue("Destinations");
-        long happyCustomersCount = repository.countByCategoryAndIsActiveTrue("Happy Customers");
-        long interiorsCount = repository.countByCategoryAndIsActiveTrue("Interiors");
-        long driversCount = repository.countByCategoryAndIsActiveTrue("Drivers");
-        
-        return new GalleryStatsDTO(totalItems, fleetCount, luxuryCount, destinationsCount, 
-                                 happyCustomersCount, interiorsCount, driversCount);
+        Map<String, Long> categoryCounts = new TreeMap<>();
+        long totalItems = 0;
+        for (GalleryRepository.CategoryCount row : repository.countActiveByCategory()) {
+            totalItems += row.getTotal();
+            if (row.getCategory() != null) {
+                categoryCounts.merge(row.getCategory(), row.getTotal(), Long::sum);
+            }
+        }
+        return new GalleryStatsDTO(totalItems, categoryCounts);
+    }
+    
+    // Copy known metadata for the item's image (or clear it for an image not processed yet)
+    private void applyImageMetadata(Gallery gallery) {
+        Optional<ImageDerivativeService.ImageMetadata> metadata = imageDerivativeService.metadataFor(gallery.getImagePath());
+        gallery.setImageWidth(metadata.map(ImageDerivativeService.ImageMetadata::width).orElse(null));
+        gallery.setImageHeight(metadata.map(ImageDerivativeService.ImageMetadata::height).orElse(null));
+        gallery.setDominantColor(metadata.map(ImageDerivativeService.ImageMetadata::dominantColor).orElse(null));
+        gallery.setBlurHash(metadata.map(ImageDerivativeService.ImageMetadata::blurHash).orElse(null));
+    }
+    
+    // Generate resized copies and metadata; once they exist the cached gallery must be rebuilt to show them
+    private void processImage(String imagePath) {
+        imageDerivativeService.process(imagePath).thenAccept(created -> {
+            int updated = imageDerivativeService.metadataFor(imagePath)
+                    .map(m -> repository.updateImageMetadata(imagePath, m.width(), m.height(), m.dominantColor(), m.blurHash()))
+                    .orElse(0);
+            if (created || updated > 0) {
+                contentVersionService.bump(ContentVersionService.Catalog.GALLERY);
+            }
+        });
     }
     
     // Convert Entity to DTO
@@ -153,6 +271,11 @@ public class GalleryService {
         dto.setSortOrder(gallery.getSortOrder());
         dto.setCreatedAt(gallery.getCreatedAt());
         dto.setUpdatedAt(gallery.getUpdatedAt());
+        dto.setImageVariants(imageDerivativeService.variantsFor(gallery.getImagePath()));
+        dto.setImageWidth(gallery.getImageWidth());
+        dto.setImageHeight(gallery.getImageHeight());
+        dto.setDominantColor(gallery.getDominantColor());
+        dto.setBlurHash(gallery.getBlurHash());
         return dto;
     }
     
@@ -167,39 +290,52 @@ public class GalleryService {
         gallery.setCategory(dto.getCategory());
         gallery.setIsFeatured(dto.getIsFeatured());
         gallery.setIsActive(dto.getIsActive());
-        gallery.setSortOrder(dto.getSortOrder());
+        gallery.setSortOrder(dto.getSortOrder() != null ? dto.getSortOrder() : 0);
         return gallery;
     }
     
+    // Inner class for one page of the gallery feed
+    public static class GalleryFeedDTO {
+        private final List<GalleryDTO> items;
+        private final String nextCursor;
+        private final boolean hasMore;
+        
+        public GalleryFeedDTO(List<GalleryDTO> items, String nextCursor, boolean hasMore) {
+            this.items = items;
+            this.nextCursor = nextCursor;
+            this.hasMore = hasMore;
+        }
+        
+        // Getters
+        public List<GalleryDTO> getItems() { return items; }
+        public String getNextCursor() { return nextCursor; }
+        public boolean isHasMore() { return hasMore; }
+    }
+    
     // Inner class for gallery statistics
     public static class GalleryStatsDTO {
-        private long totalItems;
-        private long fleetCount;
-        private long luxuryCount;
-        private long destinationsCount;
-        private long happyCustomersCount;
-        private long interiorsCount;
-        private long driversCount;
+        private final long totalItems;
+        private final Map<String, Long> categoryCounts;
         
-        public GalleryStatsDTO(long totalItems, long fleetCount, long luxuryCount, 
-                             long destinationsCount, long happyCustomersCount, 
-                             long interiorsCount, long driversCount) {
+        public GalleryStatsDTO(long totalItems, Map<String, Long> categoryCounts) {
             this.totalItems = totalItems;
-            this.fleetCount = fleetCount;
-            this.luxuryCount = luxuryCount;
-            this.destinationsCount = destinationsCount;
-            this.happyCustomersCount = happyCustomersCount;
-            this.interiorsCount = interiorsCount;
-            this.driversCount = driversCount;
+            this.categoryCounts = Collections.unmodifiableMap(new TreeMap<>(categoryCounts));
         }
         
         // Getters
         public long getTotalItems() { return totalItems; }
-        public long getFleetCount() { return fleetCount; }
-        public long getLuxuryCount() { return luxuryCount; }
-        public long getDestinationsCount() { return destinationsCount; }
-        public long getHappyCustomersCount() { return happyCustomersCount; }
-        public long getInteriorsCount() { return interiorsCount; }
-        public long getDriversCount() { return driversCount; }
+        public Map<String, Long> getCategoryCounts() { return categoryCounts; }
+        
+        // Per-category fields kept for the existing admin dashboard
+        public long getFleetCount() { return count("Fleet"); }
+        public long getLuxuryCount() { return count("Luxury"); }
+        public long getDestinationsCount() { return count("Destinations"); }
+        public long getHappyCustomersCount() { return count("Happy Customers"); }
+        public long getInteriorsCount() { return count("Interiors"); }
+        public long getDriversCount() { return count("Drivers"); }
+        
+        private long count(String category) {
+            return categoryCounts.getOrDefault(category, 0L);
+        }
     }
 }
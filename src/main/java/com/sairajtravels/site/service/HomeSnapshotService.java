@@ -0,0 +1,117 @@
+package com.sairajtravels.site.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.sairajtravels.site.dto.HomeDTO;
+import com.sairajtravels.site.event.CatalogChangedEvent;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
+import java.util.StringJoiner;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serves GET /api/home: featured packages, active testimonials, featured
+ * gallery, contact info and the vehicle list in one response. The serialized
+ * snapshot is rebuilt in the background whenever one of those catalogs
+ * changes, and its ETag is derived from all five catalog versions.
+ */
+@Service
+public class HomeSnapshotService {
+
+    private static final String CACHE_KEY = "home";
+
+    private final PackageService packageService;
+    private final TestimonialService testimonialService;
+    private final GalleryService galleryService;
+    private final ContactInfoService contactInfoService;
+    private final VehicleService vehicleService;
+    private final ContentVersionService contentVersionService;
+    private final JsonResponseCache jsonResponseCache;
+    private final Executor catalogTaskExecutor;
+
+    // Set while a rebuild is queued but not yet started, so a burst of changes queues one rebuild
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    public HomeSnapshotService(PackageService packageService,
+                               TestimonialService testimonialService,
+                               GalleryService galleryService,
+                               ContactInfoService contactInfoService,
+                               VehicleService vehicleService,
+                               ContentVersionService contentVersionService,
+                               JsonResponseCache jsonResponseCache,
+                               @Qualifier("catalogTaskExecutor") Executor catalogTaskExecutor) {
+        this.packageService = packageService;
+        this.testimonialService = testimonialService;
+        this.galleryService = galleryService;
+        this.contactInfoService = contactInfoService;
+        this.vehicleService = vehicleService;
+        this.contentVersionService = contentVersionService;
+        this.jsonResponseCache = jsonResponseCache;
+        this.catalogTaskExecutor = catalogTaskExecutor;
+    }
+
+    public ResponseEntity<byte[]> respond(WebRequest request) throws JsonProcessingException {
+        return jsonResponseCache.respond(request, CACHE_KEY, currentEtag(), lastModified().toEpochMilli(), this::buildHome);
+    }
+
+    public void rebuild() {
+        try {
+            jsonResponseCache.prime(CACHE_KEY, currentEtag(), this::buildHome);
+        } catch (Exception e) {
+            // The next request builds it instead
+            System.err.println("⚠️ Home snapshot rebuild failed: " + e.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (!rebuildQueued.compareAndSet(false, true)) {
+            // The queued rebuild has not read the versions yet, so it covers this change too
+            return;
+        }
+        try {
+            catalogTaskExecutor.execute(() -> {
+                rebuildQueued.set(false);
+                rebuild();
+            });
+        } catch (RejectedExecutionException e) {
+            rebuildQueued.set(false);
+            // The next request builds it instead
+            System.err.println("⚠️ Catalog queue full, skipped home snapshot rebuild");
+        }
+    }
+
+    private String currentEtag() {
+        StringJoiner etag = new StringJoiner(".", "\"home-", "\"");
+        for (ContentVersionService.Catalog catalog : ContentVersionService.Catalog.values()) {
+            etag.add(contentVersionService.current(catalog).tag());
+        }
+        return etag.toString();
+    }
+
+    private Instant lastModified() {
+        Instant lastModified = Instant.EPOCH;
+        for (ContentVersionService.Catalog catalog : ContentVersionService.Catalog.values()) {
+            Instant catalogModified = contentVersionService.current(catalog).lastModified();
+            if (catalogModified.isAfter(lastModified)) {
+                lastModified = catalogModified;
+            }
+        }
+        return lastModified;
+    }
+
+    private HomeDTO buildHome() {
+        return new HomeDTO(
+                packageService.getFeaturedPackages(),
+                testimonialService.getAllActiveTestimonials(),
+                galleryService.getFeaturedGallery(),
+                contactInfoService.getContactInfo().orElseGet(contactInfoService::getDefaultContactInfo),
+                vehicleService.getAllVehicles());
+    }
+}
@@ -0,0 +1,352 @@
+package com.sairajtravels.site.service;
+
+import com.sairajtravels.site.entity.ImageAsset;
+import com.sairajtravels.site.event.CatalogChangedEvent;
+import com.sairajtravels.site.repository.ImageAssetRepository;
+import com.sairajtravels.site.util.ImagePlaceholders;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Generates fixed-width copies of uploaded images so pages can serve a small
+ * file to phones instead of the multi-megabyte original, and extracts the
+ * metadata the frontend needs to lay out a grid before any image loads:
+ * dimensions, dominant colour and a BlurHash placeholder.
+ *
+ * Work runs on the bounded imageTaskExecutor. Derivatives are written to
+ * {upload dir}/derivatives/{content hash}-{width}.jpg and served from
+ * /images/derivatives/ with a one-year immutable Cache-Control; because the
+ * name carries the content hash, replacing a file yields new URLs.
+ *
+ * Dimensions come from the image header. The pixels are decoded once, with
+ * ImageIO subsampling applied while the file streams in, so the bitmap held
+ * in heap is about twice the largest derivative wide (and never more than
+ * MAX_DECODED_PIXELS) no matter how big the upload is.
+ */
+@Service
+public class ImageDerivativeService {
+
+    public static final String IMAGES_URL_PREFIX = "/images/";
+    public static final String DERIVATIVES_DIR = "derivatives";
+
+    private static final String FORMAT = "jpg";
+    private static final Set<String> DECODABLE = Set.of("jpg", "jpeg", "png", "bmp", "gif");
+    private static final long MAX_DECODED_PIXELS = 4_000_000;
+    // Placeholders are computed from a copy this size on its long side
+    private static final int PLACEHOLDER_SIZE = 32;
+
+    public record ImageMetadata(int width, int height, String dominantColor, String blurHash) {
+    }
+
+    private record Entry(ImageAsset asset, Map<Integer, String> variants) {
+    }
+
+    private final ImageAssetRepository repository;
+    private final Executor imageTaskExecutor;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Jobs queued or running by path, so a burst of saves processes a file once and every caller hears back
+    private final Map<String, CompletableFuture<Boolean>> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${app.upload.dir:src/main/resources/static/images}")
+    private String uploadDir;
+
+    @Value("${app.images.derivative-widths:320,640,1280}")
+    private List<Integer> widths;
+
+    @Value("${app.images.jpeg-quality:0.8}")
+    private float jpegQuality;
+
+    public ImageDerivativeService(ImageAssetRepository repository,
+                                  @Qualifier("imageTaskExecutor") Executor imageTaskExecutor) {
+        this.repository = repository;
+        this.imageTaskExecutor = imageTaskExecutor;
+    }
+
+    @PostConstruct
+    public void loadAssets() {
+        try {
+            repository.findAll().forEach(asset -> entries.put(asset.getSourcePath(), toEntry(asset)));
+        } catch (Exception e) {
+            System.err.println("⚠️ Could not load image derivative records: " + e.getMessage());
+        }
+    }
+
+    // Another node may have processed images; pick up its records before the caches reload
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.remote()) {
+            loadAssets();
+        }
+    }
+
+    /**
+     * Derivative URLs by width for an image path as stored on an entity
+     * (e.g. /images/gallery/bus.jpg); empty until the image has been processed.
+     */
+    public Map<Integer, String> variantsFor(String imagePath) {
+        Entry entry = imagePath != null ? entries.get(imagePath) : null;
+        return entry != null ? entry.variants() : Map.of();
+    }
+
+    // Dimensions, dominant colour and BlurHash; empty until the image has been processed
+    public Optional<ImageMetadata> metadataFor(String imagePath) {
+        Entry entry = imagePath != null ? entries.get(imagePath) : null;
+        if (entry == null || entry.asset().getBlurHash() == null) {
+            return Optional.empty();
+        }
+        ImageAsset asset = entry.asset();
+        return Optional.of(new ImageMetadata(asset.getWidth(), asset.getHeight(), asset.getDominantColor(), asset.getBlurHash()));
+    }
+
+    /**
+     * Queue derivative generation and metadata extraction for an image path as
+     * stored on an entity. Completes with true if the image was (re)processed,
+     * false if it was skipped, unchanged or could not be processed.
+     */
+    public CompletableFuture<Boolean> process(String imagePath) {
+        Path source = resolve(imagePath);
+        if (source == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        CompletableFuture<Boolean> job = new CompletableFuture<>();
+        CompletableFuture<Boolean> running = inFlight.putIfAbsent(imagePath, job);
+        if (running != null) {
+            return running;
+        }
+        try {
+            imageTaskExecutor.execute(() -> {
+                try {
+                    job.complete(generate(imagePath, source));
+                } catch (Throwable t) {
+                    job.completeExceptionally(t);
+                } finally {
+                    inFlight.remove(imagePath, job);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(imagePath, job);
+            System.err.println("⚠️ Image queue full, skipped derivatives for " + imagePath);
+            job.complete(false);
+        }
+        return job;
+    }
+
+    // Same, for a file just written under the upload directory
+    public CompletableFuture<Boolean> process(Path file) {
+        Path relative = root().relativize(file.toAbsolutePath().normalize());
+        return process(IMAGES_URL_PREFIX + relative.toString().replace('\\', '/'));
+    }
+
+    private boolean generate(String imagePath, Path source) {
+        try {
+            if (!Files.isRegularFile(source)) {
+                return false;
+            }
+            String hash = contentHash(source);
+            Entry existing = entries.get(imagePath);
+            if (existing != null && existing.asset().getContentHash().equals(hash)
+                    && existing.asset().getBlurHash() != null) {
+                return false;
+            }
+
+            ImageAsset asset = writeDerivatives(imagePath, source, hash);
+            if (asset == null) {
+                return false;
+            }
+            repository.save(asset);
+            entries.put(imagePath, toEntry(asset));
+            System.out.println("🖼️ Processed " + imagePath + " (" + asset.getWidth() + "x" + asset.getHeight()
+                    + ", derivatives " + asset.getVariantWidths() + ")");
+            return true;
+        } catch (Exception e) {
+            System.err.println("❌ Failed to generate derivatives for " + imagePath + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private ImageAsset writeDerivatives(String imagePath, Path source, String hash) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : Collections.emptyIterator();
+            if (!readers.hasNext()) {
+                System.err.println("⚠️ No decoder for " + imagePath);
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+
+                List<Integer> targets = widths.stream().filter(w -> w > 0 && w < width).sorted().distinct().toList();
+                int largest = targets.isEmpty() ? PLACEHOLDER_SIZE : targets.get(targets.size() - 1);
+                // Subsample while decoding: keep ~2x the largest output width, and cap the area for huge or tall images
+                int step = Math.max(1, width / (largest * 2));
+                step = Math.max(step, (int) Math.ceil(Math.sqrt((double) width * height / MAX_DECODED_PIXELS)));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                BufferedImage decoded = reader.read(0, param);
+
+                // Largest first, each derived from the previous so every resize is a small step
+                BufferedImage current = decoded;
+                for (int i = targets.size() - 1; i >= 0; i--) {
+                    int targetWidth = targets.get(i);
+                    int targetHeight = Math.max(1, (int) Math.round((double) height * targetWidth / width));
+                    current = scale(current, targetWidth, targetHeight);
+                    writeJpeg(current, derivativesDir().resolve(fileName(hash, targetWidth)));
+                }
+
+                boolean landscape = width >= height;
+                int placeholderWidth = landscape ? PLACEHOLDER_SIZE : Math.max(1, Math.round((float) PLACEHOLDER_SIZE * width / height));
+                int placeholderHeight = landscape ? Math.max(1, Math.round((float) PLACEHOLDER_SIZE * height / width)) : PLACEHOLDER_SIZE;
+                BufferedImage placeholder = scale(current, placeholderWidth, placeholderHeight);
+
+                String variantWidths = targets.stream().map(String::valueOf).collect(Collectors.joining(","));
+                ImageAsset asset = new ImageAsset(imagePath, hash, width, height, variantWidths, FORMAT);
+                asset.setDominantColor(ImagePlaceholders.dominantColor(placeholder));
+                asset.setBlurHash(ImagePlaceholders.blurHash(placeholder, landscape ? 4 : 3, landscape ? 3 : 4));
+                return asset;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Halve with bilinear filtering until close, then one final bilinear step; flattens alpha onto white
+    private static BufferedImage scale(BufferedImage source, int targetWidth, int targetHeight) {
+        BufferedImage current = source;
+        int w = source.getWidth();
+        int h = source.getHeight();
+        do {
+            w = Math.max(targetWidth, w / 2);
+            h = Math.max(targetHeight, h / 2);
+            BufferedImage next = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, w, h, Color.WHITE, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (w != targetWidth || h != targetHeight);
+        return current;
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        // Not createTempFile: its owner-only permissions would carry over to the served file
+        Path temp = target.resolveSibling("." + target.getFileName() + "." + Thread.currentThread().getId() + ".tmp");
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try {
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(jpegQuality);
+                param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+                writer.setOutput(out);
+                writer.write(null, new IIOImage(image, null, null), param);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            writer.dispose();
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String contentHash(Path file) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            // 64 bits is plenty to tell versions of one site's images apart
+            return HexFormat.of().formatHex(digest.digest(), 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Entry toEntry(ImageAsset asset) {
+        Map<Integer, String> variants = new LinkedHashMap<>();
+        if (asset.getVariantWidths() != null && !asset.getVariantWidths().isBlank()) {
+            for (String width : asset.getVariantWidths().split(",")) {
+                int w = Integer.parseInt(width.trim());
+                variants.put(w, IMAGES_URL_PREFIX + DERIVATIVES_DIR + "/" + fileName(asset.getContentHash(), w));
+            }
+        }
+        return new Entry(asset, Collections.unmodifiableMap(variants));
+    }
+
+    private static String fileName(String hash, int width) {
+        return hash + "-" + width + "." + FORMAT;
+    }
+
+    // Map a stored /images/... path to the file under the upload directory; null if it is not one of ours
+    private Path resolve(String imagePath) {
+        if (imagePath == null || !imagePath.startsWith(IMAGES_URL_PREFIX)) {
+            return null;
+        }
+        String extension = imagePath.substring(imagePath.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        if (!DECODABLE.contains(extension)) {
+            return null;
+        }
+        Path root = root();
+        Path file = root.resolve(imagePath.substring(IMAGES_URL_PREFIX.length())).normalize();
+        if (!file.startsWith(root) || file.startsWith(derivativesDir())) {
+            return null;
+        }
+        return file;
+    }
+
+    private Path root() {
+        return Paths.get(uploadDir).toAbsolutePath().normalize();
+    }
+
+    private Path derivativesDir() {
+        return root().resolve(DERIVATIVES_DIR);
+    }
+}
@@ -0,0 +1,192 @@
+package com.sairajtravels.site.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sairajtravels.site.event.CatalogChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized JSON for the public catalog endpoints, built once per content
+ * version and written straight to the response. Entries are tagged with the
+ * ETag of the {@link ContentVersionService} version they were built under, so a
+ * bump makes them unreachable even before the {@link CatalogChangedEvent}
+ * removes them.
+ */
+@Component
+public class JsonResponseCache {
+
+    private record Payload(String etag, byte[] json, byte[] gzip) {
+    }
+
+    private final ContentVersionService contentVersionService;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Payload> payloads = new ConcurrentHashMap<>();
+
+    // Small bodies are not worth the gzip framing
+    @Value("${app.response-cache.gzip-min-bytes:1024}")
+    private int gzipMinBytes;
+
+    public JsonResponseCache(ContentVersionService contentVersionService, ObjectMapper objectMapper) {
+        this.contentVersionService = contentVersionService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Answer a GET for a catalog: 304 if the client's validators match the
+     * current version, otherwise the cached bytes (gzip-encoded when the client
+     * accepts it), calling {@code loader} only when no payload exists yet for
+     * this version.
+     */
+    public ResponseEntity<byte[]> respond(WebRequest request, ContentVersionService.Catalog catalog,
+                                          Supplier<?> loader) throws JsonProcessingException {
+        ContentVersionService.ContentVersion version = contentVersionService.current(catalog);
+        return respond(request, catalog.getCacheName(), version.etag(), version.lastModified().toEpochMilli(), loader);
+    }
+
+    /**
+     * Same as above for a response derived from several catalogs; {@code etag}
+     * must change whenever any of them does.
+     */
+    public ResponseEntity<byte[]> respond(WebRequest request, String key, String etag, long lastModified,
+                                          Supplier<?> loader) throws JsonProcessingException {
+        // The gzip body is a different representation, so it gets its own strong validator
+        String gzipEtag = gzipEtag(etag);
+        String matched = matchingEtag(request, etag, gzipEtag);
+        // If-Modified-Since only counts when there is no If-None-Match (RFC 7232 section 6)
+        if (matched != null || (request.getHeader(HttpHeaders.IF_NONE_MATCH) == null && notModifiedSince(request, lastModified))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(matched != null ? matched : etag)
+                    .lastModified(lastModified)
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        Payload payload = payloads.get(key);
+        if (payload == null || !payload.etag().equals(etag)) {
+            payload = build(etag, loader.get());
+            payloads.put(key, payload);
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .lastModified(lastModified)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (payload.gzip() != null && acceptsGzip(request)) {
+            return response.eTag(gzipEtag).header(HttpHeaders.CONTENT_ENCODING, "gzip").body(payload.gzip());
+        }
+        return response.eTag(etag).body(payload.json());
+    }
+
+    /**
+     * Build the payload for the catalog's current version if it is not already
+     * held, so the first request after startup is served from memory.
+     */
+    public void prime(ContentVersionService.Catalog catalog, Supplier<?> loader) throws JsonProcessingException {
+        prime(catalog.getCacheName(), contentVersionService.current(catalog).etag(), loader);
+    }
+
+    public void prime(String key, String etag, Supplier<?> loader) throws JsonProcessingException {
+        Payload payload = payloads.get(key);
+        if (payload == null || !payload.etag().equals(etag)) {
+            payloads.put(key, build(etag, loader.get()));
+        }
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        payloads.remove(event.catalog().getCacheName());
+    }
+
+    private Payload build(String etag, Object body) throws JsonProcessingException {
+        byte[] json = objectMapper.writeValueAsBytes(body);
+        byte[] gzip = json.length >= gzipMinBytes ? gzip(json) : null;
+        return new Payload(etag, json, gzip);
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    // "packages-5" -> "packages-5-gzip"
+    private static String gzipEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+
+    // The If-None-Match entry matching either coding's ETag (weak comparison, as RFC 7232 asks for GETs), or null
+    private static String matchingEtag(WebRequest request, String etag, String gzipEtag) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return null;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*")) {
+                return etag;
+            }
+            if (tag.equals(etag) || tag.equals(gzipEtag)) {
+                return tag;
+            }
+        }
+        return null;
+    }
+
+    // Compared by hand rather than with WebRequest.checkNotModified, which would write its own 304 to the
+    // servlet response underneath the ResponseEntity returned here; HTTP dates have one-second precision
+    private static boolean notModifiedSince(WebRequest request, long lastModified) {
+        String ifModifiedSince = request.getHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        if (ifModifiedSince == null) {
+            return false;
+        }
+        try {
+            long since = ZonedDateTime.parse(ifModifiedSince.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toEpochSecond();
+            return lastModified / 1000 <= since;
+        } catch (DateTimeParseException e) {
+            // An unparseable date is ignored, as RFC 7232 asks
+            return false;
+        }
+    }
+
+    private static boolean acceptsGzip(WebRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
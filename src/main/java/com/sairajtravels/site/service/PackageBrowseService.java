@@ -0,0 +1,305 @@
+package com.sairajtravels.site.service;
+
+import com.sairajtravels.site.dto.PackageDTO;
+import com.sairajtravels.site.event.CatalogChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Faceted browsing for /api/packages/browse. Active packages are held in an
+ * immutable column-per-attribute snapshot (primitive arrays, plus a bitset per
+ * category, duration bucket and featured flag), so any combination of filters
+ * and every facet count is a handful of bitset ANDs with no database query.
+ *
+ * The snapshot is rebuilt and swapped in whenever the packages catalog
+ * changes, locally or on another node.
+ */
+@Service
+public class PackageBrowseService {
+
+    // Facet buckets, in display order
+    public static final List<String> DURATIONS = List.of("hours", "1-day", "2-3-days", "4-plus-days");
+    public static final List<String> PRICE_RANGES = List.of("under-5000", "5000-10000", "10000-25000", "25000-plus");
+    public static final List<String> RATINGS = List.of("4.5-plus", "4-plus", "3-plus");
+
+    private static final long[] PRICE_RANGE_BOUNDS_PAISE = {500_000, 1_000_000, 2_500_000};
+    private static final int[] RATING_MINIMUMS_HUNDREDTHS = {450, 400, 300};
+    private static final Pattern DAYS = Pattern.compile("(\\d+)\\s*day", Pattern.CASE_INSENSITIVE);
+
+    public record BrowseQuery(Set<String> categories,
+                              BigDecimal minPrice,
+                              BigDecimal maxPrice,
+                              Set<String> durations,
+                              Integer passengers,
+                              BigDecimal minRating,
+                              Boolean featured,
+                              int page,
+                              int size) {
+    }
+
+    public record BrowseResult(List<PackageDTO> packages,
+                               int total,
+                               int page,
+                               int size,
+                               Map<String, Map<String, Integer>> facets) {
+    }
+
+    private final PackageService packageService;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    public PackageBrowseService(PackageService packageService) {
+        this.packageService = packageService;
+    }
+
+    public BrowseResult browse(BrowseQuery query) {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            current = new Snapshot(packageService.getAllPackages());
+            snapshot.compareAndSet(null, current);
+        }
+        return current.browse(query);
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.catalog() == ContentVersionService.Catalog.PACKAGES) {
+            snapshot.set(new Snapshot(packageService.getAllPackages()));
+        }
+    }
+
+    static String durationBucket(String duration) {
+        if (duration == null) {
+            return null;
+        }
+        Matcher days = DAYS.matcher(duration);
+        if (days.find()) {
+            int n = Integer.parseInt(days.group(1));
+            if (n <= 1) return "1-day";
+            if (n <= 3) return "2-3-days";
+            return "4-plus-days";
+        }
+        return duration.toLowerCase(Locale.ROOT).contains("hour") ? "hours" : null;
+    }
+
+    /**
+     * Immutable columnar view of the active packages, in the public listing order.
+     */
+    private static final class Snapshot {
+
+        private final int count;
+        private final PackageDTO[] packages;
+        private final long[] pricePaise;          // -1 when unset
+        private final int[] maxPassengers;        // -1 when unset
+        private final int[] ratingHundredths;     // -1 when unset
+        private final Map<String, BitSet> byCategory = new LinkedHashMap<>();
+        private final Map<String, BitSet> byDuration = new LinkedHashMap<>();
+        private final BitSet featured = new BitSet();
+
+        Snapshot(List<PackageDTO> source) {
+            count = source.size();
+            packages = source.toArray(new PackageDTO[0]);
+            pricePaise = new long[count];
+            maxPassengers = new int[count];
+            ratingHundredths = new int[count];
+            for (String duration : DURATIONS) {
+                byDuration.put(duration, new BitSet(count));
+            }
+
+            for (int i = 0; i < count; i++) {
+                PackageDTO p = packages[i];
+                pricePaise[i] = p.getPackagePrice() != null ? toPaise(p.getPackagePrice()) : -1;
+                maxPassengers[i] = p.getMaxPassengers() != null ? p.getMaxPassengers() : -1;
+                // Truncated, so 4.49 is never counted as 4.5-plus
+                ratingHundredths[i] = p.getRating() != null ? toHundredths(p.getRating(), RoundingMode.DOWN) : -1;
+                if (p.getPackageCategoryId() != null) {
+                    byCategory.computeIfAbsent(p.getPackageCategoryId(), c -> new BitSet(count)).set(i);
+                }
+                String duration = durationBucket(p.getPackageDuration());
+                if (duration != null) {
+                    byDuration.get(duration).set(i);
+                }
+                if (Boolean.TRUE.equals(p.getIsFeatured())) {
+                    featured.set(i);
+                }
+            }
+        }
+
+        BrowseResult browse(BrowseQuery q) {
+            BitSet categoryMask = union(byCategory, q.categories());
+            BitSet durationMask = union(byDuration, q.durations());
+            BitSet priceMask = priceMask(q.minPrice(), q.maxPrice());
+            BitSet passengerMask = passengerMask(q.passengers());
+            BitSet ratingMask = ratingMask(q.minRating());
+            BitSet featuredMask = featuredMask(q.featured());
+
+            BitSet matches = and(categoryMask, durationMask, priceMask, passengerMask, ratingMask, featuredMask);
+
+            // Each facet is counted with every filter applied except its own
+            Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+            BitSet withoutCategory = and(durationMask, priceMask, passengerMask, ratingMask, featuredMask);
+            Map<String, Integer> categoryCounts = new LinkedHashMap<>();
+            byCategory.forEach((id, bits) -> categoryCounts.put(id, intersectionCount(withoutCategory, bits)));
+            facets.put("category", categoryCounts);
+
+            BitSet withoutDuration = and(categoryMask, priceMask, passengerMask, ratingMask, featuredMask);
+            Map<String, Integer> durationCounts = new LinkedHashMap<>();
+            byDuration.forEach((bucket, bits) -> durationCounts.put(bucket, intersectionCount(withoutDuration, bits)));
+            facets.put("duration", durationCounts);
+
+            BitSet withoutPrice = and(categoryMask, durationMask, passengerMask, ratingMask, featuredMask);
+            Map<String, Integer> priceCounts = new LinkedHashMap<>();
+            PRICE_RANGES.forEach(range -> priceCounts.put(range, 0));
+            withoutPrice.stream().filter(i -> pricePaise[i] >= 0)
+                    .forEach(i -> priceCounts.merge(PRICE_RANGES.get(priceRange(pricePaise[i])), 1, Integer::sum));
+            facets.put("priceRange", priceCounts);
+
+            BitSet withoutRating = and(categoryMask, durationMask, priceMask, passengerMask, featuredMask);
+            Map<String, Integer> ratingCounts = new LinkedHashMap<>();
+            for (int r = 0; r < RATINGS.size(); r++) {
+                int minimum = RATING_MINIMUMS_HUNDREDTHS[r];
+                ratingCounts.put(RATINGS.get(r), (int) withoutRating.stream().filter(i -> ratingHundredths[i] >= minimum).count());
+            }
+            facets.put("rating", ratingCounts);
+
+            BitSet withoutFeatured = and(categoryMask, durationMask, priceMask, passengerMask, ratingMask);
+            Map<String, Integer> featuredCounts = new LinkedHashMap<>();
+            int featuredCount = intersectionCount(withoutFeatured, featured);
+            featuredCounts.put("true", featuredCount);
+            featuredCounts.put("false", withoutFeatured.cardinality() - featuredCount);
+            facets.put("featured", featuredCounts);
+
+            int total = matches.cardinality();
+            int size = Math.min(Math.max(q.size(), 1), 100);
+            // long: a huge page number must not wrap around to an earlier page
+            long from = (long) Math.max(q.page(), 0) * size;
+            List<PackageDTO> page = new ArrayList<>(size);
+            for (int i = from < total ? matches.nextSetBit(0) : -1, seen = 0; i >= 0 && page.size() < size;
+                 i = matches.nextSetBit(i + 1), seen++) {
+                if (seen >= from) {
+                    page.add(packages[i]);
+                }
+            }
+            return new BrowseResult(page, total, Math.max(q.page(), 0), size, facets);
+        }
+
+        private BitSet all() {
+            BitSet bits = new BitSet(count);
+            bits.set(0, count);
+            return bits;
+        }
+
+        private BitSet union(Map<String, BitSet> index, Set<String> keys) {
+            if (keys == null || keys.isEmpty()) {
+                return all();
+            }
+            BitSet bits = new BitSet(count);
+            for (String key : keys) {
+                BitSet values = index.get(key);
+                if (values != null) {
+                    bits.or(values);
+                }
+            }
+            return bits;
+        }
+
+        private BitSet priceMask(BigDecimal min, BigDecimal max) {
+            if (min == null && max == null) {
+                return all();
+            }
+            long lo = min != null ? toPaise(min) : Long.MIN_VALUE;
+            long hi = max != null ? toPaise(max) : Long.MAX_VALUE;
+            BitSet bits = new BitSet(count);
+            for (int i = 0; i < count; i++) {
+                if (pricePaise[i] >= 0 && pricePaise[i] >= lo && pricePaise[i] <= hi) {
+                    bits.set(i);
+                }
+            }
+            return bits;
+        }
+
+        // Packages whose vehicle seats at least this many; packages without a limit always qualify
+        private BitSet passengerMask(Integer passengers) {
+            if (passengers == null) {
+                return all();
+            }
+            BitSet bits = new BitSet(count);
+            for (int i = 0; i < count; i++) {
+                if (maxPassengers[i] < 0 || maxPassengers[i] >= passengers) {
+                    bits.set(i);
+                }
+            }
+            return bits;
+        }
+
+        private BitSet ratingMask(BigDecimal minRating) {
+            if (minRating == null) {
+                return all();
+            }
+            // Rounded up, so a rating only matches if it really is at least minRating
+            int minimum = toHundredths(minRating, RoundingMode.CEILING);
+            BitSet bits = new BitSet(count);
+            for (int i = 0; i < count; i++) {
+                if (ratingHundredths[i] >= minimum) {
+                    bits.set(i);
+                }
+            }
+            return bits;
+        }
+
+        private BitSet featuredMask(Boolean wanted) {
+            if (wanted == null) {
+                return all();
+            }
+            if (wanted) {
+                return (BitSet) featured.clone();
+            }
+            BitSet bits = all();
+            bits.andNot(featured);
+            return bits;
+        }
+
+        private static BitSet and(BitSet first, BitSet... rest) {
+            BitSet bits = (BitSet) first.clone();
+            for (BitSet other : rest) {
+                bits.and(other);
+            }
+            return bits;
+        }
+
+        private static int intersectionCount(BitSet a, BitSet b) {
+            BitSet bits = (BitSet) a.clone();
+            bits.and(b);
+            return bits.cardinality();
+        }
+
+        private static int priceRange(long paise) {
+            for (int r = 0; r < PRICE_RANGE_BOUNDS_PAISE.length; r++) {
+                if (paise < PRICE_RANGE_BOUNDS_PAISE[r]) {
+                    return r;
+                }
+            }
+            return PRICE_RANGE_BOUNDS_PAISE.length;
+        }
+
+        private static long toPaise(BigDecimal amount) {
+            return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+        }
+
+        private static int toHundredths(BigDecimal rating, RoundingMode rounding) {
+            return rating.movePointRight(2).setScale(0, rounding).intValue();
+        }
+    }
+}
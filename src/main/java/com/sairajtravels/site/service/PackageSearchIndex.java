@@ -0,0 +1,307 @@
+package com.sairajtravels.site.service;
+
+import com.sairajtravels.site.dto.PackageDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory inverted index over active packages for /api/packages/search.
+ *
+ * Name, category, highlights, features and description are tokenized and
+ * lightly stemmed, each field with its own weight, and matches are ranked with
+ * BM25. Query terms also match indexed terms they are a prefix of, and terms
+ * within one or two edits (typos), at a lower score than exact matches.
+ *
+ * {@link PackageService} keeps it current: single packages are re-indexed on
+ * local writes, and the whole index is rebuilt when another node changes the
+ * catalog.
+ */
+@Component
+public class PackageSearchIndex {
+
+    // Standard BM25 parameters: term frequency saturation and length normalization
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final double PREFIX_BOOST = 0.7;
+    private static final double FUZZY_BOOST = 0.5;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "into",
+            "is", "it", "of", "on", "or", "the", "to", "with");
+
+    private enum Field {
+        NAME(3.0),
+        CATEGORY(2.0),
+        HIGHLIGHTS(1.5),
+        FEATURES(1.0),
+        DESCRIPTION(1.0);
+
+        private final double weight;
+
+        Field(double weight) {
+            this.weight = weight;
+        }
+    }
+
+    private record Doc(PackageDTO pkg, Map<String, Double> termWeights, double length) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Doc> docs = new HashMap<>();
+    // Sorted so prefix lookups are a range scan
+    private final TreeMap<String, Map<Integer, Double>> postings = new TreeMap<>();
+    private double totalLength;
+    private boolean built;
+
+    public boolean isBuilt() {
+        lock.readLock().lock();
+        try {
+            return built;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the whole index. The loader runs under the write lock so a
+     * concurrent {@link #index} cannot be overwritten by an older load.
+     */
+    public void rebuild(Supplier<? extends Collection<PackageDTO>> loader) {
+        lock.writeLock().lock();
+        try {
+            Collection<PackageDTO> packages = loader.get();
+            docs.clear();
+            postings.clear();
+            totalLength = 0;
+            for (PackageDTO pkg : packages) {
+                if (Boolean.TRUE.equals(pkg.getIsActive())) {
+                    add(pkg);
+                }
+            }
+            built = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Add or replace one package; inactive packages are dropped from the index
+    public void index(PackageDTO pkg) {
+        lock.writeLock().lock();
+        try {
+            if (!built) {
+                return; // picked up by the first rebuild
+            }
+            removeDoc(pkg.getPackageId());
+            if (Boolean.TRUE.equals(pkg.getIsActive())) {
+                add(pkg);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Integer packageId) {
+        lock.writeLock().lock();
+        try {
+            removeDoc(packageId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<PackageDTO> search(String query, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(analyze(query)));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (docs.isEmpty()) {
+                return List.of();
+            }
+            double averageLength = totalLength / docs.size();
+            Map<Integer, Double> scores = new HashMap<>();
+
+            for (String term : terms) {
+                // A document scores each query term once, through its best-matching expansion
+                Map<Integer, Double> best = new HashMap<>();
+                expand(term).forEach((indexed, boost) -> {
+                    Map<Integer, Double> posting = postings.get(indexed);
+                    double idf = idf(posting.size());
+                    posting.forEach((packageId, tf) -> {
+                        double length = docs.get(packageId).length();
+                        double norm = tf * (K1 + 1) / (tf + K1 * (1 - B + B * length / averageLength));
+                        best.merge(packageId, boost * idf * norm, Math::max);
+                    });
+                });
+                best.forEach((packageId, score) -> scores.merge(packageId, score, Double::sum));
+            }
+
+            Comparator<Map.Entry<Integer, Double>> byScore = Map.Entry.<Integer, Double>comparingByValue().reversed();
+            Comparator<Map.Entry<Integer, Double>> bySortOrder = Comparator.comparing(
+                    e -> docs.get(e.getKey()).pkg().getSortOrder(), Comparator.nullsLast(Comparator.naturalOrder()));
+            return scores.entrySet().stream()
+                    .sorted(byScore.thenComparing(bySortOrder).thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .map(e -> docs.get(e.getKey()).pkg())
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Indexed terms a query term should match, with the share of the score each earns
+    private Map<String, Double> expand(String term) {
+        Map<String, Double> expansions = new LinkedHashMap<>();
+        if (postings.containsKey(term)) {
+            expansions.put(term, 1.0);
+        }
+        if (term.length() >= 2) {
+            for (String indexed : postings.subMap(term, false, term + Character.MAX_VALUE, false).keySet()) {
+                expansions.put(indexed, PREFIX_BOOST);
+            }
+        }
+        if (expansions.isEmpty() && term.length() >= 4) {
+            int maxEdits = term.length() >= 8 ? 2 : 1;
+            for (String indexed : postings.keySet()) {
+                if (Math.abs(indexed.length() - term.length()) <= maxEdits
+                        && editDistance(term, indexed, maxEdits) <= maxEdits) {
+                    expansions.put(indexed, FUZZY_BOOST);
+                }
+            }
+        }
+        return expansions;
+    }
+
+    private double idf(int documentFrequency) {
+        int n = docs.size();
+        return Math.log(1 + (n - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private void add(PackageDTO pkg) {
+        Map<String, Double> termWeights = new HashMap<>();
+        double length = 0;
+        for (Field field : Field.values()) {
+            for (String token : analyze(text(pkg, field))) {
+                termWeights.merge(token, field.weight, Double::sum);
+                length += field.weight;
+            }
+        }
+        docs.put(pkg.getPackageId(), new Doc(pkg, termWeights, length));
+        termWeights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(pkg.getPackageId(), weight));
+        totalLength += length;
+    }
+
+    private void removeDoc(Integer packageId) {
+        Doc doc = docs.remove(packageId);
+        if (doc == null) {
+            return;
+        }
+        for (String term : doc.termWeights().keySet()) {
+            Map<Integer, Double> posting = postings.get(term);
+            posting.remove(packageId);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= doc.length();
+    }
+
+    private static String text(PackageDTO pkg, Field field) {
+        return switch (field) {
+            case NAME -> pkg.getPackageName();
+            case CATEGORY -> join(pkg.getPackageCategory(), pkg.getPackageCategoryId());
+            case HIGHLIGHTS -> pkg.getPackageHighlights() != null ? String.join(" ", pkg.getPackageHighlights()) : null;
+            case FEATURES -> pkg.getPackageFeatures() != null ? String.join(" ", pkg.getPackageFeatures()) : null;
+            case DESCRIPTION -> pkg.getPackageDescription();
+        };
+    }
+
+    private static String join(String first, String second) {
+        if (first == null) return second;
+        if (second == null) return first;
+        return first + " " + second;
+    }
+
+    static List<String> analyze(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        for (String raw : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!raw.isEmpty() && !STOP_WORDS.contains(raw)) {
+                tokens.add(stem(raw));
+            }
+        }
+        return tokens;
+    }
+
+    // Light suffix stripping: plurals and common verb endings, enough to match "beaches" with "beach"
+    static String stem(String word) {
+        int n = word.length();
+        if (n <= 3) {
+            return word;
+        }
+        if (word.endsWith("ies") && n > 4) {
+            return word.substring(0, n - 3) + "y";
+        }
+        if (word.endsWith("sses") || word.endsWith("ches") || word.endsWith("shes") || word.endsWith("xes")) {
+            return word.substring(0, n - 2);
+        }
+        if (word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us") && !word.endsWith("is")) {
+            return word.substring(0, n - 1);
+        }
+        if (word.endsWith("ing") && n > 5) {
+            return word.substring(0, n - 3);
+        }
+        if (word.endsWith("ed") && n > 4) {
+            return word.substring(0, n - 2);
+        }
+        return word;
+    }
+
+    // Optimal string alignment distance, giving up once it exceeds max
+    static int editDistance(String a, String b, int max) {
+        int[] prevPrev = new int[b.length() + 1];
+        int[] prev = new int[b.length() + 1];
+        int[] curr = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            prev[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            curr[0] = i;
+            int rowMin = curr[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                curr[j] = Math.min(Math.min(prev[j] + 1, curr[j - 1] + 1), prev[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    curr[j] = Math.min(curr[j], prevPrev[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, curr[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = prevPrev;
+            prevPrev = prev;
+            prev = curr;
+            curr = recycled;
+        }
+        return prev[b.length()];
+    }
+}
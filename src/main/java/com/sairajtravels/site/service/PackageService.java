@@ -2,35 +2,64 @@ package com.sairajtravels.site.service;
 
 import com.sairajtravels.site.dto.PackageDTO;
 import com.sairajtravels.site.entity.TravelPackage;
+import com.sairajtravels.site.event.CatalogChangedEvent;
 import com.sairajtravels.site.entity.Vehicle;
 import com.sairajtravels.site.repository.PackageRepository;
 import com.sairajtravels.site.repository.VehicleRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class PackageService {
 
+    // Non-featured packages rank after every featured one; see add_package_display_rank.sql
+    private static final long NOT_FEATURED_BAND = 1L << 32;
+
     @Autowired
     private PackageRepository packageRepository;
     
     @Autowired
     private VehicleRepository vehicleRepository;
 
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    @Autowired
+    private PackageSearchIndex packageSearchIndex;
+
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
+
     // Get all active packages (for public use) - with caching
     @Cacheable(value = "packages", key = "'active'")
     public List<PackageDTO> getAllPackages() {
+        return loadActivePackages();
+    }
+
+    // Reload the active packages into the cache without evicting first (refresh-ahead)
+    @CachePut(value = "packages", key = "'active'")
+    public List<PackageDTO> refreshAllPackages() {
+        return loadActivePackages();
+    }
+
+    private List<PackageDTO> loadActivePackages() {
         List<TravelPackage> packages = packageRepository.findByIsActiveTrueOrderByFeaturedAndSortOrder();
         return packages.stream().map(this::convertToDTO).collect(Collectors.toList());
     }
@@ -63,10 +92,20 @@ public class PackageService {
         return packages.stream().map(this::convertToDTO).collect(Collectors.toList());
     }
 
-    // Search packages
-    public List<PackageDTO> searchPackages(String searchTerm) {
-        List<TravelPackage> packages = packageRepository.searchPackages(searchTerm);
-        return packages.stream().map(this::convertToDTO).collect(Collectors.toList());
+    // Search packages - ranked, typo-tolerant, served from the in-memory index
+    public List<PackageDTO> searchPackages(String searchTerm, int limit) {
+        if (!packageSearchIndex.isBuilt()) {
+            packageSearchIndex.rebuild(this::loadActivePackages);
+        }
+        return packageSearchIndex.search(searchTerm, limit);
+    }
+
+    // Another node changed packages; we don't know which, so re-index them all
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.remote() && event.catalog() == ContentVersionService.Catalog.PACKAGES && packageSearchIndex.isBuilt()) {
+            packageSearchIndex.rebuild(this::loadActivePackages);
+        }
     }
 
     // Get packages by price range
@@ -92,7 +131,11 @@ public class PackageService {
     public PackageDTO createPackage(PackageDTO packageDTO) {
         TravelPackage packageEntity = convertToEntity(packageDTO);
         TravelPackage savedPackage = packageRepository.save(packageEntity);
-        return convertToDTO(savedPackage);
+        contentVersionService.bump(ContentVersionService.Catalog.PACKAGES);
+        PackageDTO saved = convertToDTO(savedPackage);
+        packageSearchIndex.index(saved);
+        processImage(savedPackage.getPackageImageUrl());
+        return saved;
     }
 
     // Update package - clear cache
@@ -103,7 +146,11 @@ public class PackageService {
             TravelPackage packageEntity = packageOpt.get();
             updateEntityFromDTO(packageEntity, packageDTO);
             TravelPackage savedPackage = packageRepository.save(packageEntity);
-            return convertToDTO(savedPackage);
+            contentVersionService.bump(ContentVersionService.Catalog.PACKAGES);
+            PackageDTO saved = convertToDTO(savedPackage);
+            packageSearchIndex.index(saved);
+            processImage(savedPackage.getPackageImageUrl());
+            return saved;
         }
         return null;
     }
@@ -116,11 +163,56 @@ public class PackageService {
             TravelPackage packageEntity = packageOpt.get();
             packageEntity.setIsActive(false);
             packageRepository.save(packageEntity);
+            contentVersionService.bump(ContentVersionService.Catalog.PACKAGES);
+            packageSearchIndex.remove(packageId);
             return true;
         }
         return false;
     }
 
+    // Reorder packages - the given ids get sort orders 1..n in list order; others keep theirs
+    @Transactional
+    @CacheEvict(value = "packages", allEntries = true)
+    public List<PackageDTO> reorderPackages(List<Integer> packageIds) {
+        Map<Integer, TravelPackage> packages = packageRepository.findAllById(packageIds).stream()
+                .collect(Collectors.toMap(TravelPackage::getPackageId, Function.identity()));
+        List<TravelPackage> reordered = new ArrayList<>();
+        int sortOrder = 1;
+        for (Integer packageId : packageIds) {
+            TravelPackage packageEntity = packages.remove(packageId);
+            if (packageEntity != null) {
+                packageEntity.setSortOrder(sortOrder++);
+                packageEntity.setDisplayRank(displayRank(packageEntity));
+                reordered.add(packageEntity);
+            }
+        }
+        List<PackageDTO> saved = packageRepository.saveAll(reordered).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        contentVersionService.bump(ContentVersionService.Catalog.PACKAGES);
+        saved.forEach(packageSearchIndex::index);
+        return saved;
+    }
+
+    // Featured band, then sort order shifted to be non-negative (null sorts first, as ORDER BY sort_order did)
+    static long displayRank(TravelPackage packageEntity) {
+        long band = Boolean.TRUE.equals(packageEntity.getIsFeatured()) ? 0 : NOT_FEATURED_BAND;
+        long sortOrder = packageEntity.getSortOrder() != null ? packageEntity.getSortOrder() : Integer.MIN_VALUE;
+        return band + sortOrder - Integer.MIN_VALUE;
+    }
+
+    // Generate resized copies; once they exist the cached lists and the search index must pick them up
+    private void processImage(String imageUrl) {
+        imageDerivativeService.process(imageUrl).thenAccept(created -> {
+            if (created) {
+                contentVersionService.bump(ContentVersionService.Catalog.PACKAGES);
+                if (packageSearchIndex.isBuilt()) {
+                    packageSearchIndex.rebuild(this::loadActivePackages);
+                }
+            }
+        });
+    }
+
     // Convert Entity to DTO
     private PackageDTO convertToDTO(TravelPackage packageEntity) {
         PackageDTO dto = new PackageDTO();
@@ -134,11 +226,11 @@ public class PackageService {
         dto.setOriginalPrice(packageEntity.getOriginalPrice());
         dto.setDiscountPercentage(packageEntity.getDiscountPercentage());
         dto.setPackageImageUrl(packageEntity.getPackageImageUrl());
+        dto.setPackageImageVariants(imageDerivativeService.variantsFor(packageEntity.getPackageImageUrl()));
         
-        // Convert JSON strings to Lists (you might want to use a JSON library like Jackson)
-        // For now, we'll handle this in the controller or use a proper JSON converter
-        dto.setPackageFeatures(parseJsonToList(packageEntity.getPackageFeatures()));
-        dto.setPackageHighlights(parseJsonToList(packageEntity.getPackageHighlights()));
+        // Already parsed by StringListJsonConverter when the entity was loaded
+        dto.setPackageFeatures(copyOf(packageEntity.getPackageFeatures()));
+        dto.setPackageHighlights(copyOf(packageEntity.getPackageHighlights()));
         
         dto.setRating(packageEntity.getRating());
         dto.setReviewsCount(packageEntity.getReviewsCount());
@@ -175,8 +267,8 @@ public class PackageService {
         packageEntity.setPackageImageUrl(packageDTO.getPackageImageUrl());
         
         // Convert Lists to JSON strings
-        packageEntity.setPackageFeatures(convertListToJson(packageDTO.getPackageFeatures()));
-        packageEntity.setPackageHighlights(convertListToJson(packageDTO.getPackageHighlights()));
+        packageEntity.setPackageFeatures(copyOf(packageDTO.getPackageFeatures()));
+        packageEntity.setPackageHighlights(copyOf(packageDTO.getPackageHighlights()));
         
         packageEntity.setRating(packageDTO.getRating());
         packageEntity.setReviewsCount(packageDTO.getReviewsCount());
@@ -185,6 +277,7 @@ public class PackageService {
         packageEntity.setSortOrder(packageDTO.getSortOrder());
         packageEntity.setVehicleId(packageDTO.getVehicleId());
         packageEntity.setMaxPassengers(packageDTO.getMaxPassengers());
+        packageEntity.setDisplayRank(displayRank(packageEntity));
         
         return packageEntity;
     }
@@ -219,10 +312,10 @@ public class PackageService {
             packageEntity.setPackageImageUrl(packageDTO.getPackageImageUrl());
         }
         if (packageDTO.getPackageFeatures() != null) {
-            packageEntity.setPackageFeatures(convertListToJson(packageDTO.getPackageFeatures()));
+            packageEntity.setPackageFeatures(copyOf(packageDTO.getPackageFeatures()));
         }
         if (packageDTO.getPackageHighlights() != null) {
-            packageEntity.setPackageHighlights(convertListToJson(packageDTO.getPackageHighlights()));
+            packageEntity.setPackageHighlights(copyOf(packageDTO.getPackageHighlights()));
         }
         if (packageDTO.getRating() != null) {
             packageEntity.setRating(packageDTO.getRating());
@@ -239,26 +332,11 @@ public class PackageService {
         if (packageDTO.getSortOrder() != null) {
             packageEntity.setSortOrder(packageDTO.getSortOrder());
         }
+        packageEntity.setDisplayRank(displayRank(packageEntity));
     }
 
-    // Helper methods for JSON conversion (simplified - you might want to use Jackson)
-    private List<String> parseJsonToList(String jsonString) {
-        // Simple JSON array parsing - you might want to use a proper JSON library
-        if (jsonString == null || jsonString.trim().isEmpty()) {
-            return List.of();
-        }
-        // Remove brackets and split by comma
-        String cleanJson = jsonString.replaceAll("[\\[\\]\"]", "").trim();
-        if (cleanJson.isEmpty()) {
-            return List.of();
-        }
-        return List.of(cleanJson.split(","));
-    }
-
-    private String convertListToJson(List<String> list) {
-        if (list == null || list.isEmpty()) {
-            return "[]";
-        }
-        return "[\"" + String.join("\",\"", list) + "\"]";
+    // Entity and DTO never share a list, so cached DTOs cannot be changed through a managed entity
+    private List<String> copyOf(List<String> list) {
+        return list != null ? new ArrayList<>(list) : new ArrayList<>();
     }
 }
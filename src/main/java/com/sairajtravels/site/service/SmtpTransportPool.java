@@ -0,0 +1,185 @@
+package com.sairajtravels.site.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Keeps authenticated SMTP connections open between sends so that a burst of
+ * notifications (customer + admin for one booking, or a drained queue batch)
+ * pays the connect / STARTTLS / AUTH handshake once instead of per message.
+ *
+ * Connections are keyed by host, port and credentials, so a settings change
+ * simply starts a new pool entry; stale entries age out after the idle window.
+ */
+@Component
+public class SmtpTransportPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmtpTransportPool.class);
+
+    @Value("${app.email.smtp-pool.idle-timeout-ms:60000}")
+    private long idleTimeoutMs;
+
+    @Value("${app.email.smtp-pool.max-idle-per-server:2}")
+    private int maxIdlePerServer;
+
+    private final Map<PoolKey, Deque<PooledTransport>> idleTransports = new ConcurrentHashMap<>();
+
+    /**
+     * Send all messages over a single pooled connection for the given sender's server.
+     */
+    public void send(JavaMailSenderImpl sender, List<MimeMessage> messages) throws MessagingException {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        PoolKey key = PoolKey.of(sender);
+        PooledTransport pooled = borrow(key, sender);
+        int sent = 0;
+        try {
+            for (MimeMessage message : messages) {
+                sendOne(pooled.transport, message);
+                sent++;
+            }
+        } catch (MessagingException e) {
+            close(pooled);
+            // A reused connection may have been dropped by the server while idle;
+            // retry the unsent remainder once over a fresh connection.
+            if (!pooled.reused) {
+                throw e;
+            }
+            logger.debug("Pooled SMTP connection to {} failed, reconnecting: {}", key.host(), e.getMessage());
+            pooled = connect(key, sender);
+            try {
+                for (MimeMessage message : messages.subList(sent, messages.size())) {
+                    sendOne(pooled.transport, message);
+                }
+            } catch (MessagingException retryError) {
+                close(pooled);
+                throw retryError;
+            }
+        } catch (RuntimeException e) {
+            close(pooled);
+            throw e;
+        }
+        release(key, pooled);
+    }
+
+    /**
+     * Close connections that have been idle longer than the configured window.
+     */
+    @Scheduled(fixedDelayString = "${app.email.smtp-pool.reap-interval-ms:30000}")
+    public void closeIdleTransports() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMs;
+        idleTransports.values().forEach(deque -> deque.removeIf(pooled -> {
+            if (pooled.lastUsed < cutoff) {
+                close(pooled);
+                return true;
+            }
+            return false;
+        }));
+        idleTransports.entrySet().removeIf(entry -> entry.getValue().isEmpty());
+    }
+
+    /**
+     * Drop every pooled connection to the server the given sender points at.
+     */
+    public void evict(JavaMailSenderImpl sender) {
+        Deque<PooledTransport> deque = idleTransports.remove(PoolKey.of(sender));
+        if (deque != null) {
+            deque.forEach(this::close);
+        }
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        idleTransports.values().forEach(deque -> deque.forEach(this::close));
+        idleTransports.clear();
+    }
+
+    private void sendOne(Transport transport, MimeMessage message) throws MessagingException {
+        // Same preparation JavaMailSenderImpl does before handing a message to the transport
+        if (message.getSentDate() == null) {
+            message.setSentDate(new Date());
+        }
+        String messageId = message.getMessageID();
+        message.saveChanges();
+        if (messageId != null) {
+            message.setHeader("Message-ID", messageId);
+        }
+        transport.sendMessage(message, message.getAllRecipients());
+    }
+
+    private PooledTransport borrow(PoolKey key, JavaMailSenderImpl sender) throws MessagingException {
+        Deque<PooledTransport> deque = idleTransports.get(key);
+        if (deque != null) {
+            long cutoff = System.currentTimeMillis() - idleTimeoutMs;
+            PooledTransport pooled;
+            while ((pooled = deque.pollFirst()) != null) {
+                if (pooled.lastUsed >= cutoff && pooled.transport.isConnected()) {
+                    pooled.reused = true;
+                    return pooled;
+                }
+                close(pooled);
+            }
+        }
+        return connect(key, sender);
+    }
+
+    private PooledTransport connect(PoolKey key, JavaMailSenderImpl sender) throws MessagingException {
+        String protocol = sender.getProtocol() != null ? sender.getProtocol() : "smtp";
+        Transport transport = sender.getSession().getTransport(protocol);
+        transport.connect(key.host(), key.port(), key.username(), key.password());
+        logger.debug("Opened SMTP connection to {}:{}", key.host(), key.port());
+        return new PooledTransport(transport);
+    }
+
+    private void release(PoolKey key, PooledTransport pooled) {
+        pooled.lastUsed = System.currentTimeMillis();
+        pooled.reused = false;
+        Deque<PooledTransport> deque = idleTransports.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>());
+        if (deque.size() >= maxIdlePerServer) {
+            close(pooled);
+            return;
+        }
+        deque.offerFirst(pooled);
+    }
+
+    private void close(PooledTransport pooled) {
+        try {
+            pooled.transport.close();
+        } catch (MessagingException e) {
+            logger.debug("Ignoring error while closing SMTP connection: {}", e.getMessage());
+        }
+    }
+
+    private record PoolKey(String host, int port, String username, String password) {
+        static PoolKey of(JavaMailSenderImpl sender) {
+            return new PoolKey(sender.getHost(), sender.getPort(), sender.getUsername(), sender.getPassword());
+        }
+    }
+
+    private static final class PooledTransport {
+        private final Transport transport;
+        private volatile long lastUsed = System.currentTimeMillis();
+        private volatile boolean reused;
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.sairajtravels.site.service;
 import com.sairajtravels.site.dto.TestimonialDTO;
 import com.sairajtravels.site.entity.Testimonial;
 import com.sairajtravels.site.repository.TestimonialRepository;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -13,13 +15,26 @@ import java.util.stream.Collectors;
 public class TestimonialService {
     
     private final TestimonialRepository repository;
+    private final ContentVersionService contentVersionService;
     
-    public TestimonialService(TestimonialRepository repository) {
+    public TestimonialService(TestimonialRepository repository, ContentVersionService contentVersionService) {
         this.repository = repository;
+        this.contentVersionService = contentVersionService;
     }
     
-    // Get all active testimonials for public display
+    // Get all active testimonials for public display - with caching
+    @Cacheable(value = "testimonials", key = "'active'")
     public List<TestimonialDTO> getAllActiveTestimonials() {
+        return loadActiveTestimonials();
+    }
+    
+    // Reload the active testimonials into the cache without evicting first (refresh-ahead)
+    @CachePut(value = "testimonials", key = "'active'")
+    public List<TestimonialDTO> refreshActiveTestimonials() {
+        return loadActiveTestimonials();
+    }
+    
+    private List<TestimonialDTO> loadActiveTestimonials() {
         List<Testimonial> testimonials = repository.findAllActiveOrdered();
         return testimonials.stream()
                 .map(this::convertToDTO)
@@ -44,6 +59,7 @@ public class TestimonialService {
     public TestimonialDTO createTestimonial(TestimonialDTO dto) {
         Testimonial testimonial = convertToEntity(dto);
         testimonial = repository.save(testimonial);
+        contentVersionService.bump(ContentVersionService.Catalog.TESTIMONIALS);
         return convertToDTO(testimonial);
     }
     
@@ -59,6 +75,7 @@ public class TestimonialService {
                     existing.setIsActive(dto.getIsActive());
                     existing.setSortOrder(dto.getSortOrder());
                     existing = repository.save(existing);
+                    contentVersionService.bump(ContentVersionService.Catalog.TESTIMONIALS);
                     return convertToDTO(existing);
                 });
     }
@@ -67,6 +84,7 @@ public class TestimonialService {
     public boolean deleteTestimonial(Integer id) {
         if (repository.existsById(id)) {
             repository.deleteById(id);
+            contentVersionService.bump(ContentVersionService.Catalog.TESTIMONIALS);
             return true;
         }
         return false;
@@ -78,6 +96,7 @@ public class TestimonialService {
                 .map(testimonial -> {
                     testimonial.setIsActive(!testimonial.getIsActive());
                     testimonial = repository.save(testimonial);
+                    contentVersionService.bump(ContentVersionService.Catalog.TESTIMONIALS);
                     return convertToDTO(testimonial);
                 });
     }
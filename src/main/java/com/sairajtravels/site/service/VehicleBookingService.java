@@ -8,7 +8,9 @@ import com.sairajtravels.site.repository.VehicleRepository;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -18,13 +20,19 @@ public class VehicleBookingService {
     private final VehicleBookingRepository vehicleBookingRepository;
     private final VehicleRepository vehicleRepository;
     private final EmailService emailService;
+    private final EmailTemplateService emailTemplateService;
+    private final FleetUtilizationService fleetUtilizationService;
 
     public VehicleBookingService(VehicleBookingRepository vehicleBookingRepository,
                                  VehicleRepository vehicleRepository,
-                                 EmailService emailService) {
+                                 EmailService emailService,
+                                 EmailTemplateService emailTemplateService,
+                                 FleetUtilizationService fleetUtilizationService) {
         this.vehicleBookingRepository = vehicleBookingRepository;
         this.vehicleRepository = vehicleRepository;
         this.emailService = emailService;
+        this.emailTemplateService = emailTemplateService;
+        this.fleetUtilizationService = fleetUtilizationService;
     }
 
     private VehicleBookingDTO convertToDTO(VehicleBooking booking) {
@@ -98,6 +106,7 @@ public class VehicleBookingService {
         }
 
         VehicleBooking saved = vehicleBookingRepository.save(convertToEntity(dto));
+        fleetUtilizationService.bookingSaved(saved);
         VehicleBookingDTO result = convertToDTO(saved);
 
         // Send email notifications
@@ -160,6 +169,7 @@ public class VehicleBookingService {
             }
             
             VehicleBooking updated = vehicleBookingRepository.save(existingBooking);
+            fleetUtilizationService.bookingSaved(updated);
             VehicleBookingDTO result = convertToDTO(updated);
             
             // Debug logging
@@ -185,6 +195,7 @@ public class VehicleBookingService {
 
     public void deleteBooking(Integer id) {
         vehicleBookingRepository.deleteById(id);
+        fleetUtilizationService.bookingDeleted(id);
     }
 
     private void sendBookingNotifications(VehicleBookingDTO booking) {
@@ -207,10 +218,11 @@ public class VehicleBookingService {
             if (booking.getCustomerEmail() != null && !booking.getCustomerEmail().isEmpty()) {
                 try {
                     String customerSubject = "Booking Confirmation - Sairaj Travels";
-                    String customerHtml = buildCustomerEmailHtml(booking, vehicleName);
-                    String customerText = buildCustomerEmailText(booking, vehicleName);
-                    emailService.sendHtmlEmail(booking.getCustomerEmail(), customerSubject, customerHtml, customerText);
-                    System.out.println("✅ Customer email sent successfully");
+                    Map<String, Object> model = buildBookingEmailModel(booking, vehicleName);
+                    String customerHtml = emailTemplateService.render("booking-confirmation.html", model);
+                    String customerText = emailTemplateService.render("booking-confirmation.txt", model);
+                    emailService.sendHtmlEmail(booking.getCustomerEmail(), customerSubject, customerHtml, customerText, "BOOKING_CUSTOMER");
+                    System.out.println("✅ Customer email queued successfully");
                 } catch (Exception emailError) {
                     System.err.println("⚠️ Failed to send customer email (booking still saved): " + emailError.getMessage());
                     emailError.printStackTrace();
@@ -222,10 +234,11 @@ public class VehicleBookingService {
             // Send email to admin (don't fail if this fails)
             try {
                 String adminSubject = "New Booking Request - " + booking.getCustomerName();
-                String adminHtml = buildAdminEmailHtml(booking, vehicleName);
-                String adminText = buildAdminEmailText(booking, vehicleName);
-                emailService.notifyAdmin(adminSubject, adminHtml, adminText);
-                System.out.println("✅ Admin email sent successfully");
+                Map<String, Object> model = buildBookingEmailModel(booking, vehicleName);
+                String adminHtml = emailTemplateService.render("booking-admin.html", model);
+                String adminText = emailTemplateService.render("booking-admin.txt", model);
+                emailService.notifyAdmin(adminSubject, adminHtml, adminText, "BOOKING_ADMIN");
+                System.out.println("✅ Admin email queued successfully");
             } catch (Exception adminEmailError) {
                 System.err.println("⚠️ Failed to send admin email (booking still saved): " + adminEmailError.getMessage());
                 adminEmailError.printStackTrace();
@@ -240,190 +253,23 @@ public class VehicleBookingService {
         }
     }
 
-    private String buildCustomerEmailHtml(VehicleBookingDTO booking, String vehicleName) {
-        return String.format("""
-            <html>
-            <body style="font-family: Arial, sans-serif; line-height: 1.6; color: #333;">
-                <div style="max-width: 600px; margin: 0 auto; padding: 20px;">
-                    <h2 style="color: #2563eb;">Thank you for your booking with Sairaj Travels!</h2>
-                    
-                    <p>Dear %s,</p>
-                    
-                    <p>We have received your booking request and will process it shortly. Here are your booking details:</p>
-                    
-                    <div style="background: #f8fafc; padding: 20px; border-radius: 8px; margin: 20px 0;">
-                        <h3 style="color: #1e40af; margin-top: 0;">Booking Details</h3>
-                        <p><strong>Booking ID:</strong> #%d</p>
-                        <p><strong>Vehicle:</strong> %s</p>
-                        <p><strong>Pickup Location:</strong> %s</p>
-                        <p><strong>Drop Location:</strong> %s</p>
-                        <p><strong>Trip Date:</strong> %s</p>
-                        %s
-                        <p><strong>Passengers:</strong> %d</p>
-                        <p><strong>Status:</strong> %s</p>
-                    </div>
-                    
-                    <p>Our team will contact you within 24 hours to confirm your booking and provide further details.</p>
-                    
-                    <p>For any queries, please contact us at:</p>
-                    <ul>
-                        <li>Phone: +91 9850748273</li>
-                        <li>Email: admin@sairajtravels.com</li>
-                    </ul>
-                    
-                    <p>Thank you for choosing Sairaj Travels!</p>
-                    
-                    <hr style="margin: 30px 0; border: none; border-top: 1px solid #e5e7eb;">
-                    <p style="font-size: 12px; color: #6b7280;">
-                        Sairaj Travels - Your Trusted Travel Partner<br>
-                        This is an automated email. Please do not reply.
-                    </p>
-                </div>
-            </body>
-            </html>
-            """, 
-            booking.getCustomerName(),
-            booking.getBookingId(),
-            vehicleName,
-            booking.getPickupLocation() != null ? booking.getPickupLocation() : "Not specified",
-            booking.getDropLocation() != null ? booking.getDropLocation() : "Not specified",
-            booking.getTripDate(),
-            booking.getReturnDate() != null ? String.format("<p><strong>Return Date:</strong> %s</p>", booking.getReturnDate()) : "",
-            booking.getPassengers() != null ? booking.getPassengers() : 1,
-            booking.getStatus()
-        );
-    }
-
-    private String buildCustomerEmailText(VehicleBookingDTO booking, String vehicleName) {
-        return String.format("""
-            Thank you for your booking with Sairaj Travels!
-            
-            Dear %s,
-            
-            We have received your booking request and will process it shortly. Here are your booking details:
-            
-            Booking Details:
-            - Booking ID: #%d
-            - Vehicle: %s
-            - Pickup Location: %s
-            - Drop Location: %s
-            - Trip Date: %s
-            %s
-            - Passengers: %d
-            - Status: %s
-            
-            Our team will contact you within 24 hours to confirm your booking and provide further details.
-            
-            For any queries, please contact us at:
-            - Phone: +91 9850748273
-            - Email: admin@sairajtravels.com
-            
-            Thank you for choosing Sairaj Travels!
-            
-            ---
-            Sairaj Travels - Your Trusted Travel Partner
-            This is an automated email. Please do not reply.
-            """, 
-            booking.getCustomerName(),
-            booking.getBookingId(),
-            vehicleName,
-            booking.getPickupLocation() != null ? booking.getPickupLocation() : "Not specified",
-            booking.getDropLocation() != null ? booking.getDropLocation() : "Not specified",
-            booking.getTripDate(),
-            booking.getReturnDate() != null ? String.format("- Return Date: %s", booking.getReturnDate()) : "",
-            booking.getPassengers() != null ? booking.getPassengers() : 1,
-            booking.getStatus()
-        );
-    }
-
-    private String buildAdminEmailHtml(VehicleBookingDTO booking, String vehicleName) {
-        return String.format("""
-            <html>
-            <body style="font-family: Arial, sans-serif; line-height: 1.6; color: #333;">
-                <div style="max-width: 600px; margin: 0 auto; padding: 20px;">
-                    <h2 style="color: #dc2626;">New Booking Request</h2>
-                    
-                    <p>A new booking has been submitted through the website:</p>
-                    
-                    <div style="background: #fef2f2; padding: 20px; border-radius: 8px; margin: 20px 0; border-left: 4px solid #dc2626;">
-                        <h3 style="color: #dc2626; margin-top: 0;">Booking Details</h3>
-                        <p><strong>Booking ID:</strong> #%d</p>
-                        <p><strong>Customer Name:</strong> %s</p>
-                        <p><strong>Phone:</strong> %s</p>
-                        <p><strong>Email:</strong> %s</p>
-                        <p><strong>Vehicle:</strong> %s</p>
-                        <p><strong>Pickup Location:</strong> %s</p>
-                        <p><strong>Drop Location:</strong> %s</p>
-                        <p><strong>Trip Date:</strong> %s</p>
-                        %s
-                        <p><strong>Passengers:</strong> %d</p>
-                        <p><strong>Luggage:</strong> %s</p>
-                        <p><strong>Special Requests:</strong> %s</p>
-                        <p><strong>Status:</strong> %s</p>
-                        <p><strong>Requested At:</strong> %s</p>
-                    </div>
-                    
-                    <p style="color: #dc2626; font-weight: bold;">Action Required: Please contact the customer to confirm the booking.</p>
-                </div>
-            </body>
-            </html>
-            """, 
-            booking.getBookingId(),
-            booking.getCustomerName(),
-            booking.getCustomerPhone(),
-            booking.getCustomerEmail() != null ? booking.getCustomerEmail() : "Not provided",
-            vehicleName,
-            booking.getPickupLocation() != null ? booking.getPickupLocation() : "Not specified",
-            booking.getDropLocation() != null ? booking.getDropLocation() : "Not specified",
-            booking.getTripDate(),
-            booking.getReturnDate() != null ? String.format("<p><strong>Return Date:</strong> %s</p>", booking.getReturnDate()) : "",
-            booking.getPassengers() != null ? booking.getPassengers() : 1,
-            booking.getLuggage() != null ? booking.getLuggage() : "Not specified",
-            booking.getSpecialRequests() != null ? booking.getSpecialRequests() : "None",
-            booking.getStatus(),
-            booking.getRequestedAt()
-        );
-    }
-
-    private String buildAdminEmailText(VehicleBookingDTO booking, String vehicleName) {
-        return String.format("""
-            New Booking Request
-            
-            A new booking has been submitted through the website:
-            
-            Booking Details:
-            - Booking ID: #%d
-            - Customer Name: %s
-            - Phone: %s
-            - Email: %s
-            - Vehicle: %s
-            - Pickup Location: %s
-            - Drop Location: %s
-            - Trip Date: %s
-            %s
-            - Passengers: %d
-            - Luggage: %s
-            - Special Requests: %s
-            - Status: %s
-            - Requested At: %s
-            
-            Action Required: Please contact the customer to confirm the booking.
-            """, 
-            booking.getBookingId(),
-            booking.getCustomerName(),
-            booking.getCustomerPhone(),
-            booking.getCustomerEmail() != null ? booking.getCustomerEmail() : "Not provided",
-            vehicleName,
-            booking.getPickupLocation() != null ? booking.getPickupLocation() : "Not specified",
-            booking.getDropLocation() != null ? booking.getDropLocation() : "Not specified",
-            booking.getTripDate(),
-            booking.getReturnDate() != null ? String.format("- Return Date: %s", booking.getReturnDate()) : "",
-            booking.getPassengers() != null ? booking.getPassengers() : 1,
-            booking.getLuggage() != null ? booking.getLuggage() : "Not specified",
-            booking.getSpecialRequests() != null ? booking.getSpecialRequests() : "None",
-            booking.getStatus(),
-            booking.getRequestedAt()
-        );
+    private Map<String, Object> buildBookingEmailModel(VehicleBookingDTO booking, String vehicleName) {
+        Map<String, Object> model = new HashMap<>();
+        model.put("bookingId", booking.getBookingId());
+        model.put("customerName", booking.getCustomerName());
+        model.put("customerPhone", booking.getCustomerPhone());
+        model.put("customerEmail", booking.getCustomerEmail() != null ? booking.getCustomerEmail() : "Not provided");
+        model.put("vehicleName", vehicleName);
+        model.put("pickupLocation", booking.getPickupLocation() != null ? booking.getPickupLocation() : "Not specified");
+        model.put("dropLocation", booking.getDropLocation() != null ? booking.getDropLocation() : "Not specified");
+        model.put("tripDate", booking.getTripDate());
+        model.put("returnDate", booking.getReturnDate());
+        model.put("passengers", booking.getPassengers() != null ? booking.getPassengers() : 1);
+        model.put("luggage", booking.getLuggage() != null ? booking.getLuggage() : "Not specified");
+        model.put("specialRequests", booking.getSpecialRequests() != null ? booking.getSpecialRequests() : "None");
+        model.put("status", booking.getStatus());
+        model.put("requestedAt", booking.getRequestedAt());
+        return model;
     }
 
     private void sendBookingUpdateNotification(VehicleBookingDTO booking) {
@@ -447,10 +293,15 @@ public class VehicleBookingService {
                 try {
                     System.out.println("Sending email to: " + booking.getCustomerEmail());
                     String customerSubject = "Booking Status Update - Sairaj Travels";
-                    String customerHtml = buildBookingUpdateEmailHtml(booking, vehicleName);
-                    String customerText = buildBookingUpdateEmailText(booking, vehicleName);
-                    emailService.sendHtmlEmail(booking.getCustomerEmail(), customerSubject, customerHtml, customerText);
-                    System.out.println("✅ Email notification sent for booking: " + booking.getBookingId());
+                    Map<String, Object> model = buildBookingEmailModel(booking, vehicleName);
+                    model.put("statusColor", getStatusColor(booking.getStatus()));
+                    model.put("statusBackgroundColor", getStatusBackgroundColor(booking.getStatus()));
+                    model.put("statusTextColor", getStatusTextColor(booking.getStatus()));
+                    model.put("statusMessage", getStatusMessage(booking.getStatus()));
+                    String customerHtml = emailTemplateService.render("booking-status.html", model);
+                    String customerText = emailTemplateService.render("booking-status.txt", model);
+                    emailService.sendHtmlEmail(booking.getCustomerEmail(), customerSubject, customerHtml, customerText, "BOOKING_STATUS");
+                    System.out.println("✅ Email notification queued for booking: " + booking.getBookingId());
                 } catch (Exception emailError) {
                     System.err.println("⚠️ Failed to send booking update email (update still saved): " + emailError.getMessage());
                     emailError.printStackTrace();
@@ -468,114 +319,6 @@ public class VehicleBookingService {
         }
     }
 
-    private String buildBookingUpdateEmailHtml(VehicleBookingDTO booking, String vehicleName) {
-        String statusColor = getStatusColor(booking.getStatus());
-        String statusMessage = getStatusMessage(booking.getStatus());
-        
-        return String.format("""
-            <html>
-            <body style="font-family: Arial, sans-serif; line-height: 1.6; color: #333;">
-                <div style="max-width: 600px; margin: 0 auto; padding: 20px;">
-                    <h2 style="color: #2563eb;">Booking Status Update</h2>
-                    
-                    <p>Dear %s,</p>
-                    
-                    <p>Your booking status has been updated. Here are the current details:</p>
-                    
-                    <div style="background: #f8fafc; padding: 20px; border-radius: 8px; margin: 20px 0;">
-                        <h3 style="color: #1e40af; margin-top: 0;">Booking Details</h3>
-                        <p><strong>Booking ID:</strong> #%d</p>
-                        <p><strong>Vehicle:</strong> %s</p>
-                        <p><strong>Pickup Location:</strong> %s</p>
-                        <p><strong>Drop Location:</strong> %s</p>
-                        <p><strong>Trip Date:</strong> %s</p>
-                        %s
-                        <p><strong>Passengers:</strong> %d</p>
-                        <p><strong>Status:</strong> <span style="color: %s; font-weight: bold;">%s</span></p>
-                    </div>
-                    
-                    <div style="background: %s; padding: 15px; border-radius: 8px; margin: 20px 0;">
-                        <p style="margin: 0; color: %s; font-weight: bold;">%s</p>
-                    </div>
-                    
-                    <p>If you have any questions or need assistance, please contact us:</p>
-                    <ul>
-                        <li>Phone: +91 9850748273</li>
-                        <li>Email: admin@sairajtravels.com</li>
-                    </ul>
-                    
-                    <p>Thank you for choosing Sairaj Travels!</p>
-                    
-                    <hr style="margin: 30px 0; border: none; border-top: 1px solid #e5e7eb;">
-                    <p style="font-size: 12px; color: #6b7280;">
-                        Sairaj Travels - Your Trusted Travel Partner<br>
-                        This is an automated email. Please do not reply.
-                    </p>
-                </div>
-            </body>
-            </html>
-            """, 
-            booking.getCustomerName(),
-            booking.getBookingId(),
-            vehicleName,
-            booking.getPickupLocation() != null ? booking.getPickupLocation() : "Not specified",
-            booking.getDropLocation() != null ? booking.getDropLocation() : "Not specified",
-            booking.getTripDate(),
-            booking.getReturnDate() != null ? String.format("<p><strong>Return Date:</strong> %s</p>", booking.getReturnDate()) : "",
-            booking.getPassengers() != null ? booking.getPassengers() : 1,
-            statusColor,
-            booking.getStatus(),
-            getStatusBackgroundColor(booking.getStatus()),
-            getStatusTextColor(booking.getStatus()),
-            statusMessage
-        );
-    }
-
-    private String buildBookingUpdateEmailText(VehicleBookingDTO booking, String vehicleName) {
-        String statusMessage = getStatusMessage(booking.getStatus());
-        
-        return String.format("""
-            Booking Status Update
-            
-            Dear %s,
-            
-            Your booking status has been updated. Here are the current details:
-            
-            Booking Details:
-            - Booking ID: #%d
-            - Vehicle: %s
-            - Pickup Location: %s
-            - Drop Location: %s
-            - Trip Date: %s
-            %s
-            - Passengers: %d
-            - Status: %s
-            
-            %s
-            
-            If you have any questions or need assistance, please contact us:
-            - Phone: +91 9850748273
-            - Email: admin@sairajtravels.com
-            
-            Thank you for choosing Sairaj Travels!
-            
-            ---
-            Sairaj Travels - Your Trusted Travel Partner
-            This is an automated email. Please do not reply.
-            """, 
-            booking.getCustomerName(),
-            booking.getBookingId(),
-            vehicleName,
-            booking.getPickupLocation() != null ? booking.getPickupLocation() : "Not specified",
-            booking.getDropLocation() != null ? booking.getDropLocation() : "Not specified",
-            booking.getTripDate(),
-            booking.getReturnDate() != null ? String.format("- Return Date: %s", booking.getReturnDate()) : "",
-            booking.getPassengers() != null ? booking.getPassengers() : 1,
-            booking.getStatus(),
-            statusMessage
-        );
-    }
-
     private String getStatusColor(String status) {
         return switch (status.toUpperCase()) {
             case "CONFIRMED" -> "#059669";
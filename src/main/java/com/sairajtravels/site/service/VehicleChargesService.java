@@ -16,10 +16,15 @@ public class VehicleChargesService {
 
     private final VehicleChargesRepository vehicleChargesRepository;
     private final VehicleRepository vehicleRepository;
+    private final VehicleDetailsService vehicleDetailsService;
+    private final ContentVersionService contentVersionService;
 
-    public VehicleChargesService(VehicleChargesRepository vehicleChargesRepository, VehicleRepository vehicleRepository) {
+    public VehicleChargesService(VehicleChargesRepository vehicleChargesRepository, VehicleRepository vehicleRepository,
+                                 VehicleDetailsService vehicleDetailsService, ContentVersionService contentVersionService) {
         this.vehicleChargesRepository = vehicleChargesRepository;
         this.vehicleRepository = vehicleRepository;
+        this.vehicleDetailsService = vehicleDetailsService;
+        this.contentVersionService = contentVersionService;
     }
 
     private VehicleChargesDTO convertToDTO(VehicleCharges charges) {
@@ -84,19 +89,35 @@ public class VehicleChargesService {
 
     public VehicleChargesDTO createCharges(VehicleChargesDTO dto) {
         VehicleCharges saved = vehicleChargesRepository.save(convertToEntity(dto));
+        vehicleChanged(vehicleIdOf(saved));
         return convertToDTO(saved);
     }
 
     public VehicleChargesDTO updateCharges(Integer id, VehicleChargesDTO dto) {
-        if (vehicleChargesRepository.existsById(id)) {
+        Optional<VehicleCharges> existing = vehicleChargesRepository.findById(id);
+        if (existing.isPresent()) {
+            Integer previousVehicleId = vehicleIdOf(existing.get());
             dto.setChargeId(id);
             VehicleCharges updated = vehicleChargesRepository.save(convertToEntity(dto));
+            vehicleChanged(previousVehicleId, vehicleIdOf(updated));
             return convertToDTO(updated);
         }
         return null;
     }
 
     public void deleteCharges(Integer id) {
+        Integer vehicleId = vehicleChargesRepository.findById(id).map(VehicleChargesService::vehicleIdOf).orElse(null);
         vehicleChargesRepository.deleteById(id);
+        vehicleChanged(vehicleId);
+    }
+
+    // Evict the vehicle page(s) showing these charges
+    private void vehicleChanged(Integer... vehicleIds) {
+        vehicleDetailsService.evict(vehicleIds);
+        contentVersionService.bump(ContentVersionService.Catalog.VEHICLES);
+    }
+
+    private static Integer vehicleIdOf(VehicleCharges charges) {
+        return charges.getVehicle() != null ? charges.getVehicle().getVehicleId() : null;
     }
 }
@@ -0,0 +1,258 @@
+package com.sairajtravels.site.service;
+
+import com.sairajtravels.site.dto.VehicleDetailsDTO;
+import com.sairajtravels.site.entity.Vehicle;
+import com.sairajtravels.site.entity.VehicleCharges;
+import com.sairajtravels.site.entity.VehicleImage;
+import com.sairajtravels.site.entity.VehiclePricing;
+import com.sairajtravels.site.entity.VehicleTerm;
+import com.sairajtravels.site.event.CatalogChangedEvent;
+import com.sairajtravels.site.repository.VehicleChargesRepository;
+import com.sairajtravels.site.repository.VehicleImageRepository;
+import com.sairajtravels.site.repository.VehiclePricingRepository;
+import com.sairajtravels.site.repository.VehicleRepository;
+import com.sairajtravels.site.repository.VehicleTermRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Read model behind the vehicle page: the vehicle with its pricing, charges,
+ * terms and images, assembled once and cached per vehicle.
+ *
+ * Loading takes four queries on one connection (the vehicle with its pricing
+ * fetch-joined, then the other three children). Running them in parallel makes
+ * a lone uncached load faster, but it needs four pooled connections per load.
+ * Uncached loads bunch up after the cache is cleared, and then the pool is
+ * contended and the sequential load keeps equal or better throughput
+ * (VehicleDetailsQueryBenchmarkTest). {@link #getFleetDetails} loads many vehicles with one IN query
+ * per table instead. The vehicle and vehicle-child services call {@link #evict} for
+ * exactly the vehicles a write touched, and again once background image
+ * processing has produced new variants or metadata; other nodes drop the whole
+ * cache when they see the VEHICLES version move.
+ */
+@Service
+public class VehicleDetailsService {
+
+    public static final String CACHE_NAME = "vehicleDetails";
+
+    // Vehicles per IN query
+    private static final int LOAD_CHUNK_SIZE = 500;
+
+    private final VehicleRepository vehicleRepository;
+    private final VehiclePricingRepository vehiclePricingRepository;
+    private final VehicleChargesRepository vehicleChargesRepository;
+    private final VehicleTermRepository vehicleTermRepository;
+    private final VehicleImageRepository vehicleImageRepository;
+    private final ImageDerivativeService imageDerivativeService;
+    private final CacheManager cacheManager;
+
+    public VehicleDetailsService(VehicleRepository vehicleRepository,
+                                 VehiclePricingRepository vehiclePricingRepository,
+                                 VehicleChargesRepository vehicleChargesRepository,
+                                 VehicleTermRepository vehicleTermRepository,
+                                 VehicleImageRepository vehicleImageRepository,
+                                 ImageDerivativeService imageDerivativeService,
+                                 CacheManager cacheManager) {
+        this.vehicleRepository = vehicleRepository;
+        this.vehiclePricingRepository = vehiclePricingRepository;
+        this.vehicleChargesRepository = vehicleChargesRepository;
+        this.vehicleTermRepository = vehicleTermRepository;
+        this.vehicleImageRepository = vehicleImageRepository;
+        this.imageDerivativeService = imageDerivativeService;
+        this.cacheManager = cacheManager;
+    }
+
+    // Full details for one vehicle, or null if it does not exist
+    @Cacheable(value = CACHE_NAME, key = "#vehicleId", unless = "#result == null")
+    @Transactional(readOnly = true)
+    public VehicleDetailsDTO getVehicleDetails(Integer vehicleId) {
+        Vehicle vehicle = vehicleRepository.findWithPricingById(vehicleId).orElse(null);
+        if (vehicle == null) {
+            return null;
+        }
+
+        return assemble(vehicle,
+                vehicle.getPricingList(),
+                vehicleChargesRepository.findByVehicle_VehicleId(vehicleId),
+                vehicleTermRepository.findByVehicle_VehicleId(vehicleId),
+                vehicleImageRepository.findByVehicle_VehicleId(vehicleId));
+    }
+
+    /**
+     * Full details for several vehicles (every vehicle when no ids are given), in
+     * the order asked for; unknown ids are skipped. Vehicles already cached come
+     * from the cache, the rest are loaded together with one IN query per table
+     * (500 vehicles at a time) and cached individually, so a fleet page costs at
+     * most five queries per 500 vehicles loaded.
+     */
+    @Transactional(readOnly = true)
+    public List<VehicleDetailsDTO> getFleetDetails(List<Integer> vehicleIds) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        Map<Integer, VehicleDetailsDTO> details = new LinkedHashMap<>();
+        List<Vehicle> toLoad;
+
+        if (vehicleIds == null || vehicleIds.isEmpty()) {
+            toLoad = new ArrayList<>();
+            for (Vehicle vehicle : vehicleRepository.findAll()) {
+                VehicleDetailsDTO cached = cache != null ? cache.get(vehicle.getVehicleId(), VehicleDetailsDTO.class) : null;
+                details.put(vehicle.getVehicleId(), cached);
+                if (cached == null) {
+                    toLoad.add(vehicle);
+                }
+            }
+        } else {
+            Set<Integer> missing = new LinkedHashSet<>();
+            for (Integer vehicleId : vehicleIds) {
+                if (vehicleId == null || details.containsKey(vehicleId)) {
+                    continue;
+                }
+                VehicleDetailsDTO cached = cache != null ? cache.get(vehicleId, VehicleDetailsDTO.class) : null;
+                details.put(vehicleId, cached);
+                if (cached == null) {
+                    missing.add(vehicleId);
+                }
+            }
+            toLoad = new ArrayList<>(missing.size());
+            List<Integer> missingIds = new ArrayList<>(missing);
+            for (int start = 0; start < missingIds.size(); start += LOAD_CHUNK_SIZE) {
+                toLoad.addAll(vehicleRepository.findAllById(
+                        missingIds.subList(start, Math.min(start + LOAD_CHUNK_SIZE, missingIds.size()))));
+            }
+        }
+
+        // One IN query per table per chunk, keeping each under SQL Server's 2100-parameter limit
+        for (int start = 0; start < toLoad.size(); start += LOAD_CHUNK_SIZE) {
+            List<Vehicle> chunk = toLoad.subList(start, Math.min(start + LOAD_CHUNK_SIZE, toLoad.size()));
+            Set<Integer> ids = chunk.stream().map(Vehicle::getVehicleId).collect(Collectors.toSet());
+            Map<Integer, List<VehiclePricing>> pricing = vehiclePricingRepository.findByVehicle_VehicleIdIn(ids).stream()
+                    .collect(Collectors.groupingBy(p -> p.getVehicle().getVehicleId()));
+            Map<Integer, List<VehicleCharges>> charges = vehicleChargesRepository.findByVehicle_VehicleIdIn(ids).stream()
+                    .collect(Collectors.groupingBy(c -> c.getVehicle().getVehicleId()));
+            Map<Integer, List<VehicleTerm>> terms = vehicleTermRepository.findByVehicle_VehicleIdIn(ids).stream()
+                    .collect(Collectors.groupingBy(t -> t.getVehicle().getVehicleId()));
+            Map<Integer, List<VehicleImage>> images = vehicleImageRepository.findByVehicle_VehicleIdIn(ids).stream()
+                    .collect(Collectors.groupingBy(i -> i.getVehicle().getVehicleId()));
+
+            for (Vehicle vehicle : chunk) {
+                Integer id = vehicle.getVehicleId();
+                VehicleDetailsDTO dto = assemble(vehicle,
+                        pricing.getOrDefault(id, List.of()),
+                        charges.getOrDefault(id, List.of()),
+                        terms.getOrDefault(id, List.of()),
+                        images.getOrDefault(id, List.of()));
+                details.put(id, dto);
+                if (cache != null) {
+                    cache.put(id, dto);
+                }
+            }
+        }
+
+        // Requested ids that matched no vehicle are still null here
+        return details.values().stream().filter(Objects::nonNull).toList();
+    }
+
+    // Drop the cached details of the given vehicles (nulls and repeats are ignored)
+    public void evict(Integer... vehicleIds) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return;
+        }
+        for (Integer vehicleId : vehicleIds) {
+            if (vehicleId != null) {
+                cache.evict(vehicleId);
+            }
+        }
+    }
+
+    // Another node changed vehicle data; we cannot tell which vehicle, so start over
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.catalog() == ContentVersionService.Catalog.VEHICLES && event.remote()) {
+            Cache cache = cacheManager.getCache(CACHE_NAME);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    private VehicleDetailsDTO assemble(Vehicle vehicle, List<VehiclePricing> pricing, List<VehicleCharges> charges,
+                                       List<VehicleTerm> terms, List<VehicleImage> images) {
+        VehicleDetailsDTO dto = new VehicleDetailsDTO();
+        dto.setVehicle(toVehicleDTO(vehicle));
+        dto.setPricing(pricing.stream().map(VehicleDetailsService::toPricingDTO).toList());
+        dto.setCharges(charges.stream().map(VehicleDetailsService::toChargesDTO).toList());
+        dto.setTerms(terms.stream().map(VehicleDetailsService::toTermDTO).toList());
+        dto.setImages(images.stream().map(this::toImageDTO).toList());
+        return dto;
+    }
+
+    private VehicleDetailsDTO.VehicleDTO toVehicleDTO(Vehicle vehicle) {
+        VehicleDetailsDTO.VehicleDTO vdto = new VehicleDetailsDTO.VehicleDTO();
+        vdto.setVehicleId(vehicle.getVehicleId());
+        vdto.setName(vehicle.getName());
+        vdto.setType(vehicle.getType());
+        vdto.setCapacity(vehicle.getCapacity());
+        vdto.setIsAC(vehicle.getIsAC());
+        vdto.setDescription(vehicle.getDescription());
+        vdto.setMainImageUrl(vehicle.getMainImageUrl());
+        vdto.setMainImageVariants(imageDerivativeService.variantsFor(vehicle.getMainImageUrl()));
+        return vdto;
+    }
+
+    private static VehicleDetailsDTO.VehiclePricingDTO toPricingDTO(VehiclePricing p) {
+        VehicleDetailsDTO.VehiclePricingDTO pdto = new VehicleDetailsDTO.VehiclePricingDTO();
+        pdto.setPricingId(p.getPricingId());
+        pdto.setRatePerKm(p.getRatePerKm());
+        pdto.setExtraKmRate(p.getExtraKmRate());
+        pdto.setExtraHourRate(p.getExtraHourRate());
+        pdto.setMinKmPerDay(p.getMinKmPerDay());
+        pdto.setPackageRate(p.getPackageRate());
+        pdto.setPackageKm(p.getPackageKm());
+        pdto.setPackageHours(p.getPackageHours());
+        pdto.setRateType(p.getRateType());
+        return pdto;
+    }
+
+    private static VehicleDetailsDTO.VehicleChargesDTO toChargesDTO(VehicleCharges c) {
+        VehicleDetailsDTO.VehicleChargesDTO cdto = new VehicleDetailsDTO.VehicleChargesDTO();
+        cdto.setChargeId(c.getChargeId());
+        cdto.setDriverAllowance(c.getDriverAllowance());
+        cdto.setTollIncluded(c.getTollIncluded());
+        cdto.setParkingIncluded(c.getParkingIncluded());
+        cdto.setFuelIncluded(c.getFuelIncluded());
+        cdto.setNightCharge(c.getNightCharge());
+        return cdto;
+    }
+
+    private static VehicleDetailsDTO.VehicleTermDTO toTermDTO(VehicleTerm t) {
+        VehicleDetailsDTO.VehicleTermDTO tdto = new VehicleDetailsDTO.VehicleTermDTO();
+        tdto.setTermId(t.getTermId());
+        tdto.setTermText(t.getTermText());
+        return tdto;
+    }
+
+    private VehicleDetailsDTO.VehicleImageDTO toImageDTO(VehicleImage i) {
+        VehicleDetailsDTO.VehicleImageDTO idto = new VehicleDetailsDTO.VehicleImageDTO();
+        idto.setImageId(i.getImageId());
+        idto.setImageUrl(i.getImageUrl());
+        idto.setImageVariants(imageDerivativeService.variantsFor(i.getImageUrl()));
+        idto.setImageWidth(i.getImageWidth());
+        idto.setImageHeight(i.getImageHeight());
+        idto.setDominantColor(i.getDominantColor());
+        idto.setBlurHash(i.getBlurHash());
+        return idto;
+    }
+}
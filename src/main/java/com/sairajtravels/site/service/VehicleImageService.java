@@ -16,24 +16,44 @@ public class VehicleImageService {
 
     private final VehicleImageRepository vehicleImageRepository;
     private final VehicleRepository vehicleRepository;
+    private final ImageDerivativeService imageDerivativeService;
+    private final VehicleDetailsService vehicleDetailsService;
+    private final ContentVersionService contentVersionService;
 
-    public VehicleImageService(VehicleImageRepository vehicleImageRepository, VehicleRepository vehicleRepository) {
+    public VehicleImageService(VehicleImageRepository vehicleImageRepository, VehicleRepository vehicleRepository,
+                               ImageDerivativeService imageDerivativeService,
+                               VehicleDetailsService vehicleDetailsService, ContentVersionService contentVersionService) {
         this.vehicleImageRepository = vehicleImageRepository;
         this.vehicleRepository = vehicleRepository;
+        this.imageDerivativeService = imageDerivativeService;
+        this.vehicleDetailsService = vehicleDetailsService;
+        this.contentVersionService = contentVersionService;
     }
 
     private VehicleImageDTO convertToDTO(VehicleImage img) {
-        return new VehicleImageDTO(
+        VehicleImageDTO dto = new VehicleImageDTO(
                 img.getImageId(),
                 img.getVehicle() != null ? img.getVehicle().getVehicleId() : null,
                 img.getImageUrl()
         );
+        dto.setImageVariants(imageDerivativeService.variantsFor(img.getImageUrl()));
+        dto.setImageWidth(img.getImageWidth());
+        dto.setImageHeight(img.getImageHeight());
+        dto.setDominantColor(img.getDominantColor());
+        dto.setBlurHash(img.getBlurHash());
+        return dto;
     }
 
     private VehicleImage convertToEntity(VehicleImageDTO dto) {
         VehicleImage img = new VehicleImage();
         img.setImageId(dto.getImageId());
         img.setImageUrl(dto.getImageUrl());
+        imageDerivativeService.metadataFor(dto.getImageUrl()).ifPresent(metadata -> {
+            img.setImageWidth(metadata.width());
+            img.setImageHeight(metadata.height());
+            img.setDominantColor(metadata.dominantColor());
+            img.setBlurHash(metadata.blurHash());
+        });
 
         if (dto.getVehicleId() != null) {
             Optional<Vehicle> vehicle = vehicleRepository.findById(dto.getVehicleId());
@@ -58,19 +78,50 @@ public class VehicleImageService {
 
     public VehicleImageDTO createImage(VehicleImageDTO dto) {
         VehicleImage saved = vehicleImageRepository.save(convertToEntity(dto));
+        vehicleChanged(vehicleIdOf(saved));
+        processImage(saved.getImageUrl());
         return convertToDTO(saved);
     }
 
     public VehicleImageDTO updateImage(Integer id, VehicleImageDTO dto) {
-        if (vehicleImageRepository.existsById(id)) {
+        Optional<VehicleImage> existing = vehicleImageRepository.findById(id);
+        if (existing.isPresent()) {
+            Integer previousVehicleId = vehicleIdOf(existing.get());
             dto.setImageId(id);
             VehicleImage updated = vehicleImageRepository.save(convertToEntity(dto));
+            vehicleChanged(previousVehicleId, vehicleIdOf(updated));
+            processImage(updated.getImageUrl());
             return convertToDTO(updated);
         }
         return null;
     }
 
     public void deleteImage(Integer imageId) {
+        Integer vehicleId = vehicleImageRepository.findById(imageId).map(VehicleImageService::vehicleIdOf).orElse(null);
         vehicleImageRepository.deleteById(imageId);
+        vehicleChanged(vehicleId);
+    }
+
+    // Gallery images are part of the cached vehicle details
+    private void vehicleChanged(Integer... vehicleIds) {
+        vehicleDetailsService.evict(vehicleIds);
+        contentVersionService.bump(ContentVersionService.Catalog.VEHICLES);
+    }
+
+    private static Integer vehicleIdOf(VehicleImage image) {
+        return image.getVehicle() != null ? image.getVehicle().getVehicleId() : null;
+    }
+
+    // Generate resized copies and metadata, then store the metadata on every row showing the image;
+    // the details cached before this finished lack the variants or metadata, so drop them
+    private void processImage(String imageUrl) {
+        imageDerivativeService.process(imageUrl).thenAccept(created -> {
+            int updated = imageDerivativeService.metadataFor(imageUrl)
+                    .map(m -> vehicleImageRepository.updateImageMetadata(imageUrl, m.width(), m.height(), m.dominantColor(), m.blurHash()))
+                    .orElse(0);
+            if (created || updated > 0) {
+                vehicleChanged(vehicleImageRepository.findVehicleIdsByImageUrl(imageUrl).toArray(Integer[]::new));
+            }
+        });
     }
 }
@@ -16,10 +16,15 @@ public class VehiclePricingService {
 
     private final VehiclePricingRepository vehiclePricingRepository;
     private final VehicleRepository vehicleRepository;
+    private final VehicleDetailsService vehicleDetailsService;
+    private final ContentVersionService contentVersionService;
 
-    public VehiclePricingService(VehiclePricingRepository vehiclePricingRepository, VehicleRepository vehicleRepository) {
+    public VehiclePricingService(VehiclePricingRepository vehiclePricingRepository, VehicleRepository vehicleRepository,
+                                 VehicleDetailsService vehicleDetailsService, ContentVersionService contentVersionService) {
         this.vehiclePricingRepository = vehiclePricingRepository;
         this.vehicleRepository = vehicleRepository;
+        this.vehicleDetailsService = vehicleDetailsService;
+        this.contentVersionService = contentVersionService;
     }
 
     private VehiclePricingDTO convertToDTO(VehiclePricing pricing) {
@@ -90,19 +95,35 @@ public class VehiclePricingService {
 
     public VehiclePricingDTO createPricing(VehiclePricingDTO dto) {
         VehiclePricing saved = vehiclePricingRepository.save(convertToEntity(dto));
+        vehicleChanged(vehicleIdOf(saved));
         return convertToDTO(saved);
     }
 
     public VehiclePricingDTO updatePricing(Integer id, VehiclePricingDTO dto) {
-        if (vehiclePricingRepository.existsById(id)) {
+        Optional<VehiclePricing> existing = vehiclePricingRepository.findById(id);
+        if (existing.isPresent()) {
+            Integer previousVehicleId = vehicleIdOf(existing.get());
             dto.setPricingId(id);
             VehiclePricing updated = vehiclePricingRepository.save(convertToEntity(dto));
+            vehicleChanged(previousVehicleId, vehicleIdOf(updated));
             return convertToDTO(updated);
         }
         return null;
     }
 
     public void deletePricing(Integer id) {
+        Integer vehicleId = vehiclePricingRepository.findById(id).map(VehiclePricingService::vehicleIdOf).orElse(null);
         vehiclePricingRepository.deleteById(id);
+        vehicleChanged(vehicleId);
+    }
+
+    // Pricing is part of the cached vehicle details
+    private void vehicleChanged(Integer... vehicleIds) {
+        vehicleDetailsService.evict(vehicleIds);
+        contentVersionService.bump(ContentVersionService.Catalog.VEHICLES);
+    }
+
+    private static Integer vehicleIdOf(VehiclePricing pricing) {
+        return pricing.getVehicle() != null ? pricing.getVehicle().getVehicleId() : null;
     }
 }
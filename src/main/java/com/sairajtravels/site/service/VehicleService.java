@@ -4,6 +4,8 @@ import com.sairajtravels.site.dto.VehicleDTO;
 import com.sairajtravels.site.dto.VehicleTypeDTO;
 import com.sairajtravels.site.entity.Vehicle;
 import com.sairajtravels.site.repository.VehicleRepository;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -14,9 +16,16 @@ import java.util.stream.Collectors;
 public class VehicleService {
 
     private final VehicleRepository vehicleRepository;
+    private final ContentVersionService contentVersionService;
+    private final ImageDerivativeService imageDerivativeService;
+    private final VehicleDetailsService vehicleDetailsService;
 
-    public VehicleService(VehicleRepository vehicleRepository) {
+    public VehicleService(VehicleRepository vehicleRepository, ContentVersionService contentVersionService,
+                          ImageDerivativeService imageDerivativeService, VehicleDetailsService vehicleDetailsService) {
         this.vehicleRepository = vehicleRepository;
+        this.contentVersionService = contentVersionService;
+        this.imageDerivativeService = imageDerivativeService;
+        this.vehicleDetailsService = vehicleDetailsService;
     }
 
     // Convert Entity -> DTO
@@ -30,6 +39,22 @@ public class VehicleService {
         dto.setDescription(vehicle.getDescription());
         dto.setCreatedAt(vehicle.getCreatedAt());
         dto.setMainImageUrl(vehicle.getMainImageUrl()); // ✅ added new column
+        dto.setMainImageVariants(imageDerivativeService.variantsFor(vehicle.getMainImageUrl()));
+        return dto;
+    }
+
+    // Convert list projection -> DTO
+    private VehicleDTO convertToDTO(VehicleRepository.VehicleListRow row) {
+        VehicleDTO dto = new VehicleDTO();
+        dto.setVehicleId(row.getVehicleId());
+        dto.setName(row.getName());
+        dto.setType(row.getType());
+        dto.setCapacity(row.getCapacity());
+        dto.setIsAC(row.getIsAC());
+        dto.setDescription(row.getDescription());
+        dto.setCreatedAt(row.getCreatedAt());
+        dto.setMainImageUrl(row.getMainImageUrl());
+        dto.setMainImageVariants(imageDerivativeService.variantsFor(row.getMainImageUrl()));
         return dto;
     }
 
@@ -48,8 +73,19 @@ public class VehicleService {
     }
 
     // CRUD methods
+    @Cacheable(value = "vehicles", key = "'all'")
     public List<VehicleDTO> getAllVehicles() {
-        return vehicleRepository.findAll().stream()
+        return loadAllVehicles();
+    }
+
+    // Reload the vehicle list into the cache without evicting first (refresh-ahead)
+    @CachePut(value = "vehicles", key = "'all'")
+    public List<VehicleDTO> refreshAllVehicles() {
+        return loadAllVehicles();
+    }
+
+    private List<VehicleDTO> loadAllVehicles() {
+        return vehicleRepository.findListRows().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
@@ -61,6 +97,8 @@ public class VehicleService {
 
     public VehicleDTO createVehicle(VehicleDTO dto) {
         Vehicle saved = vehicleRepository.save(convertToEntity(dto));
+        contentVersionService.bump(ContentVersionService.Catalog.VEHICLES);
+        processImage(saved.getVehicleId(), saved.getMainImageUrl());
         return convertToDTO(saved);
     }
 
@@ -68,6 +106,9 @@ public class VehicleService {
         if (vehicleRepository.existsById(id)) {
             dto.setVehicleId(id);
             Vehicle updated = vehicleRepository.save(convertToEntity(dto));
+            vehicleDetailsService.evict(id);
+            contentVersionService.bump(ContentVersionService.Catalog.VEHICLES);
+            processImage(id, updated.getMainImageUrl());
             return convertToDTO(updated);
         }
         return null;
@@ -75,18 +116,31 @@ public class VehicleService {
 
     public void deleteVehicle(Integer id) {
         vehicleRepository.deleteById(id);
+        vehicleDetailsService.evict(id);
+        contentVersionService.bump(ContentVersionService.Catalog.VEHICLES);
+    }
+
+    // Generate resized copies; once they exist the cached vehicle list and details must be rebuilt to include them
+    private void processImage(Integer vehicleId, String imageUrl) {
+        imageDerivativeService.process(imageUrl).thenAccept(created -> {
+            if (created) {
+                vehicleDetailsService.evict(vehicleId);
+                contentVersionService.bump(ContentVersionService.Catalog.VEHICLES);
+            }
+        });
     }
 
-    // Get unique vehicle types for dropdown
+    // Get unique vehicle types for dropdown (cleared with the rest of the vehicles cache on any vehicle write)
+    @Cacheable(value = "vehicles", key = "'types'")
     public List<VehicleTypeDTO> getVehicleTypes() {
-        return vehicleRepository.findAll().stream()
-                .map(vehicle -> {
+        return vehicleRepository.findTypeRows().stream()
+                .map(row -> {
                     VehicleTypeDTO typeDTO = new VehicleTypeDTO();
-                    typeDTO.setId(vehicle.getVehicleId().toString());
-                    typeDTO.setName(vehicle.getName());
-                    typeDTO.setCapacity(vehicle.getCapacity());
-                    typeDTO.setType(vehicle.getType());
-                    typeDTO.setIsAC(vehicle.getIsAC());
+                    typeDTO.setId(row.getVehicleId().toString());
+                    typeDTO.setName(row.getName());
+                    typeDTO.setCapacity(row.getCapacity());
+                    typeDTO.setType(row.getType());
+                    typeDTO.setIsAC(row.getIsAC());
                     return typeDTO;
                 })
                 .collect(Collectors.toList());
@@ -16,10 +16,15 @@ public class VehicleTermService {
 
     private final VehicleTermRepository vehicleTermRepository;
     private final VehicleRepository vehicleRepository;
+    private final VehicleDetailsService vehicleDetailsService;
+    private final ContentVersionService contentVersionService;
 
-    public VehicleTermService(VehicleTermRepository vehicleTermRepository, VehicleRepository vehicleRepository) {
+    public VehicleTermService(VehicleTermRepository vehicleTermRepository, VehicleRepository vehicleRepository,
+                              VehicleDetailsService vehicleDetailsService, ContentVersionService contentVersionService) {
         this.vehicleTermRepository = vehicleTermRepository;
         this.vehicleRepository = vehicleRepository;
+        this.vehicleDetailsService = vehicleDetailsService;
+        this.contentVersionService = contentVersionService;
     }
 
     private VehicleTermDTO convertToDTO(VehicleTerm term) {
@@ -58,19 +63,35 @@ public class VehicleTermService {
 
     public VehicleTermDTO createTerm(VehicleTermDTO dto) {
         VehicleTerm saved = vehicleTermRepository.save(convertToEntity(dto));
+        vehicleChanged(vehicleIdOf(saved));
         return convertToDTO(saved);
     }
 
     public VehicleTermDTO updateTerm(Integer id, VehicleTermDTO dto) {
-        if (vehicleTermRepository.existsById(id)) {
+        Optional<VehicleTerm> existing = vehicleTermRepository.findById(id);
+        if (existing.isPresent()) {
+            Integer previousVehicleId = vehicleIdOf(existing.get());
             dto.setTermId(id);
             VehicleTerm updated = vehicleTermRepository.save(convertToEntity(dto));
+            vehicleChanged(previousVehicleId, vehicleIdOf(updated));
             return convertToDTO(updated);
         }
         return null;
     }
 
     public void deleteTerm(Integer id) {
+        Integer vehicleId = vehicleTermRepository.findById(id).map(VehicleTermService::vehicleIdOf).orElse(null);
         vehicleTermRepository.deleteById(id);
+        vehicleChanged(vehicleId);
+    }
+
+    // Terms are shown on the vehicle page, so its cached details go too
+    private void vehicleChanged(Integer... vehicleIds) {
+        vehicleDetailsService.evict(vehicleIds);
+        contentVersionService.bump(ContentVersionService.Catalog.VEHICLES);
+    }
+
+    private static Integer vehicleIdOf(VehicleTerm term) {
+        return term.getVehicle() != null ? term.getVehicle().getVehicleId() : null;
     }
 }
@@ -0,0 +1,246 @@
+package com.sairajtravels.site.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A mail template compiled once into static text segments and value slots.
+ *
+ * Syntax:
+ * <ul>
+ *   <li>{@code {{name}}} - value, HTML-escaped when the template is HTML</li>
+ *   <li>{@code {{{name}}}} - value inserted as-is</li>
+ *   <li>{@code {{#name}} ... {{/name}}} - rendered when the value is present, non-empty and not
+ *       {@code false}; a collection renders the body once per element, and map elements become
+ *       the lookup scope for their iteration</li>
+ * </ul>
+ * Section tags that sit alone on a line take the whole line with them, so optional rows do not
+ * leave blank lines behind.
+ */
+public final class EmailTemplate {
+
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(4096));
+
+    private final String name;
+    private final boolean html;
+    private final Segment[] segments;
+
+    private EmailTemplate(String name, boolean html, Segment[] segments) {
+        this.name = name;
+        this.html = html;
+        this.segments = segments;
+    }
+
+    public static EmailTemplate compile(String name, String source, boolean html) {
+        return new EmailTemplate(name, html, new Parser(name, stripStandaloneSectionLines(source)).parse());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isHtml() {
+        return html;
+    }
+
+    public String render(Map<String, ?> model) {
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        Deque<Map<String, ?>> scopes = new ArrayDeque<>();
+        scopes.push(model != null ? model : Map.of());
+        renderSegments(segments, scopes, out);
+        String result = out.toString();
+        if (out.capacity() > MAX_RETAINED_BUFFER) {
+            // Don't keep an oversized buffer pinned to a pooled thread
+            BUFFER.remove();
+        }
+        return result;
+    }
+
+    public static String escapeHtml(String s) {
+        if (s == null) return "";
+        StringBuilder out = null;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            String replacement = switch (c) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                default -> null;
+            };
+            if (replacement != null) {
+                if (out == null) {
+                    out = new StringBuilder(s.length() + 16);
+                    out.append(s, 0, i);
+                }
+                out.append(replacement);
+            } else if (out != null) {
+                out.append(c);
+            }
+        }
+        return out != null ? out.toString() : s;
+    }
+
+    private void renderSegments(Segment[] body, Deque<Map<String, ?>> scopes, StringBuilder out) {
+        for (Segment segment : body) {
+            if (segment instanceof Text text) {
+                out.append(text.value());
+            } else if (segment instanceof Slot slot) {
+                Object value = lookup(scopes, slot.name());
+                if (value != null) {
+                    String str = String.valueOf(value);
+                    out.append(html && slot.escape() ? escapeHtml(str) : str);
+                }
+            } else if (segment instanceof Section section) {
+                renderSection(section, lookup(scopes, section.name()), scopes, out);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void renderSection(Section section, Object value, Deque<Map<String, ?>> scopes, StringBuilder out) {
+        if (value instanceof Collection<?> items) {
+            for (Object item : items) {
+                if (item instanceof Map<?, ?> map) {
+                    scopes.push((Map<String, ?>) map);
+                    renderSegments(section.body(), scopes, out);
+                    scopes.pop();
+                } else {
+                    renderSegments(section.body(), scopes, out);
+                }
+            }
+        } else if (isTruthy(value)) {
+            renderSegments(section.body(), scopes, out);
+        }
+    }
+
+    private static boolean isTruthy(Object value) {
+        if (value == null) return false;
+        if (value instanceof Boolean b) return b;
+        if (value instanceof CharSequence cs) return cs.length() > 0;
+        return true;
+    }
+
+    private static Object lookup(Deque<Map<String, ?>> scopes, String key) {
+        for (Map<String, ?> scope : scopes) {
+            if (scope.containsKey(key)) {
+                return scope.get(key);
+            }
+        }
+        return null;
+    }
+
+    private static String stripStandaloneSectionLines(String source) {
+        StringBuilder out = new StringBuilder(source.length());
+        int start = 0;
+        while (start < source.length()) {
+            int end = source.indexOf('\n', start);
+            int next = end < 0 ? source.length() : end + 1;
+            String line = source.substring(start, end < 0 ? source.length() : end);
+            String trimmed = line.strip();
+            if (isSectionTag(trimmed)) {
+                out.append(trimmed);
+            } else {
+                out.append(source, start, next);
+            }
+            start = next;
+        }
+        return out.toString();
+    }
+
+    private static boolean isSectionTag(String s) {
+        return s.length() > 5 && s.startsWith("{{") && s.endsWith("}}")
+                && (s.charAt(2) == '#' || s.charAt(2) == '/')
+                && s.indexOf("}}") == s.length() - 2;
+    }
+
+    private sealed interface Segment permits Text, Slot, Section {
+    }
+
+    private record Text(String value) implements Segment {
+    }
+
+    private record Slot(String name, boolean escape) implements Segment {
+    }
+
+    private record Section(String name, Segment[] body) implements Segment {
+    }
+
+    private static final class Parser {
+
+        private final String templateName;
+        private final String source;
+        private int pos;
+
+        Parser(String templateName, String source) {
+            this.templateName = templateName;
+            this.source = source;
+        }
+
+        Segment[] parse() {
+            return parseUntil(null);
+        }
+
+        private Segment[] parseUntil(String closingSection) {
+            List<Segment> segments = new ArrayList<>();
+            while (pos < source.length()) {
+                int open = source.indexOf("{{", pos);
+                if (open < 0) {
+                    segments.add(new Text(source.substring(pos)));
+                    pos = source.length();
+                    break;
+                }
+                if (open > pos) {
+                    segments.add(new Text(source.substring(pos, open)));
+                }
+
+                boolean raw = source.startsWith("{{{", open);
+                String closer = raw ? "}}}" : "}}";
+                int close = source.indexOf(closer, open);
+                if (close < 0) {
+                    throw error("unclosed tag", open);
+                }
+                String tag = source.substring(open + (raw ? 3 : 2), close).strip();
+                pos = close + closer.length();
+
+                if (raw) {
+                    segments.add(new Slot(requireName(tag, open), false));
+                } else if (tag.startsWith("#")) {
+                    String section = requireName(tag.substring(1).strip(), open);
+                    segments.add(new Section(section, parseUntil(section)));
+                } else if (tag.startsWith("/")) {
+                    String section = tag.substring(1).strip();
+                    if (!section.equals(closingSection)) {
+                        throw error("unexpected {{/" + section + "}}", open);
+                    }
+                    return segments.toArray(new Segment[0]);
+                } else {
+                    segments.add(new Slot(requireName(tag, open), true));
+                }
+            }
+            if (closingSection != null) {
+                throw error("missing {{/" + closingSection + "}}", source.length());
+            }
+            return segments.toArray(new Segment[0]);
+        }
+
+        private String requireName(String name, int at) {
+            if (name.isEmpty()) {
+                throw error("empty tag", at);
+            }
+            return name;
+        }
+
+        private IllegalArgumentException error(String message, int at) {
+            return new IllegalArgumentException("Email template '" + templateName + "': " + message + " at offset " + at);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.sairajtravels.site.util;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Small summaries of an image the frontend can paint before the real file
+ * arrives: a dominant colour and a BlurHash (https://blurha.sh), a ~30 character
+ * string that decodes to a blurred preview. Both are computed from an already
+ * downscaled image, so they are cheap regardless of the upload size.
+ */
+public final class ImagePlaceholders {
+
+    private static final String BASE83 =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz#$%*+,-.:;=?@[]^_{|}~";
+
+    private ImagePlaceholders() {
+    }
+
+    /**
+     * Average colour of the most common 4-bit-per-channel colour bucket, as #rrggbb.
+     * Unlike a plain average this picks an actual colour in the picture
+     * (a blue sky, not the grey mix of sky and road).
+     */
+    public static String dominantColor(BufferedImage image) {
+        int[] counts = new int[4096];
+        long[][] sums = new long[4096][3];
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                int rgb = image.getRGB(x, y);
+                int r = (rgb >> 16) & 0xFF, g = (rgb >> 8) & 0xFF, b = rgb & 0xFF;
+                int bucket = (r >> 4) << 8 | (g >> 4) << 4 | (b >> 4);
+                counts[bucket]++;
+                sums[bucket][0] += r;
+                sums[bucket][1] += g;
+                sums[bucket][2] += b;
+            }
+        }
+        int best = 0;
+        for (int i = 1; i < counts.length; i++) {
+            if (counts[i] > counts[best]) {
+                best = i;
+            }
+        }
+        if (counts[best] == 0) {
+            return "#000000";
+        }
+        return String.format("#%02x%02x%02x",
+                sums[best][0] / counts[best], sums[best][1] / counts[best], sums[best][2] / counts[best]);
+    }
+
+    /**
+     * BlurHash with the given number of horizontal and vertical components (1-9 each).
+     * Intended for images a few dozen pixels across; cost is pixels x components.
+     */
+    public static String blurHash(BufferedImage image, int componentsX, int componentsY) {
+        if (componentsX < 1 || componentsX > 9 || componentsY < 1 || componentsY > 9) {
+            throw new IllegalArgumentException("BlurHash components must be between 1 and 9");
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double[][] linear = new double[width * height][3];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int rgb = image.getRGB(x, y);
+                double[] pixel = linear[y * width + x];
+                pixel[0] = srgbToLinear((rgb >> 16) & 0xFF);
+                pixel[1] = srgbToLinear((rgb >> 8) & 0xFF);
+                pixel[2] = srgbToLinear(rgb & 0xFF);
+            }
+        }
+
+        double[][] factors = new double[componentsX * componentsY][];
+        for (int j = 0; j < componentsY; j++) {
+            for (int i = 0; i < componentsX; i++) {
+                double normalisation = (i == 0 && j == 0) ? 1 : 2;
+                double r = 0, g = 0, b = 0;
+                for (int y = 0; y < height; y++) {
+                    double cosY = Math.cos(Math.PI * j * y / height);
+                    for (int x = 0; x < width; x++) {
+                        double basis = normalisation * Math.cos(Math.PI * i * x / width) * cosY;
+                        double[] pixel = linear[y * width + x];
+                        r += basis * pixel[0];
+                        g += basis * pixel[1];
+                        b += basis * pixel[2];
+                    }
+                }
+                double scale = 1.0 / (width * height);
+                factors[j * componentsX + i] = new double[]{r * scale, g * scale, b * scale};
+            }
+        }
+
+        StringBuilder hash = new StringBuilder();
+        encode83(hash, (componentsX - 1) + (componentsY - 1) * 9, 1);
+
+        double maximumValue;
+        if (factors.length > 1) {
+            double actualMaximum = 0;
+            for (int k = 1; k < factors.length; k++) {
+                for (double component : factors[k]) {
+                    actualMaximum = Math.max(actualMaximum, Math.abs(component));
+                }
+            }
+            int quantisedMaximum = (int) Math.max(0, Math.min(82, Math.floor(actualMaximum * 166 - 0.5)));
+            maximumValue = (quantisedMaximum + 1) / 166.0;
+            encode83(hash, quantisedMaximum, 1);
+        } else {
+            maximumValue = 1;
+            encode83(hash, 0, 1);
+        }
+
+        double[] dc = factors[0];
+        encode83(hash, (linearToSrgb(dc[0]) << 16) + (linearToSrgb(dc[1]) << 8) + linearToSrgb(dc[2]), 4);
+        for (int k = 1; k < factors.length; k++) {
+            double[] ac = factors[k];
+            int value = quantiseAc(ac[0], maximumValue) * 19 * 19
+                    + quantiseAc(ac[1], maximumValue) * 19
+                    + quantiseAc(ac[2], maximumValue);
+            encode83(hash, value, 2);
+        }
+        return hash.toString();
+    }
+
+    private static int quantiseAc(double value, double maximumValue) {
+        double scaled = value / maximumValue;
+        double signedRoot = Math.copySign(Math.sqrt(Math.abs(scaled)), scaled);
+        return (int) Math.max(0, Math.min(18, Math.floor(signedRoot * 9 + 9.5)));
+    }
+
+    private static double srgbToLinear(int value) {
+        double v = value / 255.0;
+        return v <= 0.04045 ? v / 12.92 : Math.pow((v + 0.055) / 1.055, 2.4);
+    }
+
+    private static int linearToSrgb(double value) {
+        double v = Math.max(0, Math.min(1, value));
+        return v <= 0.0031308
+                ? (int) (v * 12.92 * 255 + 0.5)
+                : (int) ((1.055 * Math.pow(v, 1 / 2.4) - 0.055) * 255 + 0.5);
+    }
+
+    private static void encode83(StringBuilder out, int value, int length) {
+        for (int i = 1; i <= length; i++) {
+            int digit = (value / (int) Math.pow(83, length - i)) % 83;
+            out.append(BASE83.charAt(digit));
+        }
+    }
+}
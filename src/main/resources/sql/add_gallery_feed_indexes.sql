@@ -0,0 +1,16 @@
+-- Indexes for the cursor-paginated gallery feed (SQL Server)
+-- /api/gallery/feed reads active rows in (sort_order, created_at, id) order, optionally for one
+-- category, and continues after the last row served. With the whole order in the key each page
+-- is an index seek plus a short range scan, however deep the reader has scrolled.
+
+-- Replaces idx_gallery_active_category (is_active, category, sort_order) from add_performance_indexes.sql
+IF EXISTS (SELECT * FROM sys.indexes WHERE name = 'idx_gallery_active_category' AND object_id = OBJECT_ID('gallery'))
+DROP INDEX idx_gallery_active_category ON gallery;
+GO
+
+CREATE INDEX idx_gallery_active_category ON gallery(is_active, category, sort_order, created_at, id);
+GO
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'idx_gallery_active_feed' AND object_id = OBJECT_ID('gallery'))
+CREATE INDEX idx_gallery_active_feed ON gallery(is_active, sort_order, created_at, id);
+GO
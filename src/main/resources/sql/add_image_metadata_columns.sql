@@ -0,0 +1,18 @@
+-- Image metadata extracted at upload (SQL Server)
+-- Width/height let the frontend reserve layout space; dominant_color and blur_hash
+-- are painted as a placeholder until the image arrives. ImageDerivativeService
+-- computes them once per file into image_assets and copies them onto the rows below.
+
+IF COL_LENGTH('image_assets', 'dominant_color') IS NULL
+ALTER TABLE image_assets ADD dominant_color NVARCHAR(7) NULL, blur_hash NVARCHAR(64) NULL;
+GO
+
+IF COL_LENGTH('gallery', 'blur_hash') IS NULL
+ALTER TABLE gallery ADD image_width INT NULL, image_height INT NULL,
+    dominant_color NVARCHAR(7) NULL, blur_hash NVARCHAR(64) NULL;
+GO
+
+IF COL_LENGTH('VehicleImages', 'BlurHash') IS NULL
+ALTER TABLE VehicleImages ADD ImageWidth INT NULL, ImageHeight INT NULL,
+    DominantColor NVARCHAR(7) NULL, BlurHash NVARCHAR(64) NULL;
+GO
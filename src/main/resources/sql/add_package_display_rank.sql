@@ -0,0 +1,20 @@
+-- Precomputed listing order for packages (SQL Server)
+-- display_rank = featured band (0 featured, 2^32 others) + sort_order shifted to be non-negative
+-- (a NULL sort_order sorts first within its band, as it did with ORDER BY sort_order).
+-- PackageService keeps it current on create, update and reorder, so the public
+-- list is read straight from IX_packages_active_rank with no sort.
+
+IF COL_LENGTH('packages', 'display_rank') IS NULL
+ALTER TABLE packages ADD display_rank BIGINT NOT NULL
+    CONSTRAINT DF_packages_display_rank DEFAULT 4294967296;
+GO
+
+-- Backfill existing rows with the same formula PackageService uses
+UPDATE packages
+SET display_rank = CASE WHEN is_featured = 1 THEN 0 ELSE 4294967296 END
+                 + CAST(ISNULL(sort_order, -2147483648) AS BIGINT) + 2147483648;
+GO
+
+IF NOT EXISTS (SELECT * FROM sys.indexes WHERE name = 'IX_packages_active_rank' AND object_id = OBJECT_ID('packages'))
+CREATE INDEX IX_packages_active_rank ON packages(is_active, display_rank, package_id);
+GO
@@ -60,7 +60,7 @@ CREATE INDEX IF NOT EXISTS idx_vehicle_booking_created_at ON vehicle_bookings(cr
 -- Composite indexes for common query patterns
 CREATE INDEX IF NOT EXISTS idx_adminuser_active_role ON admin_users(is_active, role_id);
 CREATE INDEX IF NOT EXISTS idx_travel_package_active_featured ON travel_packages(is_active, is_featured, sort_order);
-CREATE INDEX IF NOT EXISTS idx_gallery_active_category ON gallery(is_active, category, sort_order);
+CREATE INDEX IF NOT EXISTS idx_gallery_active_category ON gallery(is_active, category, sort_order, created_at, id);
 CREATE INDEX IF NOT EXISTS idx_booking_status_date ON bookings(booking_status, journey_date);
 CREATE INDEX IF NOT EXISTS idx_vehicle_booking_status_date ON vehicle_bookings(status, trip_date);
 
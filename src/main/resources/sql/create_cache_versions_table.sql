@@ -0,0 +1,15 @@
+-- Per-catalog content versions for SQL Server
+-- Bumped by ContentVersionService on writes and polled by every node to evict local caches
+
+IF NOT EXISTS (SELECT * FROM sysobjects WHERE name='cache_versions' AND xtype='U')
+CREATE TABLE cache_versions (
+    catalog_name NVARCHAR(50) NOT NULL PRIMARY KEY, -- PACKAGES, GALLERY, TESTIMONIALS, VEHICLES, CONTACT
+    version BIGINT NOT NULL DEFAULT 1,
+    updated_at DATETIME2 NOT NULL DEFAULT GETDATE()
+);
+
+-- Seed one row per catalog (the application also inserts missing rows on startup)
+INSERT INTO cache_versions (catalog_name, version, updated_at)
+SELECT c.name, 1, GETDATE()
+FROM (VALUES ('PACKAGES'), ('GALLERY'), ('TESTIMONIALS'), ('VEHICLES'), ('CONTACT')) AS c(name)
+WHERE NOT EXISTS (SELECT 1 FROM cache_versions v WHERE v.catalog_name = c.name);
@@ -0,0 +1,25 @@
+-- Durable outgoing email queue for SQL Server
+-- Messages are written here by EmailService and delivered by EmailQueueWorker
+
+IF NOT EXISTS (SELECT * FROM sysobjects WHERE name='email_queue' AND xtype='U')
+CREATE TABLE email_queue (
+    id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    recipient NVARCHAR(255) NOT NULL,
+    subject NVARCHAR(500) NOT NULL,
+    html_body NVARCHAR(MAX),
+    text_body NVARCHAR(MAX),
+    email_type NVARCHAR(50) NOT NULL,
+    status NVARCHAR(20) NOT NULL DEFAULT 'PENDING', -- PENDING, SENDING, SENT, DEAD, BATCHED, DIGESTED
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME2 NOT NULL DEFAULT GETDATE(),
+    last_error NVARCHAR(1000),
+    created_at DATETIME2 NOT NULL DEFAULT GETDATE(),
+    updated_at DATETIME2 NOT NULL DEFAULT GETDATE(),
+    sent_at DATETIME2 NULL
+);
+
+-- Poller looks up due messages by status and next attempt time
+CREATE INDEX idx_email_queue_status_next_attempt ON email_queue(status, next_attempt_at);
+
+-- Queue age / dead-letter listings
+CREATE INDEX idx_email_queue_status_created_at ON email_queue(status, created_at);
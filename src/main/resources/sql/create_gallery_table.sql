@@ -8,8 +8,8 @@ CREATE TABLE gallery (
     category NVARCHAR(50) NOT NULL,
     is_featured BIT DEFAULT 0,
     is_active BIT DEFAULT 1,
-    sort_order INT DEFAULT 0,
-    created_at DATETIME2 DEFAULT GETDATE(),
+    sort_order INT NOT NULL DEFAULT 0,
+    created_at DATETIME2 NOT NULL DEFAULT GETDATE(),
     updated_at DATETIME2 DEFAULT GETDATE()
 );
 
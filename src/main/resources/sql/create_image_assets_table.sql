@@ -0,0 +1,16 @@
+-- Image derivatives for SQL Server
+-- One row per uploaded image; ImageDerivativeService writes the resized copies to
+-- <upload dir>/derivatives/<content_hash>-<width>.<format> and records them here
+
+IF NOT EXISTS (SELECT * FROM sysobjects WHERE name='image_assets' AND xtype='U')
+CREATE TABLE image_assets (
+    source_path NVARCHAR(500) NOT NULL PRIMARY KEY, -- e.g. /images/gallery/bus.jpg
+    content_hash NVARCHAR(64) NOT NULL,
+    width INT NOT NULL,
+    height INT NOT NULL,
+    variant_widths NVARCHAR(100) NOT NULL, -- e.g. 320,640,1280
+    format NVARCHAR(10) NOT NULL,
+    dominant_color NVARCHAR(7), -- #rrggbb
+    blur_hash NVARCHAR(64),
+    created_at DATETIME2 NOT NULL DEFAULT GETDATE()
+);
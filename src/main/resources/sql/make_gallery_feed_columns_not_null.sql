@@ -0,0 +1,29 @@
+-- Make the gallery feed's ordering columns NOT NULL (SQL Server)
+-- /api/gallery/feed pages on (sort_order, created_at, id). A row with NULL in either column
+-- never matches the "after the cursor" comparison and cannot be written into a cursor, so
+-- backfill the NULLs and stop new ones. Run after add_gallery_feed_indexes.sql.
+
+UPDATE gallery SET sort_order = 0 WHERE sort_order IS NULL;
+UPDATE gallery SET created_at = COALESCE(updated_at, GETDATE()) WHERE created_at IS NULL;
+GO
+
+-- SQL Server will not alter a column that an index uses, so drop those indexes first
+IF EXISTS (SELECT * FROM sys.indexes WHERE name = 'idx_gallery_active_category' AND object_id = OBJECT_ID('gallery'))
+DROP INDEX idx_gallery_active_category ON gallery;
+IF EXISTS (SELECT * FROM sys.indexes WHERE name = 'idx_gallery_active_feed' AND object_id = OBJECT_ID('gallery'))
+DROP INDEX idx_gallery_active_feed ON gallery;
+IF EXISTS (SELECT * FROM sys.indexes WHERE name = 'idx_gallery_sort_order' AND object_id = OBJECT_ID('gallery'))
+DROP INDEX idx_gallery_sort_order ON gallery;
+IF EXISTS (SELECT * FROM sys.indexes WHERE name = 'idx_gallery_created_at' AND object_id = OBJECT_ID('gallery'))
+DROP INDEX idx_gallery_created_at ON gallery;
+GO
+
+ALTER TABLE gallery ALTER COLUMN sort_order INT NOT NULL;
+ALTER TABLE gallery ALTER COLUMN created_at DATETIME2 NOT NULL;
+GO
+
+CREATE INDEX idx_gallery_active_category ON gallery(is_active, category, sort_order, created_at, id);
+CREATE INDEX idx_gallery_active_feed ON gallery(is_active, sort_order, created_at, id);
+CREATE INDEX idx_gallery_sort_order ON gallery(sort_order);
+CREATE INDEX idx_gallery_created_at ON gallery(created_at);
+GO
@@ -0,0 +1,307 @@
+package com.sairajtravels.site.benchmark;
+
+import com.sairajtravels.site.dto.VehicleBookingDTO;
+import com.sairajtravels.site.util.EmailTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering the four booking emails (customer and admin, HTML and text) with
+ * the compiled templates against the String.format builders they replaced.
+ * The builders below are the pre-template VehicleBookingService code, kept
+ * verbatim as the baseline. Run with
+ *
+ *   mvn test -Dtest=JmhBenchmarkTest -Djmh=true -Djmh.include=EmailRenderBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailRenderBenchmark {
+
+    private VehicleBookingDTO booking;
+    private String vehicleName;
+    private EmailTemplate customerHtml;
+    private EmailTemplate customerText;
+    private EmailTemplate adminHtml;
+    private EmailTemplate adminText;
+
+    @Setup
+    public void setUp() throws IOException {
+        booking = new VehicleBookingDTO();
+        booking.setBookingId(10482);
+        booking.setVehicleId(7);
+        booking.setCustomerName("Priya Deshmukh");
+        booking.setCustomerPhone("+91 98220 41763");
+        booking.setCustomerEmail("priya.deshmukh@example.com");
+        booking.setPickupLocation("Shivajinagar, Pune");
+        booking.setDropLocation("Mahabaleshwar");
+        booking.setTripDate(LocalDate.of(2026, 11, 14));
+        booking.setReturnDate(LocalDate.of(2026, 11, 16));
+        booking.setPassengers(6);
+        booking.setLuggage("3 suitcases, 2 cabin bags");
+        booking.setSpecialRequests("Child seat please & an early 6am pickup");
+        booking.setStatus("PENDING");
+        booking.setRequestedAt(LocalDateTime.of(2026, 10, 19, 9, 41, 12));
+        vehicleName = "Toyota Innova Crysta";
+
+        customerHtml = load("booking-confirmation.html");
+        customerText = load("booking-confirmation.txt");
+        adminHtml = load("booking-admin.html");
+        adminText = load("booking-admin.txt");
+    }
+
+    @Benchmark
+    public void stringFormat(Blackhole bh) {
+        bh.consume(buildCustomerEmailHtml(booking, vehicleName));
+        bh.consume(buildCustomerEmailText(booking, vehicleName));
+        bh.consume(buildAdminEmailHtml(booking, vehicleName));
+        bh.consume(buildAdminEmailText(booking, vehicleName));
+    }
+
+    @Benchmark
+    public void compiledTemplate(Blackhole bh) {
+        Map<String, Object> model = buildBookingEmailModel(booking, vehicleName);
+        bh.consume(customerHtml.render(model));
+        bh.consume(customerText.render(model));
+        bh.consume(adminHtml.render(model));
+        bh.consume(adminText.render(model));
+    }
+
+    private static EmailTemplate load(String name) throws IOException {
+        try (InputStream in = EmailRenderBenchmark.class.getResourceAsStream("/email-templates/" + name)) {
+            if (in == null) {
+                throw new IOException("Missing email template " + name);
+            }
+            return EmailTemplate.compile(name, new String(in.readAllBytes(), StandardCharsets.UTF_8), name.endsWith(".html"));
+        }
+    }
+
+    // Same model VehicleBookingService builds for these templates
+    private static Map<String, Object> buildBookingEmailModel(VehicleBookingDTO booking, String vehicleName) {
+        Map<String, Object> model = new HashMap<>();
+        model.put("bookingId", booking.getBookingId());
+        model.put("customerName", booking.getCustomerName());
+        model.put("customerPhone", booking.getCustomerPhone());
+        model.put("customerEmail", booking.getCustomerEmail() != null ? booking.getCustomerEmail() : "Not provided");
+        model.put("vehicleName", vehicleName);
+        model.put("pickupLocation", booking.getPickupLocation() != null ? booking.getPickupLocation() : "Not specified");
+        model.put("dropLocation", booking.getDropLocation() != null ? booking.getDropLocation() : "Not specified");
+        model.put("tripDate", booking.getTripDate());
+        model.put("returnDate", booking.getReturnDate());
+        model.put("passengers", booking.getPassengers() != null ? booking.getPassengers() : 1);
+        model.put("luggage", booking.getLuggage() != null ? booking.getLuggage() : "Not specified");
+        model.put("specialRequests", booking.getSpecialRequests() != null ? booking.getSpecialRequests() : "None");
+        model.put("status", booking.getStatus());
+        model.put("requestedAt", booking.getRequestedAt());
+        return model;
+    }
+
+    // --- Baseline: the String.format builders removed from VehicleBookingService ---
+
+    private static String buildCustomerEmailHtml(VehicleBookingDTO booking, String vehicleName) {
+        return String.format("""
+            <html>
+            <body style="font-family: Arial, sans-serif; line-height: 1.6; color: #333;">
+                <div style="max-width: 600px; margin: 0 auto; padding: 20px;">
+                    <h2 style="color: #2563eb;">Thank you for your booking with Sairaj Travels!</h2>
+
+                    <p>Dear %s,</p>
+
+                    <p>We have received your booking request and will process it shortly. Here are your booking details:</p>
+
+                    <div style="background: #f8fafc; padding: 20px; border-radius: 8px; margin: 20px 0;">
+                        <h3 style="color: #1e40af; margin-top: 0;">Booking Details</h3>
+                        <p><strong>Booking ID:</strong> #%d</p>
+                        <p><strong>Vehicle:</strong> %s</p>
+                        <p><strong>Pickup Location:</strong> %s</p>
+                        <p><strong>Drop Location:</strong> %s</p>
+                        <p><strong>Trip Date:</strong> %s</p>
+                        %s
+                        <p><strong>Passengers:</strong> %d</p>
+                        <p><strong>Status:</strong> %s</p>
+                    </div>
+
+                    <p>Our team will contact you within 24 hours to confirm your booking and provide further details.</p>
+
+                    <p>For any queries, please contact us at:</p>
+                    <ul>
+                        <li>Phone: +91 9850748273</li>
+                        <li>Email: admin@sairajtravels.com</li>
+                    </ul>
+
+                    <p>Thank you for choosing Sairaj Travels!</p>
+
+                    <hr style="margin: 30px 0; border: none; border-top: 1px solid #e5e7eb;">
+                    <p style="font-size: 12px; color: #6b7280;">
+                        Sairaj Travels - Your Trusted Travel Partner<br>
+                        This is an automated email. Please do not reply.
+                    </p>
+                </div>
+            </body>
+            </html>
+            """,
+            booking.getCustomerName(),
+            booking.getBookingId(),
+            vehicleName,
+            booking.getPickupLocation() != null ? booking.getPickupLocation() : "Not specified",
+            booking.getDropLocation() != null ? booking.getDropLocation() : "Not specified",
+            booking.getTripDate(),
+            booking.getReturnDate() != null ? String.format("<p><strong>Return Date:</strong> %s</p>", booking.getReturnDate()) : "",
+            booking.getPassengers() != null ? booking.getPassengers() : 1,
+            booking.getStatus()
+        );
+    }
+
+    private static String buildCustomerEmailText(VehicleBookingDTO booking, String vehicleName) {
+        return String.format("""
+            Thank you for your booking with Sairaj Travels!
+
+            Dear %s,
+
+            We have received your booking request and will process it shortly. Here are your booking details:
+
+            Booking Details:
+            - Booking ID: #%d
+            - Vehicle: %s
+            - Pickup Location: %s
+            - Drop Location: %s
+            - Trip Date: %s
+            %s
+            - Passengers: %d
+            - Status: %s
+
+            Our team will contact you within 24 hours to confirm your booking and provide further details.
+
+            For any queries, please contact us at:
+            - Phone: +91 9850748273
+            - Email: admin@sairajtravels.com
+
+            Thank you for choosing Sairaj Travels!
+
+            ---
+            Sairaj Travels - Your Trusted Travel Partner
+            This is an automated email. Please do not reply.
+            """,
+            booking.getCustomerName(),
+            booking.getBookingId(),
+            vehicleName,
+            booking.getPickupLocation() != null ? booking.getPickupLocation() : "Not specified",
+            booking.getDropLocation() != null ? booking.getDropLocation() : "Not specified",
+            booking.getTripDate(),
+            booking.getReturnDate() != null ? String.format("- Return Date: %s", booking.getReturnDate()) : "",
+            booking.getPassengers() != null ? booking.getPassengers() : 1,
+            booking.getStatus()
+        );
+    }
+
+    private static String buildAdminEmailHtml(VehicleBookingDTO booking, String vehicleName) {
+        return String.format("""
+            <html>
+            <body style="font-family: Arial, sans-serif; line-height: 1.6; color: #333;">
+                <div style="max-width: 600px; margin: 0 auto; padding: 20px;">
+                    <h2 style="color: #dc2626;">New Booking Request</h2>
+
+                    <p>A new booking has been submitted through the website:</p>
+
+                    <div style="background: #fef2f2; padding: 20px; border-radius: 8px; margin: 20px 0; border-left: 4px solid #dc2626;">
+                        <h3 style="color: #dc2626; margin-top: 0;">Booking Details</h3>
+                        <p><strong>Booking ID:</strong> #%d</p>
+                        <p><strong>Customer Name:</strong> %s</p>
+                        <p><strong>Phone:</strong> %s</p>
+                        <p><strong>Email:</strong> %s</p>
+                        <p><strong>Vehicle:</strong> %s</p>
+                        <p><strong>Pickup Location:</strong> %s</p>
+                        <p><strong>Drop Location:</strong> %s</p>
+                        <p><strong>Trip Date:</strong> %s</p>
+                        %s
+                        <p><strong>Passengers:</strong> %d</p>
+                        <p><strong>Luggage:</strong> %s</p>
+                        <p><strong>Special Requests:</strong> %s</p>
+                        <p><strong>Status:</strong> %s</p>
+                        <p><strong>Requested At:</strong> %s</p>
+                    </div>
+
+                    <p style="color: #dc2626; font-weight: bold;">Action Required: Please contact the customer to confirm the booking.</p>
+                </div>
+            </body>
+            </html>
+            """,
+            booking.getBookingId(),
+            booking.getCustomerName(),
+            booking.getCustomerPhone(),
+            booking.getCustomerEmail() != null ? booking.getCustomerEmail() : "Not provided",
+            vehicleName,
+            booking.getPickupLocation() != null ? booking.getPickupLocation() : "Not specified",
+            booking.getDropLocation() != null ? booking.getDropLocation() : "Not specified",
+            booking.getTripDate(),
+            booking.getReturnDate() != null ? String.format("<p><strong>Return Date:</strong> %s</p>", booking.getReturnDate()) : "",
+            booking.getPassengers() != null ? booking.getPassengers() : 1,
+            booking.getLuggage() != null ? booking.getLuggage() : "Not specified",
+            booking.getSpecialRequests() != null ? booking.getSpecialRequests() : "None",
+            booking.getStatus(),
+            booking.getRequestedAt()
+        );
+    }
+
+    private static String buildAdminEmailText(VehicleBookingDTO booking, String vehicleName) {
+        return String.format("""
+            New Booking Request
+
+            A new booking has been submitted through the website:
+
+            Booking Details:
+            - Booking ID: #%d
+            - Customer Name: %s
+            - Phone: %s
+            - Email: %s
+            - Vehicle: %s
+            - Pickup Location: %s
+            - Drop Location: %s
+            - Trip Date: %s
+            %s
+            - Passengers: %d
+            - Luggage: %s
+            - Special Requests: %s
+            - Status: %s
+            - Requested At: %s
+
+            Action Required: Please contact the customer to confirm the booking.
+            """,
+            booking.getBookingId(),
+            booking.getCustomerName(),
+            booking.getCustomerPhone(),
+            booking.getCustomerEmail() != null ? booking.getCustomerEmail() : "Not provided",
+            vehicleName,
+            booking.getPickupLocation() != null ? booking.getPickupLocation() : "Not specified",
+            booking.getDropLocation() != null ? booking.getDropLocation() : "Not specified",
+            booking.getTripDate(),
+            booking.getReturnDate() != null ? String.format("- Return Date: %s", booking.getReturnDate()) : "",
+            booking.getPassengers() != null ? booking.getPassengers() : 1,
+            booking.getLuggage() != null ? booking.getLuggage() : "Not specified",
+            booking.getSpecialRequests() != null ? booking.getSpecialRequests() : "None",
+            booking.getStatus(),
+            booking.getRequestedAt()
+        );
+    }
+}
@@ -0,0 +1,34 @@
+package com.sairajtravels.site.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs the JMH benchmarks in this package from Maven. Skipped unless asked for, e.g.
+ *
+ *   mvn test -Dtest=JmhBenchmarkTest -Djmh=true -Djmh.include=EmailRenderBenchmark
+ *
+ * jmh.include is a regex over benchmark names and defaults to every benchmark here.
+ */
+@EnabledIfSystemProperty(named = "jmh", matches = "true")
+class JmhBenchmarkTest {
+
+    @Test
+    void run() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(System.getProperty("jmh.include", JmhBenchmarkTest.class.getPackageName() + ".*Benchmark"))
+                .shouldFailOnError(true)
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertFalse(results.isEmpty(), "no benchmarks matched");
+    }
+}
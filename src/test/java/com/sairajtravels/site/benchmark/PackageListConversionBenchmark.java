@@ -0,0 +1,134 @@
+package com.sairajtravels.site.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sairajtravels.site.entity.StringListJsonConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Package features/highlights for 1,000 packages: the StringListJsonConverter
+ * against the regex parsing and string concatenation PackageService used
+ * before (kept verbatim below as the baseline). Run with
+ *
+ *   mvn test -Dtest=JmhBenchmarkTest -Djmh=true -Djmh.include=PackageListConversionBenchmark
+ *
+ * The old code parsed on every DTO conversion; now the converter parses once
+ * when the entity loads and each DTO conversion is a list copy, so
+ * legacyParse compares with converterRead (cold load) and dtoCopy (warm path).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PackageListConversionBenchmark {
+
+    private static final int PACKAGES = 1000;
+
+    private StringListJsonConverter converter;
+    private String[] featureColumns;
+    private String[] highlightColumns;
+    private List<List<String>> features;
+    private List<List<String>> highlights;
+
+    @Setup
+    public void setUp() {
+        converter = new StringListJsonConverter(new ObjectMapper());
+        featureColumns = new String[PACKAGES];
+        highlightColumns = new String[PACKAGES];
+        features = new ArrayList<>(PACKAGES);
+        highlights = new ArrayList<>(PACKAGES);
+        for (int i = 0; i < PACKAGES; i++) {
+            List<String> packageFeatures = List.of(
+                    "AC " + (i % 3 == 0 ? "Tempo Traveller" : "Innova Crysta"),
+                    "Driver allowance included",
+                    "Pickup and drop from Pune",
+                    "Toll and parking extra",
+                    (i % 7) + 2 + " nights stay");
+            List<String> packageHighlights = List.of(
+                    "Sunrise at Kate's Point",
+                    "Boating on Venna Lake",
+                    "Strawberry farm visit",
+                    "Mapro Garden");
+            features.add(packageFeatures);
+            highlights.add(packageHighlights);
+            featureColumns[i] = convertListToJson(packageFeatures);
+            highlightColumns[i] = convertListToJson(packageHighlights);
+        }
+    }
+
+    @Benchmark
+    public void legacyParse(Blackhole bh) {
+        for (int i = 0; i < PACKAGES; i++) {
+            bh.consume(parseJsonToList(featureColumns[i]));
+            bh.consume(parseJsonToList(highlightColumns[i]));
+        }
+    }
+
+    @Benchmark
+    public void converterRead(Blackhole bh) {
+        for (int i = 0; i < PACKAGES; i++) {
+            bh.consume(converter.convertToEntityAttribute(featureColumns[i]));
+            bh.consume(converter.convertToEntityAttribute(highlightColumns[i]));
+        }
+    }
+
+    // What PackageService.convertToDTO does with the already-parsed lists
+    @Benchmark
+    public void dtoCopy(Blackhole bh) {
+        for (int i = 0; i < PACKAGES; i++) {
+            bh.consume(new ArrayList<>(features.get(i)));
+            bh.consume(new ArrayList<>(highlights.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void legacyWrite(Blackhole bh) {
+        for (int i = 0; i < PACKAGES; i++) {
+            bh.consume(convertListToJson(features.get(i)));
+            bh.consume(convertListToJson(highlights.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void converterWrite(Blackhole bh) {
+        for (int i = 0; i < PACKAGES; i++) {
+            bh.consume(converter.convertToDatabaseColumn(features.get(i)));
+            bh.consume(converter.convertToDatabaseColumn(highlights.get(i)));
+        }
+    }
+
+    // --- Baseline: the helpers removed from PackageService ---
+
+    private static List<String> parseJsonToList(String jsonString) {
+        if (jsonString == null || jsonString.trim().isEmpty()) {
+            return List.of();
+        }
+        String cleanJson = jsonString.replaceAll("[\\[\\]\"]", "").trim();
+        if (cleanJson.isEmpty()) {
+            return List.of();
+        }
+        return List.of(cleanJson.split(","));
+    }
+
+    private static String convertListToJson(List<String> list) {
+        if (list == null || list.isEmpty()) {
+            return "[]";
+        }
+        return "[\"" + String.join("\",\"", list) + "\"]";
+    }
+}
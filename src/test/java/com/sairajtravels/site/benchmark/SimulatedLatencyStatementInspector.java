@@ -0,0 +1,31 @@
+package com.sairajtravels.site.benchmark;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Adds a fixed delay before every SQL statement Hibernate runs, standing in for
+ * the network round trip to SQL Server that the in-memory H2 database does not
+ * have. The delay is taken while the statement's connection is held, as a real
+ * round trip would be. Registered through
+ * spring.jpa.properties.hibernate.session_factory.statement_inspector.
+ */
+public class SimulatedLatencyStatementInspector implements StatementInspector {
+
+    private static volatile long latencyMicros;
+
+    public static void setLatencyMicros(long micros) {
+        latencyMicros = micros;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        long micros = latencyMicros;
+        if (micros > 0) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(micros));
+        }
+        return sql;
+    }
+}
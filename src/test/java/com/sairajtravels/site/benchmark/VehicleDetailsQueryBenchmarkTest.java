@@ -0,0 +1,248 @@
+package com.sairajtravels.site.benchmark;
+
+import com.sairajtravels.site.entity.Vehicle;
+import com.sairajtravels.site.entity.VehicleCharges;
+import com.sairajtravels.site.entity.VehicleImage;
+import com.sairajtravels.site.entity.VehiclePricing;
+import com.sairajtravels.site.entity.VehicleTerm;
+import com.sairajtravels.site.repository.VehicleChargesRepository;
+import com.sairajtravels.site.repository.VehicleImageRepository;
+import com.sairajtravels.site.repository.VehicleRepository;
+import com.sairajtravels.site.repository.VehicleTermRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Uncached vehicle page load, the way VehicleDetailsService does it (vehicle
+ * with pricing fetch-joined, then charges, terms and images, one after another
+ * on one connection) against running the four queries concurrently, each on its
+ * own pooled connection. Skipped unless asked for, e.g.
+ *
+ *   mvn test -Dtest=VehicleDetailsQueryBenchmarkTest -Ddetailsbench=true \
+ *       -Ddetailsbench.latency-us=0,1000 -Ddetailsbench.concurrency=1,8 -Ddetailsbench.loads=1000
+ *
+ * Runs on the local H2 profile with the pool capped at the production size (5).
+ * H2 in memory has no network, so each statement is delayed by latency-us
+ * (see {@link SimulatedLatencyStatementInspector}) to stand in for the round
+ * trip to SQL Server. Both strategies return the same rows and leave DTO
+ * assembly out, as it is identical for both.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=5",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.sairajtravels.site=WARN",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.sairajtravels.site.benchmark.SimulatedLatencyStatementInspector"
+})
+@ActiveProfiles("local")
+@EnabledIfSystemProperty(named = "detailsbench", matches = "true")
+class VehicleDetailsQueryBenchmarkTest {
+
+    private static final int VEHICLES = 20;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private VehicleChargesRepository vehicleChargesRepository;
+
+    @Autowired
+    private VehicleTermRepository vehicleTermRepository;
+
+    @Autowired
+    private VehicleImageRepository vehicleImageRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+    private ExecutorService queryPool;
+    private final List<Integer> vehicleIds = new ArrayList<>();
+
+    private record Result(String strategy, long latencyMicros, int concurrency, int loads, double loadsPerSecond,
+                          double p50Ms, double p95Ms, double maxMs) {
+    }
+
+    @BeforeEach
+    void seed() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        // Enough threads that the pool, not the executor, is what limits the parallel strategy
+        queryPool = Executors.newFixedThreadPool(32);
+
+        SimulatedLatencyStatementInspector.setLatencyMicros(0);
+        for (int v = 0; v < VEHICLES; v++) {
+            Vehicle vehicle = new Vehicle();
+            vehicle.setName("Bench vehicle " + v);
+            vehicle.setType("SUV");
+            vehicle.setCapacity(7);
+            vehicle.setIsAC(true);
+            vehicle.setDescription("Seven-seater for outstation trips");
+            vehicle.setMainImageUrl("/images/vehicles/bench-" + v + ".jpg");
+            for (int i = 0; i < 3; i++) {
+                VehiclePricing pricing = new VehiclePricing();
+                pricing.setVehicle(vehicle);
+                pricing.setRateType(i == 0 ? "PER_KM" : "PACKAGE");
+                pricing.setRatePerKm(BigDecimal.valueOf(14 + i));
+                pricing.setPackageRate(BigDecimal.valueOf(2800 + 400 * i));
+                pricing.setPackageKm(80 + 20 * i);
+                pricing.setPackageHours(8);
+                vehicle.getPricingList().add(pricing);
+            }
+            for (int i = 0; i < 2; i++) {
+                VehicleCharges charges = new VehicleCharges();
+                charges.setVehicle(vehicle);
+                charges.setDriverAllowance(BigDecimal.valueOf(300));
+                charges.setNightCharge(BigDecimal.valueOf(250));
+                charges.setTollIncluded(i == 0);
+                charges.setParkingIncluded(false);
+                charges.setFuelIncluded(true);
+                vehicle.getChargesList().add(charges);
+            }
+            for (int i = 0; i < 5; i++) {
+                VehicleTerm term = new VehicleTerm();
+                term.setVehicle(vehicle);
+                term.setTermText("Term " + i + ": tolls, parking and state taxes are paid by the customer");
+                vehicle.getTerms().add(term);
+            }
+            for (int i = 0; i < 6; i++) {
+                VehicleImage image = new VehicleImage();
+                image.setVehicle(vehicle);
+                image.setImageUrl("/images/vehicles/bench-" + v + "-" + i + ".jpg");
+                vehicle.getImages().add(image);
+            }
+            vehicleIds.add(vehicleRepository.save(vehicle).getVehicleId());
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        SimulatedLatencyStatementInspector.setLatencyMicros(0);
+        queryPool.shutdownNow();
+        vehicleRepository.deleteAllById(vehicleIds);
+    }
+
+    @Test
+    void run() throws Exception {
+        long[] latencies = longs(System.getProperty("detailsbench.latency-us", "0,1000"));
+        long[] concurrencies = longs(System.getProperty("detailsbench.concurrency", "1,8"));
+        int loads = Integer.getInteger("detailsbench.loads", 1000);
+        int warmup = Integer.getInteger("detailsbench.warmup", 3000);
+
+        // Both strategies must see the same data
+        assertEquals(sequential(vehicleIds.get(0)), parallel(vehicleIds.get(0)));
+
+        // JIT and pool warm-up without simulated latency, so no measured run benefits from an earlier one
+        runLoads(warmup, 4, this::sequential, new long[warmup]);
+        runLoads(warmup, 4, this::parallel, new long[warmup]);
+
+        List<Result> results = new ArrayList<>();
+        for (long latency : latencies) {
+            SimulatedLatencyStatementInspector.setLatencyMicros(latency);
+            for (long concurrency : concurrencies) {
+                results.add(measure("sequential", latency, (int) concurrency, loads, this::sequential));
+                results.add(measure("parallel", latency, (int) concurrency, loads, this::parallel));
+            }
+        }
+
+        System.out.println("📊 Vehicle details load (uncached), pool size 5:");
+        for (Result r : results) {
+            System.out.printf("📊 %-10s latency=%5dus concurrency=%2d loads=%d  %8.1f loads/s  p50=%6.2fms  p95=%6.2fms  max=%6.2fms%n",
+                    r.strategy(), r.latencyMicros(), r.concurrency(), r.loads(), r.loadsPerSecond(), r.p50Ms(), r.p95Ms(), r.maxMs());
+        }
+    }
+
+    // What VehicleDetailsService.getVehicleDetails does: four queries in order on one connection
+    private int sequential(Integer vehicleId) {
+        Integer rows = readOnly.execute(status -> {
+            Vehicle vehicle = vehicleRepository.findWithPricingById(vehicleId).orElseThrow();
+            return vehicle.getPricingList().size()
+                    + vehicleChargesRepository.findByVehicle_VehicleId(vehicleId).size()
+                    + vehicleTermRepository.findByVehicle_VehicleId(vehicleId).size()
+                    + vehicleImageRepository.findByVehicle_VehicleId(vehicleId).size();
+        });
+        return rows != null ? rows : 0;
+    }
+
+    // The alternative: the same four queries at once, each in its own transaction and connection
+    private int parallel(Integer vehicleId) {
+        CompletableFuture<Integer> pricing = inTransaction(() ->
+                vehicleRepository.findWithPricingById(vehicleId).orElseThrow().getPricingList().size());
+        CompletableFuture<Integer> charges = inTransaction(() ->
+                vehicleChargesRepository.findByVehicle_VehicleId(vehicleId).size());
+        CompletableFuture<Integer> terms = inTransaction(() ->
+                vehicleTermRepository.findByVehicle_VehicleId(vehicleId).size());
+        CompletableFuture<Integer> images = inTransaction(() ->
+                vehicleImageRepository.findByVehicle_VehicleId(vehicleId).size());
+        return pricing.join() + charges.join() + terms.join() + images.join();
+    }
+
+    private CompletableFuture<Integer> inTransaction(IntSupplier query) {
+        return CompletableFuture.supplyAsync(() -> readOnly.execute(status -> query.getAsInt()), queryPool);
+    }
+
+    private interface Load {
+        int load(Integer vehicleId);
+    }
+
+    private Result measure(String strategy, long latencyMicros, int concurrency, int loads, Load load) throws Exception {
+        // Settle the pool at this concurrency and latency
+        runLoads(Math.max(50, loads / 10), concurrency, load, new long[Math.max(50, loads / 10)]);
+
+        long[] nanos = new long[loads];
+        long start = System.nanoTime();
+        runLoads(loads, concurrency, load, nanos);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(nanos);
+        return new Result(strategy, latencyMicros, concurrency, loads, loads / elapsedSeconds,
+                nanos[loads / 2] / 1e6, nanos[(int) (loads * 0.95)] / 1e6, nanos[loads - 1] / 1e6);
+    }
+
+    private void runLoads(int loads, int concurrency, Load load, long[] nanos) throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService callers = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < concurrency; t++) {
+                workers.add(callers.submit(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < loads) {
+                        long begin = System.nanoTime();
+                        load.load(vehicleIds.get(i % vehicleIds.size()));
+                        nanos[i] = System.nanoTime() - begin;
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private static long[] longs(String csv) {
+        return Arrays.stream(csv.split(",")).map(String::trim).mapToLong(Long::parseLong).toArray();
+    }
+}
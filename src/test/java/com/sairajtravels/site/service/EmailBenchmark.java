@@ -0,0 +1,205 @@
+package com.sairajtravels.site.service;
+
+import com.sairajtravels.site.dto.EnquiryDTO;
+import com.sairajtravels.site.dto.VehicleBookingDTO;
+import com.sairajtravels.site.entity.ContactMessage;
+import com.sairajtravels.site.entity.EmailQueueItem;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives the email path against {@link SmtpSinkServer} at a fixed concurrency and
+ * reports throughput, latency percentiles and error rate.
+ *
+ * Scenarios other than DELIVER write bookings, enquiries, contact messages and
+ * queue rows, so only run this against a throwaway database; it is driven by
+ * {@link EmailThroughputBenchmarkTest} on the local H2 profile.
+ */
+public class EmailBenchmark {
+
+    public enum Scenario {
+        // SMTP send of one message, bypassing the queue
+        DELIVER(1),
+        SEND_HTML(1),
+        NOTIFY_ADMIN(1),
+        // customer confirmation + admin notification
+        BOOKING(2),
+        ENQUIRY(2),
+        CONTACT(2);
+
+        private final int messagesPerOperation;
+
+        Scenario(int messagesPerOperation) {
+            this.messagesPerOperation = messagesPerOperation;
+        }
+    }
+
+    private final EmailService emailService;
+    private final VehicleBookingService vehicleBookingService;
+    private final EnquiryService enquiryService;
+    private final ContactMessageService contactMessageService;
+    private final SmtpSinkServer smtpSink;
+
+    public EmailBenchmark(EmailService emailService,
+                          VehicleBookingService vehicleBookingService,
+                          EnquiryService enquiryService,
+                          ContactMessageService contactMessageService,
+                          SmtpSinkServer smtpSink) {
+        this.emailService = emailService;
+        this.vehicleBookingService = vehicleBookingService;
+        this.enquiryService = enquiryService;
+        this.contactMessageService = contactMessageService;
+        this.smtpSink = smtpSink;
+    }
+
+    public synchronized BenchmarkResult run(Scenario scenario, int operations, int concurrency, long drainTimeoutMs)
+            throws InterruptedException {
+        long acceptedBefore = smtpSink.getMessagesAccepted();
+        long rejectedBefore = smtpSink.getMessagesRejected();
+        long connectionsBefore = smtpSink.getConnectionsOpened();
+
+        long[] latenciesNanos = new long[operations];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger callErrors = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+
+        long start = System.nanoTime();
+        for (int w = 0; w < concurrency; w++) {
+            workers.execute(() -> {
+                try {
+                    int i;
+                    while ((i = next.getAndIncrement()) < operations) {
+                        long opStart = System.nanoTime();
+                        try {
+                            runOperation(scenario, i);
+                        } catch (Exception e) {
+                            callErrors.incrementAndGet();
+                        }
+                        latenciesNanos[i] = System.nanoTime() - opStart;
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        long callsFinished = System.nanoTime();
+        workers.shutdown();
+
+        // Queued scenarios finish when the worker has pushed everything through SMTP
+        long expected = (long) operations * scenario.messagesPerOperation;
+        long deadline = callsFinished + TimeUnit.MILLISECONDS.toNanos(drainTimeoutMs);
+        long delivered = smtpSink.getMessagesAccepted() - acceptedBefore;
+        while (delivered < expected && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            delivered = smtpSink.getMessagesAccepted() - acceptedBefore;
+        }
+        long end = System.nanoTime();
+
+        Arrays.sort(latenciesNanos);
+        double callSeconds = (callsFinished - start) / 1e9;
+        double totalSeconds = (end - start) / 1e9;
+        long undelivered = Math.max(0, expected - delivered);
+
+        return new BenchmarkResult(
+                scenario.name(),
+                operations,
+                concurrency,
+                round(operations / callSeconds),
+                round(delivered / totalSeconds),
+                millis(percentile(latenciesNanos, 0.50)),
+                millis(percentile(latenciesNanos, 0.95)),
+                millis(percentile(latenciesNanos, 0.99)),
+                millis(latenciesNanos.length > 0 ? latenciesNanos[latenciesNanos.length - 1] : 0),
+                callErrors.get(),
+                expected,
+                delivered,
+                undelivered,
+                smtpSink.getMessagesRejected() - rejectedBefore,
+                smtpSink.getConnectionsOpened() - connectionsBefore,
+                round((double) (callErrors.get() + undelivered) / Math.max(1, operations + expected)),
+                round(totalSeconds)
+        );
+    }
+
+    private void runOperation(Scenario scenario, int i) throws Exception {
+        String recipient = "bench+" + i + "@localhost";
+        switch (scenario) {
+            case DELIVER -> emailService.deliver(new EmailQueueItem(recipient, "Benchmark " + i,
+                    "<p>Benchmark message " + i + "</p>", "Benchmark message " + i, "BENCH"));
+            case SEND_HTML -> emailService.sendHtmlEmail(recipient, "Benchmark " + i,
+                    "<p>Benchmark message " + i + "</p>", "Benchmark message " + i, "BENCH");
+            case NOTIFY_ADMIN -> emailService.notifyAdmin("Benchmark " + i,
+                    "<p>Benchmark notification " + i + "</p>", "Benchmark notification " + i, "BENCH_ADMIN");
+            case BOOKING -> {
+                VehicleBookingDTO booking = new VehicleBookingDTO();
+                booking.setCustomerName("Bench Customer " + i);
+                booking.setCustomerPhone("9000000000");
+                booking.setCustomerEmail(recipient);
+                booking.setPickupLocation("Pune");
+                booking.setDropLocation("Mumbai");
+                booking.setTripDate(LocalDate.now().plusDays(7));
+                booking.setPassengers(4);
+                vehicleBookingService.createBooking(booking);
+            }
+            case ENQUIRY -> {
+                EnquiryDTO enquiry = new EnquiryDTO();
+                enquiry.setFullName("Bench Customer " + i);
+                enquiry.setPhone("9000000000");
+                enquiry.setEmail(recipient);
+                enquiry.setService("Benchmark");
+                enquiry.setMessage("Benchmark enquiry " + i);
+                enquiryService.createEnquiry(enquiry);
+            }
+            case CONTACT -> {
+                ContactMessage message = new ContactMessage();
+                message.setName("Bench Customer " + i);
+                message.setEmail(recipient);
+                message.setPhone("9000000000");
+                message.setMessage("Benchmark contact message " + i);
+                contactMessageService.saveMessage(message);
+            }
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1e6);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    public record BenchmarkResult(
+            String scenario,
+            int operations,
+            int concurrency,
+            double callsPerSecond,
+            double deliveredPerSecond,
+            double callLatencyP50Ms,
+            double callLatencyP95Ms,
+            double callLatencyP99Ms,
+            double callLatencyMaxMs,
+            int callErrors,
+            long expectedMessages,
+            long deliveredMessages,
+            long undeliveredMessages,
+            long smtpRejections,
+            long smtpConnections,
+            double errorRate,
+            double elapsedSeconds) {
+    }
+}
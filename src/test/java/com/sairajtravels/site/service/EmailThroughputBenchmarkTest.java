@@ -0,0 +1,87 @@
+package com.sairajtravels.site.service;
+
+import com.sairajtravels.site.entity.EmailSettings;
+import com.sairajtravels.site.repository.EmailSettingsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Email throughput benchmark against the in-process {@link SmtpSinkServer}.
+ * Skipped unless asked for, e.g.
+ *
+ *   mvn test -Dtest=EmailThroughputBenchmarkTest -Demailbench=true \
+ *       -Demailbench.scenario=BOOKING -Demailbench.operations=500 -Demailbench.concurrency=8
+ *
+ * Sink latency and failure rate come from app.email.bench.* (see application-emailbench.properties).
+ */
+@SpringBootTest
+@ActiveProfiles({"local", "emailbench"})
+@EnabledIfSystemProperty(named = "emailbench", matches = "true")
+class EmailThroughputBenchmarkTest {
+
+    @TestConfiguration
+    static class SinkConfig {
+
+        @Bean(initMethod = "start", destroyMethod = "stop")
+        SmtpSinkServer smtpSinkServer(@Value("${app.email.bench.smtp-port:3025}") int port,
+                                      @Value("${app.email.bench.smtp-latency-ms:0}") long latencyMs,
+                                      @Value("${app.email.bench.smtp-failure-rate:0.0}") double failureRate) {
+            return new SmtpSinkServer(port, latencyMs, failureRate);
+        }
+    }
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private VehicleBookingService vehicleBookingService;
+
+    @Autowired
+    private EnquiryService enquiryService;
+
+    @Autowired
+    private ContactMessageService contactMessageService;
+
+    @Autowired
+    private SmtpSinkServer smtpSink;
+
+    @Autowired
+    private EmailSettingsRepository emailSettingsRepository;
+
+    @Autowired
+    private EmailSettingsService emailSettingsService;
+
+    // Point the database settings at the sink, as an admin would for SendGrid
+    @BeforeEach
+    void useSink() {
+        emailSettingsRepository.save(new EmailSettings(true, "localhost", smtpSink.getPort(), "bench", "bench",
+                "bench@localhost", "admin@localhost", "emailbench"));
+        emailSettingsService.refresh();
+    }
+
+    @Test
+    void run() throws Exception {
+        EmailBenchmark.Scenario scenario = EmailBenchmark.Scenario.valueOf(
+                System.getProperty("emailbench.scenario", "SEND_HTML"));
+        int operations = Integer.getInteger("emailbench.operations", 200);
+        int concurrency = Integer.getInteger("emailbench.concurrency", 4);
+        long drainTimeoutMs = Long.getLong("emailbench.drain-timeout-ms", 120000L);
+
+        EmailBenchmark benchmark = new EmailBenchmark(emailService, vehicleBookingService, enquiryService,
+                contactMessageService, smtpSink);
+        EmailBenchmark.BenchmarkResult result = benchmark.run(scenario, operations, concurrency, drainTimeoutMs);
+
+        System.out.println("📊 Email benchmark: " + result);
+        assertEquals(0, result.callErrors(), "calls failed");
+        assertEquals(0, result.undeliveredMessages(), "messages not delivered");
+    }
+}
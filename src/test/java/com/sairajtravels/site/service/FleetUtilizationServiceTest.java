@@ -0,0 +1,174 @@
+package com.sairajtravels.site.service;
+
+import com.sairajtravels.site.dto.VehicleTypeDTO;
+import com.sairajtravels.site.entity.Vehicle;
+import com.sairajtravels.site.entity.VehicleBooking;
+import com.sairajtravels.site.repository.VehicleBookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * FleetUtilizationService's in-memory index kept up to date through
+ * bookingSaved/bookingDeleted, and the window that bounds it. Dates are
+ * relative to today because the window is.
+ */
+class FleetUtilizationServiceTest {
+
+    private static final LocalDate DAY0 = LocalDate.now().minusDays(30);
+
+    private record Row(Integer getBookingId, Integer getVehicleId, LocalDate getTripDate, LocalDate getReturnDate,
+                       String getStatus) implements VehicleBookingRepository.BookingSpan {
+    }
+
+    private final List<VehicleBookingRepository.BookingSpan> rows = new ArrayList<>();
+    private FleetUtilizationService service;
+
+    @BeforeEach
+    void setUp() {
+        VehicleBookingRepository repository = mock(VehicleBookingRepository.class);
+        VehicleService vehicleService = mock(VehicleService.class);
+        when(repository.findBookingSpans()).thenReturn(rows);
+        when(vehicleService.getVehicleTypes()).thenReturn(List.of(
+                new VehicleTypeDTO("1", "Innova Crysta", 7, "SUV", true),
+                new VehicleTypeDTO("2", "Tempo Traveller", 17, "Van", true)));
+        service = new FleetUtilizationService(repository, vehicleService);
+    }
+
+    @Test
+    void overlappingBookingsAreRemovedOneAtATime() {
+        rows.add(new Row(10, 1, day(0), day(4), "CONFIRMED"));
+        rows.add(new Row(11, 1, day(2), day(6), "CONFIRMED"));
+        service.rebuild();
+        assertEquals(7, vehicle(report(0, 9), 1).bookedDays());
+
+        service.bookingDeleted(10);
+        FleetUtilizationService.VehicleUtilization afterFirst = vehicle(report(0, 9), 1);
+        assertEquals(5, afterFirst.bookedDays());
+        assertEquals(List.of(gap(0, 1), gap(7, 9)), afterFirst.idleGaps());
+
+        service.bookingDeleted(11);
+        FleetUtilizationService.VehicleUtilization afterBoth = vehicle(report(0, 9), 1);
+        assertEquals(0, afterBoth.bookedDays());
+        assertEquals(List.of(gap(0, 9)), afterBoth.idleGaps());
+
+        // Deleting again, or a booking the index never saw, changes nothing
+        service.bookingDeleted(11);
+        service.bookingDeleted(99);
+        assertEquals(0, vehicle(report(0, 9), 1).bookedDays());
+    }
+
+    @Test
+    void bookingMovedToAnotherVehicle() {
+        rows.add(new Row(10, 1, day(0), day(2), "CONFIRMED"));
+        service.rebuild();
+
+        service.bookingSaved(booking(10, 2, day(1), day(3), "CONFIRMED"));
+        FleetUtilizationService.FleetUtilization report = report(0, 9);
+        assertEquals(0, vehicle(report, 1).bookedDays());
+        assertEquals(3, vehicle(report, 2).bookedDays());
+        assertEquals(List.of(gap(0, 0), gap(4, 9)), vehicle(report, 2).idleGaps());
+
+        // Cancelling takes it out altogether
+        service.bookingSaved(booking(10, 2, day(1), day(3), "CANCELLED"));
+        assertEquals(0, vehicle(report(0, 9), 2).bookedDays());
+    }
+
+    @Test
+    void gapsTouchingBothEdgesOfTheRange() {
+        rows.add(new Row(10, 1, day(3), day(4), "CONFIRMED"));
+        service.rebuild();
+
+        FleetUtilizationService.FleetUtilization report = report(0, 9);
+        assertEquals(List.of(gap(0, 2), gap(5, 9)), vehicle(report, 1).idleGaps());
+        assertEquals(20.0, vehicle(report, 1).utilization());
+        // A vehicle with no bookings is one gap covering the whole range
+        assertEquals(List.of(gap(0, 9)), vehicle(report, 2).idleGaps());
+
+        // minGapDays drops the shorter gap
+        FleetUtilizationService.FleetUtilization longGapsOnly = service.getUtilization(day(0), day(9), List.of(1), 4, 0);
+        assertEquals(List.of(gap(5, 9)), vehicle(longGapsOnly, 1).idleGaps());
+    }
+
+    @Test
+    void rangesOutsideTheWindowAreRejected() {
+        service.rebuild();
+        LocalDate today = LocalDate.now();
+        LocalDate firstIndexed = today.minusDays(FleetUtilizationService.WINDOW_PAST_DAYS);
+        LocalDate lastIndexed = today.plusDays(FleetUtilizationService.WINDOW_FUTURE_DAYS);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getUtilization(lastIndexed.minusDays(5), lastIndexed.plusDays(1), List.of(), 1, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getUtilization(firstIndexed.minusDays(1), firstIndexed.plusDays(5), List.of(), 1, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getUtilization(LocalDate.of(20250, 1, 1), LocalDate.of(20250, 1, 31), List.of(), 1, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getUtilization(day(0), day(FleetUtilizationService.MAX_RANGE_DAYS), List.of(), 1, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getUtilization(day(5), day(4), List.of(), 1, 0));
+
+        // Both edges of the window are still reportable
+        service.getUtilization(firstIndexed, firstIndexed.plusDays(5), List.of(), 1, 0);
+        service.getUtilization(lastIndexed.minusDays(5), lastIndexed, List.of(), 1, 0);
+    }
+
+    @Test
+    void mistypedDatesAreClippedRatherThanIndexed() {
+        // Year 20250 is outside the window entirely; a LocalDate.MAX return date is cut to MAX_BOOKING_DAYS
+        rows.add(new Row(10, 1, LocalDate.of(20250, 6, 1), LocalDate.of(20250, 6, 3), "CONFIRMED"));
+        rows.add(new Row(11, 2, day(0), LocalDate.MAX, "CONFIRMED"));
+        service.rebuild();
+
+        FleetUtilizationService.FleetUtilization report = report(0, 9);
+        assertEquals(0, vehicle(report, 1).bookedDays());
+        assertEquals(10, vehicle(report, 2).bookedDays());
+        LocalDate lastBooked = day(FleetUtilizationService.MAX_BOOKING_DAYS - 1);
+        assertEquals(1, vehicle(service.getUtilization(lastBooked, lastBooked.plusDays(1), List.of(2), 1, 0), 2)
+                .bookedDays());
+
+        service.bookingSaved(booking(10, 1, LocalDate.of(20250, 6, 1), LocalDate.MAX, "CONFIRMED"));
+        assertEquals(0, vehicle(report(0, 9), 1).bookedDays());
+    }
+
+    private FleetUtilizationService.FleetUtilization report(int fromDay, int toDay) {
+        return service.getUtilization(day(fromDay), day(toDay), List.of(), 1, 3);
+    }
+
+    private static FleetUtilizationService.VehicleUtilization vehicle(FleetUtilizationService.FleetUtilization report,
+                                                                      int vehicleId) {
+        return report.vehicleUtilization().stream()
+                .filter(v -> v.vehicleId() == vehicleId)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static FleetUtilizationService.IdleGap gap(int fromDay, int toDay) {
+        return new FleetUtilizationService.IdleGap(day(fromDay), day(toDay), toDay - fromDay + 1);
+    }
+
+    private static LocalDate day(int offset) {
+        return DAY0.plusDays(offset);
+    }
+
+    private static VehicleBooking booking(int bookingId, int vehicleId, LocalDate tripDate, LocalDate returnDate,
+                                          String status) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setVehicleId(vehicleId);
+        VehicleBooking booking = new VehicleBooking();
+        booking.setBookingId(bookingId);
+        booking.setVehicle(vehicle);
+        booking.setTripDate(tripDate);
+        booking.setReturnDate(returnDate);
+        booking.setStatus(status);
+        return booking;
+    }
+}
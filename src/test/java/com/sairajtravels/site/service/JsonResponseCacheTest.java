@@ -0,0 +1,107 @@
+package com.sairajtravels.site.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Conditional GETs on JsonResponseCache: the returned ResponseEntity is the
+ * only thing that writes status and validators, whichever header matched.
+ */
+class JsonResponseCacheTest {
+
+    private static final String ETAG = "\"packages-5\"";
+    private static final String GZIP_ETAG = "\"packages-5-gzip\"";
+    private static final long LAST_MODIFIED = Instant.parse("2026-03-01T10:15:30.250Z").toEpochMilli();
+
+    private JsonResponseCache cache;
+    private MockHttpServletRequest servletRequest;
+    private MockHttpServletResponse servletResponse;
+
+    @BeforeEach
+    void setUp() {
+        cache = new JsonResponseCache(mock(ContentVersionService.class), new ObjectMapper());
+        servletRequest = new MockHttpServletRequest("GET", "/api/packages");
+        servletResponse = new MockHttpServletResponse();
+    }
+
+    @Test
+    void ifModifiedSinceAtLastModifiedIsNotModified() throws Exception {
+        // HTTP dates drop the milliseconds
+        servletRequest.addHeader(HttpHeaders.IF_MODIFIED_SINCE, httpDate(LAST_MODIFIED));
+
+        ResponseEntity<byte[]> response = respond();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(ETAG, response.getHeaders().getETag());
+        assertEquals(LAST_MODIFIED / 1000 * 1000, response.getHeaders().getLastModified());
+        assertServletResponseUntouched();
+    }
+
+    @Test
+    void ifModifiedSinceBeforeLastModifiedIsServed() throws Exception {
+        servletRequest.addHeader(HttpHeaders.IF_MODIFIED_SINCE, httpDate(LAST_MODIFIED - 1000));
+
+        ResponseEntity<byte[]> response = respond();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("[\"Mahabaleshwar\"]", new String(response.getBody()));
+        assertServletResponseUntouched();
+    }
+
+    @Test
+    void unparseableIfModifiedSinceIsIgnored() throws Exception {
+        servletRequest.addHeader(HttpHeaders.IF_MODIFIED_SINCE, "yesterday");
+
+        assertEquals(HttpStatus.OK, respond().getStatusCode());
+    }
+
+    @Test
+    void ifNoneMatchTakesPrecedenceOverIfModifiedSince() throws Exception {
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"packages-4\"");
+        servletRequest.addHeader(HttpHeaders.IF_MODIFIED_SINCE, httpDate(LAST_MODIFIED + 60_000));
+
+        assertEquals(HttpStatus.OK, respond().getStatusCode());
+        assertServletResponseUntouched();
+    }
+
+    @Test
+    void gzipEtagMatchesWeakly() throws Exception {
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + GZIP_ETAG);
+
+        ResponseEntity<byte[]> response = respond();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(GZIP_ETAG, response.getHeaders().getETag());
+        assertServletResponseUntouched();
+    }
+
+    private ResponseEntity<byte[]> respond() throws Exception {
+        return cache.respond(new ServletWebRequest(servletRequest, servletResponse), "packages", ETAG, LAST_MODIFIED,
+                () -> List.of("Mahabaleshwar"));
+    }
+
+    private void assertServletResponseUntouched() {
+        assertEquals(HttpStatus.OK.value(), servletResponse.getStatus());
+        assertTrue(servletResponse.getHeaderNames().isEmpty(), () -> "headers written: " + servletResponse.getHeaderNames());
+    }
+
+    private static String httpDate(long epochMillis) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(epochMillis).atZone(ZoneOffset.UTC));
+    }
+}
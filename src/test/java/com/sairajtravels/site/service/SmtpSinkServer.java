@@ -0,0 +1,227 @@
+package com.sairajtravels.site.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocket;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal in-process SMTP server that accepts and discards everything, so the
+ * email path can be load tested without SendGrid or network access. Speaks
+ * EHLO/HELO, STARTTLS (self-signed localhost certificate from smtp-sink.p12),
+ * AUTH PLAIN/LOGIN (any credentials), MAIL, RCPT, DATA, RSET, NOOP and QUIT,
+ * so production mail settings (STARTTLS required) work against it unchanged.
+ */
+public class SmtpSinkServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmtpSinkServer.class);
+
+    private final int port;
+    // Simulated provider response time at the end of DATA
+    private final long latencyMs;
+    // Fraction of messages rejected with a 451, to exercise the retry path
+    private final double failureRate;
+
+    private final AtomicLong messagesAccepted = new AtomicLong();
+    private final AtomicLong messagesRejected = new AtomicLong();
+    private final AtomicLong connectionsOpened = new AtomicLong();
+
+    private SSLContext sslContext;
+    private ServerSocket serverSocket;
+    private ExecutorService connectionPool;
+    private volatile boolean running;
+
+    public SmtpSinkServer(int port, long latencyMs, double failureRate) {
+        this.port = port;
+        this.latencyMs = latencyMs;
+        this.failureRate = failureRate;
+    }
+
+    public void start() throws IOException, GeneralSecurityException {
+        sslContext = loadSslContext();
+        serverSocket = new ServerSocket(port, 100, InetAddress.getLoopbackAddress());
+        connectionPool = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "SmtpSink-" + connectionsOpened.get());
+            t.setDaemon(true);
+            return t;
+        });
+        running = true;
+
+        Thread acceptor = new Thread(this::acceptLoop, "SmtpSink-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        logger.info("SMTP sink listening on 127.0.0.1:{} (latency {} ms, failure rate {})", port, latencyMs, failureRate);
+    }
+
+    public void stop() {
+        running = false;
+        try {
+            serverSocket.close();
+        } catch (IOException ignored) {
+            // shutting down
+        }
+        connectionPool.shutdownNow();
+    }
+
+    public long getMessagesAccepted() {
+        return messagesAccepted.get();
+    }
+
+    public long getMessagesRejected() {
+        return messagesRejected.get();
+    }
+
+    public long getConnectionsOpened() {
+        return connectionsOpened.get();
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    private static SSLContext loadSslContext() throws IOException, GeneralSecurityException {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = SmtpSinkServer.class.getResourceAsStream("/smtp-sink.p12")) {
+            keyStore.load(in, "changeit".toCharArray());
+        }
+        KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagers.init(keyStore, "changeit".toCharArray());
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(keyManagers.getKeyManagers(), null, null);
+        return context;
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                connectionsOpened.incrementAndGet();
+                connectionPool.execute(() -> handle(socket));
+            } catch (IOException e) {
+                if (running) {
+                    logger.warn("SMTP sink accept failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void handle(Socket plain) {
+        Socket socket = plain;
+        try {
+            BufferedReader in = reader(socket);
+            OutputStream out = socket.getOutputStream();
+
+            reply(out, "220 localhost ESMTP sink ready");
+            boolean secure = false;
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                switch (command) {
+                    case "EHLO" -> reply(out, secure
+                            ? "250-localhost\r\n250-AUTH PLAIN LOGIN\r\n250-8BITMIME\r\n250 SIZE 52428800"
+                            : "250-localhost\r\n250-STARTTLS\r\n250-AUTH PLAIN LOGIN\r\n250-8BITMIME\r\n250 SIZE 52428800");
+                    case "HELO" -> reply(out, "250 localhost");
+                    case "STAR" -> {
+                        reply(out, "220 Ready to start TLS");
+                        SSLSocket tls = (SSLSocket) sslContext.getSocketFactory()
+                                .createSocket(socket, "localhost", socket.getPort(), true);
+                        tls.setUseClientMode(false);
+                        tls.startHandshake();
+                        socket = tls;
+                        in = reader(socket);
+                        out = socket.getOutputStream();
+                        secure = true;
+                    }
+                    case "AUTH" -> authenticate(line, in, out);
+                    case "MAIL", "RCPT", "RSET", "NOOP" -> reply(out, "250 OK");
+                    case "DATA" -> receiveData(in, out);
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            // client went away
+        } finally {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // already closed
+            }
+        }
+    }
+
+    private static BufferedReader reader(Socket socket) throws IOException {
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+    }
+
+    private void authenticate(String line, BufferedReader in, OutputStream out) throws IOException {
+        String[] parts = line.trim().split("\\s+");
+        String mechanism = parts.length > 1 ? parts[1].toUpperCase() : "";
+        if ("PLAIN".equals(mechanism)) {
+            if (parts.length < 3) {
+                reply(out, "334 ");
+                in.readLine();
+            }
+        } else if ("LOGIN".equals(mechanism)) {
+            if (parts.length < 3) {
+                reply(out, "334 VXNlcm5hbWU6");
+                in.readLine();
+            }
+            reply(out, "334 UGFzc3dvcmQ6");
+            in.readLine();
+        } else {
+            reply(out, "504 Unrecognized authentication type");
+            return;
+        }
+        reply(out, "235 2.7.0 Authentication successful");
+    }
+
+    private void receiveData(BufferedReader in, OutputStream out) throws IOException {
+        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+        String line;
+        while ((line = in.readLine()) != null && !".".equals(line)) {
+            // discard
+        }
+
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+            messagesRejected.incrementAndGet();
+            reply(out, "451 4.3.0 Simulated temporary failure");
+        } else {
+            messagesAccepted.incrementAndGet();
+            reply(out, "250 2.0.0 OK queued");
+        }
+    }
+
+    private void reply(OutputStream out, String response) throws IOException {
+        out.write((response + "\r\n").getBytes(StandardCharsets.ISO_8859_1));
+        out.flush();
+    }
+}